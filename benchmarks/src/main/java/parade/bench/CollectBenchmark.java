@@ -0,0 +1,70 @@
+package parade.bench;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import parade.cards.Card;
+import parade.cards.Deck;
+import parade.players.BotPlayer;
+import parade.players.Player;
+import util.RandomSource;
+
+/**
+ * Measures adding cards to a player's collection with {@link Player#collectCard(ArrayList, boolean)}.
+ *
+ * @author G3T7
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectBenchmark {
+
+    /** Number of cards collected per call. */
+    @Param({"1", "3", "6"})
+    public int cards;
+
+    private Player player;
+    private ArrayList<Card> toCollect;
+
+    /**
+     * Picks a fixed set of random cards to collect.
+     */
+    @Setup
+    public void setUp() {
+        RandomSource random = new RandomSource(42);
+        Deck deck = new Deck(random);
+        player = new BotPlayer("Bot", random);
+        toCollect = new ArrayList<>();
+        for (int i = 0; i < cards; i++) {
+            toCollect.add(deck.drawCard());
+        }
+    }
+
+    /**
+     * Collects the cards into an empty collection, checking for the all-colours trigger.
+     *
+     * @return the number of cards collected
+     */
+    @Benchmark
+    public int collectCard() {
+        player.clearCollectedCards();
+        player.collectCard(toCollect, true);
+        return player.getCollectedSet().size();
+    }
+}
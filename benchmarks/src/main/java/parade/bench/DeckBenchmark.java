@@ -0,0 +1,86 @@
+package parade.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import parade.cards.Card;
+import parade.cards.Deck;
+import util.RandomSource;
+
+/**
+ * Measures building, shuffling and drawing from a {@link Deck}.
+ *
+ * @author G3T7
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+
+    /** Whether the deck shuffles on reset ({@code false}) or while drawing ({@code true}). */
+    @Param({"false", "true"})
+    public boolean lazyShuffle;
+
+    private RandomSource random;
+    private Deck deck;
+
+    /**
+     * Creates a seeded deck to reuse across invocations.
+     */
+    @Setup
+    public void setUp() {
+        random = new RandomSource(42);
+        deck = new Deck(random, lazyShuffle);
+    }
+
+    /**
+     * Builds and shuffles a brand new deck.
+     *
+     * @return the new deck
+     */
+    @Benchmark
+    public Deck construct() {
+        return new Deck(random, lazyShuffle);
+    }
+
+    /**
+     * Resets (and, unless lazy, reshuffles) an existing deck.
+     *
+     * @return the deck size after the reset
+     */
+    @Benchmark
+    public int reset() {
+        deck.resetDeck();
+        return deck.getSize();
+    }
+
+    /**
+     * Resets a deck and draws every card from it.
+     *
+     * @param bh consumes the drawn cards
+     */
+    @Benchmark
+    public void resetAndDrawAll(Blackhole bh) {
+        deck.resetDeck();
+        Card c;
+        while ((c = deck.drawCard()) != null) {
+            bh.consume(c);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package parade.bench;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import parade.game.GameListener;
+import parade.game.GameResult;
+import parade.game.HeadlessGame;
+import parade.players.BotPlayer;
+import parade.players.Player;
+import parade.players.PlayerList;
+import util.RandomSource;
+
+/**
+ * Measures a full bot-only game, from shuffling to scoring, on a reused {@link HeadlessGame}.
+ *
+ * @author G3T7
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+
+    /** Number of players at the table. */
+    @Param({"2", "4", "6"})
+    public int players;
+
+    private HeadlessGame game;
+
+    /**
+     * Seats seeded random bots at a reusable table.
+     */
+    @Setup
+    public void setUp() {
+        RandomSource random = new RandomSource(42);
+        ArrayList<Player> bots = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            bots.add(new BotPlayer("Bot " + (i + 1), random.derive(i)));
+        }
+        game = new HeadlessGame(new PlayerList(bots, random), random, GameListener.NONE);
+    }
+
+    /**
+     * Plays one complete game.
+     *
+     * @return the result of the game
+     */
+    @Benchmark
+    public GameResult playGame() {
+        return game.play();
+    }
+}
@@ -0,0 +1,118 @@
+package parade.bench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import parade.cards.Card;
+import parade.game.GameListener;
+import parade.game.GameState;
+import parade.game.HeadlessGame;
+import parade.game.Parade;
+import parade.players.BotPlayer;
+import parade.players.Player;
+import parade.players.PlayerList;
+import util.RandomSource;
+
+/**
+ * Measures copying a {@link GameState}, and applying then undoing a move on it.
+ * <p>
+ * The state is observed by the first player at the start of one seeded game, with
+ * the hidden cards dealt in index order.
+ * </p>
+ *
+ * @author G3T7
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameStateBenchmark {
+
+    /** Number of players at the table. */
+    @Param({"2", "4", "6"})
+    public int players;
+
+    private GameState start;
+    private GameState state;
+    private int move;
+
+    /**
+     * Observes the opening position of a seeded game and fills in the hidden cards.
+     */
+    @Setup
+    public void setUp() {
+        RandomSource random = new RandomSource(42);
+        ArrayList<Player> bots = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            bots.add(new BotPlayer("Bot " + (i + 1), random.derive(i)));
+        }
+        GameState[] observed = new GameState[1];
+        new HeadlessGame(new PlayerList(bots, random), random, new GameListener() {
+            @Override
+            public void onGameStart(PlayerList playerList, Parade parade) {
+                Player first = playerList.getPlayer(0);
+                observed[0] = GameState.observe(first.getTable(), first);
+            }
+        }).play();
+
+        start = observed[0];
+        boolean[] seen = new boolean[Card.NUM_CARDS];
+        for (int i = 0; i < start.paradeSize(); i++) {
+            seen[start.paradeCard(i)] = true;
+        }
+        for (int i = 0; i < start.handSize(0); i++) {
+            seen[start.handCard(0, i)] = true;
+        }
+        byte[] pool = new byte[Card.NUM_CARDS];
+        int k = 0;
+        for (int c = 0; c < Card.NUM_CARDS; c++) {
+            if (!seen[c]) {
+                pool[k++] = (byte) c;
+            }
+        }
+        start.fillHidden(Arrays.copyOf(pool, k));
+
+        state = new GameState(players);
+        state.copyFrom(start);
+        move = start.handCard(0, 0);
+    }
+
+    /**
+     * Copies the whole state.
+     *
+     * @return the copied state
+     */
+    @Benchmark
+    public GameState copy() {
+        state.copyFrom(start);
+        return state;
+    }
+
+    /**
+     * Plays one card and takes it back.
+     *
+     * @return the state, back in its opening position
+     */
+    @Benchmark
+    public GameState applyAndUndo() {
+        state.apply(move);
+        state.undo();
+        return state;
+    }
+}
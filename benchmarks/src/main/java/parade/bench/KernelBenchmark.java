@@ -0,0 +1,106 @@
+package parade.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import parade.cards.Card;
+import parade.game.Kernels;
+import util.RandomSource;
+
+/**
+ * Compares the scalar and vectorised {@link Kernels}.
+ * <p>
+ * The forked JVM is started with the vector module, so both implementations can be
+ * measured side by side. The parade and the batch of games are filled with seeded
+ * random cards and counts during setup.
+ * </p>
+ *
+ * @author G3T7
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class KernelBenchmark {
+
+    /** Number of players in each game of the batch. */
+    private static final int PLAYERS = 4;
+
+    /** Which implementation to measure. */
+    @Param({"scalar", "vector"})
+    public String kernel;
+
+    /** Number of parade cards matched, and number of games in the batch. */
+    @Param({"8", "24", "64"})
+    public int size;
+
+    private Kernels kernels;
+    private byte[] parade;
+    private int card;
+    private byte[] counts;
+    private byte[] sums;
+    private int[] scores;
+
+    /**
+     * Picks the implementation and fills the parade and the batch.
+     */
+    @Setup
+    public void setUp() {
+        kernels = kernel.equals("scalar") ? Kernels.scalar() : Kernels.get();
+        if (!kernels.getName().equals(kernel)) {
+            throw new IllegalStateException("The " + kernel + " kernels are not available.");
+        }
+
+        RandomSource random = new RandomSource(42);
+        parade = new byte[Card.NUM_CARDS];
+        for (int i = 0; i < parade.length; i++) {
+            parade[i] = (byte) random.nextInt(Card.NUM_CARDS);
+        }
+        // The 5 of the colour of the first card
+        card = parade[0] - Card.numberOf(parade[0]) + 5;
+
+        int cells = PLAYERS * Card.NUM_COLOURS * size;
+        counts = new byte[cells];
+        sums = new byte[cells];
+        for (int i = 0; i < cells; i++) {
+            counts[i] = (byte) random.nextInt(6);
+            sums[i] = (byte) (counts[i] * random.nextInt(Card.NUMBERS_PER_COLOUR));
+        }
+        scores = new int[PLAYERS * size];
+    }
+
+    /**
+     * Matches the parade against a played card.
+     *
+     * @return the cards collected, as a bitmask
+     */
+    @Benchmark
+    public long matchMask() {
+        return kernels.matchMask(parade, size, card);
+    }
+
+    /**
+     * Scores every game in the batch.
+     *
+     * @return the scores
+     */
+    @Benchmark
+    public int[] scoreBatch() {
+        kernels.scoreBatch(counts, sums, PLAYERS, size, scores);
+        return scores;
+    }
+}
@@ -0,0 +1,130 @@
+package parade.bench;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import parade.cards.Card;
+import parade.cards.Colour;
+import parade.cards.Deck;
+import parade.game.Parade;
+import util.RandomSource;
+
+/**
+ * Measures resolving a played card against parades of different lengths.
+ * <p>
+ * Every invocation lays out a fresh random parade of {@code length} cards from a
+ * lazily shuffled deck and then plays one more card onto it. {@link #buildOnly()}
+ * measures the layout on its own, so its cost can be subtracted from the others.
+ * </p>
+ *
+ * @author G3T7
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParadeBenchmark {
+
+    /** Number of cards in the parade before the played card is added. */
+    @Param({"6", "12", "24", "40"})
+    public int length;
+
+    /** The candidate cards scored by {@link #collectMaskHand()}, one low, one high and three between. */
+    private static final Card[] HAND = {
+        Card.of(0, Colour.RED), Card.of(3, Colour.BLUE), Card.of(5, Colour.GREEN),
+        Card.of(7, Colour.YELLOW), Card.of(10, Colour.PURPLE)
+    };
+
+    private Deck deck;
+    private Parade parade;
+    private ArrayList<Card> collected;
+
+    /**
+     * Creates the deck, parade and output buffer reused across invocations.
+     */
+    @Setup
+    public void setUp() {
+        deck = new Deck(new RandomSource(42), true);
+        parade = new Parade(deck);
+        collected = new ArrayList<>();
+    }
+
+    /**
+     * Lays out a random parade of {@code length} cards and adds the played card to it.
+     *
+     * @return the card that was played
+     */
+    private Card layOut() {
+        deck.resetDeck();
+        parade.reset(deck);
+        for (int i = 6; i < length; i++) {
+            parade.addCard(deck.drawCard());
+        }
+        Card played = deck.drawCard();
+        parade.addCard(played);
+        return played;
+    }
+
+    /**
+     * Lays out the parade without resolving the played card.
+     *
+     * @return the parade length
+     */
+    @Benchmark
+    public int buildOnly() {
+        layOut();
+        return parade.size();
+    }
+
+    /**
+     * Resolves the played card through the allocating {@link Parade#getCollectibleCards(Card)}.
+     *
+     * @return the collected cards
+     */
+    @Benchmark
+    public ArrayList<Card> getCollectibleCards() {
+        return parade.getCollectibleCards(layOut());
+    }
+
+    /**
+     * Lays out the parade and finds what each of five candidate cards would collect, without playing any.
+     *
+     * @return the total number of cards the candidates would collect
+     */
+    @Benchmark
+    public int collectMaskHand() {
+        layOut();
+        int total = 0;
+        for (int i = 0; i < HAND.length; i++) {
+            total += Long.bitCount(parade.collectMask(HAND[i]));
+        }
+        return total;
+    }
+
+    /**
+     * Resolves the played card into a reused buffer.
+     *
+     * @return the number of cards collected
+     */
+    @Benchmark
+    public int collectInto() {
+        Card played = layOut();
+        collected.clear();
+        return parade.collectInto(played, collected);
+    }
+}
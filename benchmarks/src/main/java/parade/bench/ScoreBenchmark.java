@@ -0,0 +1,72 @@
+package parade.bench;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import parade.game.GameListener;
+import parade.game.HeadlessGame;
+import parade.game.ScoreCalculator;
+import parade.players.BotPlayer;
+import parade.players.Player;
+import parade.players.PlayerList;
+import util.RandomSource;
+
+/**
+ * Measures scoring a finished game with {@link ScoreCalculator}.
+ * <p>
+ * The players' collections come from one seeded bot-only game played during setup.
+ * </p>
+ *
+ * @author G3T7
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoreBenchmark {
+
+    /** Number of players at the table. */
+    @Param({"2", "3", "4", "5", "6"})
+    public int players;
+
+    private PlayerList playerList;
+
+    /**
+     * Plays one seeded game so every player holds a final collection.
+     */
+    @Setup
+    public void setUp() {
+        RandomSource random = new RandomSource(42);
+        ArrayList<Player> bots = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            bots.add(new BotPlayer("Bot " + (i + 1), random.derive(i)));
+        }
+        playerList = new PlayerList(bots, random);
+        new HeadlessGame(playerList, random, GameListener.NONE).play();
+    }
+
+    /**
+     * Scores every player.
+     *
+     * @return the score of the first player
+     */
+    @Benchmark
+    public int calculateScores() {
+        return new ScoreCalculator(playerList).getScore(playerList.getPlayer(0));
+    }
+}
@@ -1 +1,2 @@
-javac -d "classes" -cp "src" src/util/*.java src/parade/cards/*.java src/parade/game/*.java src/parade/players/*.java
\ No newline at end of file
+javac -d "classes" -cp "src" src/util/*.java src/parade/cards/*.java src/parade/game/*.java src/parade/players/*.java src/parade/log/*.java src/parade/sim/*.java src/parade/net/*.java
+javac --add-modules jdk.incubator.vector -d "classes" -cp "classes" src/parade/simd/*.java
\ No newline at end of file
@@ -1 +1 @@
-javadoc -d docs -cp classes src/util/*.java src/parade/cards/*.java src/parade/game/*.java src/parade/players/*.java
\ No newline at end of file
+javadoc -d docs -cp classes src/util/*.java src/parade/cards/*.java src/parade/game/*.java src/parade/players/*.java src/parade/log/*.java src/parade/sim/*.java src/parade/net/*.java
\ No newline at end of file
@@ -8,36 +8,136 @@ package parade.cards;
  * </p>
  *
  * <p>
+ * Every one of the 66 cards also has a compact <em>index</em> from 0 to 65,
+ * laid out colour by colour: {@code index = colour.ordinal() * 11 + number}.
+ * A {@code Card} only stores this index and reads its number and colour from
+ * shared lookup tables, so simulation code can work on plain {@code byte}
+ * indices and turn them back into cards with {@link #of(int)} when needed.
+ * {@link #of(int)} always returns the canonical instance held by {@link Deck}.
+ * </p>
+ *
+ * <p>
  * This class provides methods to access a card's number and colour,
  * and formats the card nicely with ANSI colour codes for terminal display.
  * </p>
  *
  * <p><strong>Example usage:</strong></p>
  * <pre>{@code
- * Card card = new Card(5, Colour.RED);
+ * Card card = Card.of(5, Colour.RED);
  * System.out.println(card); // Outputs: RED 5 (in red colour)
+ * System.out.println(card.getIndex()); // Outputs: 16
  * }</pre>
  *
  * @author G3T7
- * @version 1.0
+ * @version 1.1
  */
 public class Card {
 
-    /** The numeric value of the card (range: 0 to 10). */
-    private int num;
+    /** The number of different card values per colour (0 to 10). */
+    public static final int NUMBERS_PER_COLOUR = 11;
+
+    /** The number of colours, one per {@link Colour} constant. */
+    public static final int NUM_COLOURS = 6;
+
+    /** The total number of distinct cards (6 colours &times; 11 numbers). */
+    public static final int NUM_CARDS = NUMBERS_PER_COLOUR * NUM_COLOURS;
 
-    /** The colour of the card, represented by the {@link Colour} enum. */
-    private Colour colour;
+    /** Lookup table from card index to the card's number. */
+    private static final byte[] NUMBERS = new byte[NUM_CARDS];
+
+    /** Lookup table from card index to the card's colour. */
+    private static final Colour[] COLOURS = new Colour[NUM_CARDS];
+
+    /** Lookup table from card index to the card's colour-formatted text, built once. */
+    private static final String[] DISPLAY = new String[NUM_CARDS];
+
+    static {
+        for (int i = 0; i < NUM_CARDS; i++) {
+            NUMBERS[i] = (byte) (i % NUMBERS_PER_COLOUR);
+            COLOURS[i] = Colour.values()[i / NUMBERS_PER_COLOUR];
+            DISPLAY[i] = COLOURS[i].getColourCode() + COLOURS[i] + " " + NUMBERS[i] + "\u001B[0m";
+        }
+    }
+
+    /** The compact index of the card (range: 0 to 65). */
+    private final byte index;
 
     /**
      * Constructs a new {@code Card} with the specified number and colour.
+     * <p>
+     * Prefer {@link #of(int, Colour)}, which returns the shared canonical instance.
+     * </p>
      *
      * @param n the numeric value of the card
      * @param c the colour of the card
+     * @throws IllegalArgumentException if {@code n} is not between 0 and 10
      */
     public Card(int n, Colour c) {
-        this.num = n;
-        this.colour = c;
+        if (n < 0 || n >= NUMBERS_PER_COLOUR) {
+            throw new IllegalArgumentException("Card numbers range from 0 to 10, got " + n + ".");
+        }
+        this.index = (byte) indexOf(n, c);
+    }
+
+    /**
+     * Returns the canonical card with the given index.
+     *
+     * @param index the card index (0 to 65)
+     * @return the shared {@code Card} instance for that index
+     */
+    public static Card of(int index) {
+        return Deck.getReferenceCard(index);
+    }
+
+    /**
+     * Returns the canonical card with the given number and colour.
+     *
+     * @param n the numeric value of the card
+     * @param c the colour of the card
+     * @return the shared {@code Card} instance
+     */
+    public static Card of(int n, Colour c) {
+        return of(indexOf(n, c));
+    }
+
+    /**
+     * Returns the index of the card with the given number and colour.
+     *
+     * @param n the numeric value of the card
+     * @param c the colour of the card
+     * @return the card index (0 to 65)
+     */
+    public static int indexOf(int n, Colour c) {
+        return c.ordinal() * NUMBERS_PER_COLOUR + n;
+    }
+
+    /**
+     * Returns the number of the card with the given index.
+     *
+     * @param index the card index (0 to 65)
+     * @return the card's number
+     */
+    public static int numberOf(int index) {
+        return NUMBERS[index];
+    }
+
+    /**
+     * Returns the colour of the card with the given index.
+     *
+     * @param index the card index (0 to 65)
+     * @return the card's colour
+     */
+    public static Colour colourOf(int index) {
+        return COLOURS[index];
+    }
+
+    /**
+     * Returns the compact index of this card.
+     *
+     * @return the card index (0 to 65)
+     */
+    public byte getIndex() {
+        return this.index;
     }
 
     /**
@@ -46,7 +146,7 @@ public class Card {
      * @return the card's number
      */
     public int getCardNum() {
-        return this.num;
+        return NUMBERS[this.index];
     }
 
     /**
@@ -55,7 +155,28 @@ public class Card {
      * @return the card's colour
      */
     public Colour getCardColour() {
-        return this.colour;
+        return COLOURS[this.index];
+    }
+
+    /**
+     * Two cards are equal if they have the same number and colour.
+     *
+     * @param o the object to compare with
+     * @return {@code true} if {@code o} is a card with the same index
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Card other && other.index == this.index;
+    }
+
+    /**
+     * Returns a hash code based on the card index.
+     *
+     * @return the card index
+     */
+    @Override
+    public int hashCode() {
+        return this.index;
     }
 
     /**
@@ -69,6 +190,16 @@ public class Card {
      */
     @Override
     public String toString() {
-        return this.colour.getColourCode() + this.colour + " " + this.num + "\u001B[0m";
+        return DISPLAY[this.index];
+    }
+
+    /**
+     * Returns the colour-formatted text of a card without looking up the card object.
+     *
+     * @param index the card index
+     * @return the same text as the card's {@link #toString()}
+     */
+    public static String toString(int index) {
+        return DISPLAY[index];
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,235 @@
+package parade.cards;
+
+/**
+ * A set of Parade cards stored as a 66-bit bitboard.
+ * <p>
+ * Each card is one bit, addressed by its {@link Card#getIndex() index}. Bits are
+ * grouped into one 11-bit <em>lane</em> per {@link Colour}, where bit {@code n}
+ * of a lane is set when the card numbered {@code n} of that colour is in the set.
+ * The first five lanes are packed into one {@code long} and the last lane into
+ * a second one, so no lane ever straddles two words.
+ * </p>
+ *
+ * <p>
+ * Per-colour counts come from {@link Integer#bitCount(int)} and per-colour point
+ * totals from a precomputed table indexed by lane, so questions such as
+ * "how many red cards" or "how many points of red" are answered in a few
+ * instructions without iterating over cards.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * CardSet set = new CardSet();
+ * set.add(Card.of(3, Colour.RED));
+ * set.add(Card.of(7, Colour.RED));
+ * set.count(Colour.RED); // 2
+ * set.sum(Colour.RED);   // 10
+ * }</pre>
+ *
+ * @author G3T7
+ * @version 1.0
+ */
+public class CardSet {
+
+    /** Number of bits in a colour lane. */
+    private static final int LANE_BITS = Card.NUMBERS_PER_COLOUR;
+
+    /** Mask selecting a single lane. */
+    private static final int LANE_MASK = (1 << LANE_BITS) - 1;
+
+    /** Number of lanes packed into {@link #low}. */
+    private static final int LOW_LANES = 5;
+
+    /** Number of card indices stored in {@link #low}. */
+    private static final int LOW_CARDS = LOW_LANES * LANE_BITS;
+
+    /** The bits 0 to 9 of every lane in {@link #low}. */
+    private static final long LOW_LANE_BODY;
+
+    /** The top bit (bit 10) of every lane in {@link #low}. */
+    private static final long LOW_LANE_TOP;
+
+    /** Sum of the card numbers for every possible lane value. */
+    private static final byte[] LANE_SUMS = new byte[1 << LANE_BITS];
+
+    static {
+        long body = 0;
+        long top = 0;
+        for (int lane = 0; lane < LOW_LANES; lane++) {
+            body |= (long) (LANE_MASK >>> 1) << (lane * LANE_BITS);
+            top |= 1L << (lane * LANE_BITS + LANE_BITS - 1);
+        }
+        LOW_LANE_BODY = body;
+        LOW_LANE_TOP = top;
+
+        for (int lane = 1; lane < LANE_SUMS.length; lane++) {
+            // Reuse the sum without the highest set bit, then add that bit's number
+            int highest = 31 - Integer.numberOfLeadingZeros(lane);
+            LANE_SUMS[lane] = (byte) (LANE_SUMS[lane & ~(1 << highest)] + highest);
+        }
+    }
+
+    /** Cards of the first five colours (indices 0 to 54). */
+    private long low;
+
+    /** Cards of the last colour (indices 55 to 65). */
+    private long high;
+
+    /**
+     * Constructs an empty {@code CardSet}.
+     */
+    public CardSet() {
+    }
+
+    /**
+     * Adds a card to the set.
+     *
+     * @param c the card to add
+     */
+    public void add(Card c) {
+        add(c.getIndex());
+    }
+
+    /**
+     * Adds the card with the given index to the set.
+     *
+     * @param index the card index (0 to 65)
+     */
+    public void add(int index) {
+        if (index < LOW_CARDS) {
+            low |= 1L << index;
+        } else {
+            high |= 1L << (index - LOW_CARDS);
+        }
+    }
+
+    /**
+     * Removes the card with the given index from the set.
+     *
+     * @param index the card index (0 to 65)
+     */
+    public void remove(int index) {
+        if (index < LOW_CARDS) {
+            low &= ~(1L << index);
+        } else {
+            high &= ~(1L << (index - LOW_CARDS));
+        }
+    }
+
+    /**
+     * Checks whether the card with the given index is in the set.
+     *
+     * @param index the card index (0 to 65)
+     * @return {@code true} if the card is in the set
+     */
+    public boolean contains(int index) {
+        if (index < LOW_CARDS) {
+            return (low & (1L << index)) != 0;
+        }
+        return (high & (1L << (index - LOW_CARDS))) != 0;
+    }
+
+    /**
+     * Removes every card from the set.
+     */
+    public void clear() {
+        low = 0;
+        high = 0;
+    }
+
+    /**
+     * Makes this set a copy of another set.
+     *
+     * @param other the set to copy
+     */
+    public void copyFrom(CardSet other) {
+        this.low = other.low;
+        this.high = other.high;
+    }
+
+    /**
+     * Returns the number of cards in the set.
+     *
+     * @return the set size
+     */
+    public int size() {
+        return Long.bitCount(low) + Long.bitCount(high);
+    }
+
+    /**
+     * Checks whether the set is empty.
+     *
+     * @return {@code true} if the set holds no cards
+     */
+    public boolean isEmpty() {
+        return (low | high) == 0;
+    }
+
+    /**
+     * Returns the lane of a colour: bit {@code n} is set if the card numbered {@code n} is in the set.
+     *
+     * @param colour the colour to look up
+     * @return an 11-bit mask of the numbers held in that colour
+     */
+    public int lane(Colour colour) {
+        return lane(colour.ordinal());
+    }
+
+    /**
+     * Returns the lane of the colour with the given ordinal.
+     *
+     * @param colour the {@link Colour#ordinal() ordinal} of the colour
+     * @return an 11-bit mask of the numbers held in that colour
+     */
+    public int lane(int colour) {
+        if (colour < LOW_LANES) {
+            return (int) (low >>> (colour * LANE_BITS)) & LANE_MASK;
+        }
+        return (int) high & LANE_MASK;
+    }
+
+    /**
+     * Returns the number of cards of a colour in the set.
+     *
+     * @param colour the colour to count
+     * @return the number of cards of that colour
+     */
+    public int count(Colour colour) {
+        return Integer.bitCount(lane(colour.ordinal()));
+    }
+
+    /**
+     * Returns the total of the card numbers of a colour in the set.
+     *
+     * @param colour the colour to sum
+     * @return the sum of the numbers of that colour
+     */
+    public int sum(Colour colour) {
+        return LANE_SUMS[lane(colour.ordinal())];
+    }
+
+    /**
+     * Returns the sum of the card numbers in a lane.
+     *
+     * @param lane an 11-bit lane, as returned by {@link #lane(int)}
+     * @return the sum of the numbers set in that lane
+     */
+    public static int laneSum(int lane) {
+        return LANE_SUMS[lane];
+    }
+
+    /**
+     * Checks whether the set holds at least one card of every colour.
+     * <p>
+     * Adding {@code 0x3FF} to the lower ten bits of a lane carries into its top bit
+     * exactly when one of those bits is set; OR-ing in the lane itself covers the top bit.
+     * This tests all five lanes of {@link #low} at once without carrying between lanes.
+     * </p>
+     *
+     * @return {@code true} if every colour is present
+     */
+    public boolean hasAllColours() {
+        long nonEmpty = ((low & LOW_LANE_BODY) + LOW_LANE_BODY) | low;
+        return (nonEmpty & LOW_LANE_TOP) == LOW_LANE_TOP && high != 0;
+    }
+}
@@ -1,7 +1,6 @@
 package parade.cards;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import util.RandomSource;
 
 /**
  * Represents a full deck of cards used in the Parade game.
@@ -10,6 +9,20 @@ import java.util.Collections;
  * The deck can be shuffled, drawn from, and reset.
  * </p>
  *
+ * <p>
+ * The deck is a fixed array of card indices with a cursor pointing at the top card.
+ * Drawing only moves the cursor, and resetting shuffles the same array in place,
+ * so a deck can be reused for any number of games without allocating.
+ * </p>
+ *
+ * <p>
+ * In <em>lazy shuffle</em> mode, resetting does not shuffle at all. Instead, each
+ * draw swaps a random card from the rest of the deck onto the top, which is one
+ * step of a Fisher–Yates shuffle. Only the positions that are actually drawn get
+ * randomized, which is cheaper when games end before the deck runs out.
+ * Both modes deal uniformly random orders.
+ * </p>
+ *
  * <p><strong>Example usage:</strong></p>
  * <pre>{@code
  * Deck deck = new Deck();
@@ -18,34 +31,79 @@ import java.util.Collections;
  * }</pre>
  *
  * @author G3T7
- * @version 1.0
+ * @version 1.1
  */
 public class Deck {
 
-    /** The shuffled list of cards currently in the deck. */
-    private ArrayList<Card> cardsInDeck;
-
     /**
      * A static reference deck containing all 66 cards (unshuffled).
      * <p>
-     * Includes cards numbered 0–10 for each {@link Colour}.
+     * Includes cards numbered 0–10 for each {@link Colour}. The card at position {@code i}
+     * has index {@code i}, and these are the canonical instances returned by {@link Card#of(int)}.
      * </p>
      */
-    private static final ArrayList<Card> DECK_REFERENCE = new ArrayList<Card>() {{
+    private static final Card[] DECK_REFERENCE = new Card[Card.NUM_CARDS];
+
+    static {
         for (Colour c : Colour.values()) {
             for (int i = 0; i <= 10; i++) {
-                add(new Card(i, c));
+                DECK_REFERENCE[Card.indexOf(i, c)] = new Card(i, c);
             }
         }
-    }};
+    }
+
+    /** The indices of the cards in deck order; positions before {@link #top} have been drawn. */
+    private final byte[] cardsInDeck;
+
+    /** Position of the next card to be drawn. */
+    private int top;
+
+    /** The random source used to shuffle this deck. */
+    private RandomSource random;
+
+    /** Whether cards are shuffled as they are drawn rather than on reset. */
+    private final boolean lazyShuffle;
 
     /**
-     * Constructs a new deck and shuffles it.
+     * Returns the canonical card with the given index.
+     *
+     * @param index the card index (0 to 65)
+     * @return the shared {@link Card} instance for that index
+     */
+    static Card getReferenceCard(int index) {
+        return DECK_REFERENCE[index];
+    }
+
+    /**
+     * Constructs a new deck and shuffles it with a randomly seeded source.
      */
     public Deck() {
-        cardsInDeck = new ArrayList<>();
-        cardsInDeck.addAll(DECK_REFERENCE);
-        Collections.shuffle(cardsInDeck);
+        this(new RandomSource());
+    }
+
+    /**
+     * Constructs a new deck and shuffles it with the given random source.
+     *
+     * @param random the source used for this and every later shuffle
+     */
+    public Deck(RandomSource random) {
+        this(random, false);
+    }
+
+    /**
+     * Constructs a new deck using the given random source and shuffle mode.
+     *
+     * @param random      the source used for this and every later shuffle
+     * @param lazyShuffle {@code true} to shuffle cards as they are drawn instead of on reset
+     */
+    public Deck(RandomSource random, boolean lazyShuffle) {
+        this.random = random;
+        this.lazyShuffle = lazyShuffle;
+        this.cardsInDeck = new byte[Card.NUM_CARDS];
+        for (int i = 0; i < Card.NUM_CARDS; i++) {
+            cardsInDeck[i] = (byte) i;
+        }
+        resetDeck();
     }
 
     /**
@@ -54,10 +112,23 @@ public class Deck {
      * @return the drawn {@link Card}, or {@code null} if the deck is empty.
      */
     public Card drawCard() {
-        if (cardsInDeck.isEmpty()) {
-            return null;
+        int index = drawIndex();
+        return index < 0 ? null : Card.of(index);
+    }
+
+    /**
+     * Draws and removes the top card from the deck, returning only its index.
+     *
+     * @return the index of the drawn card, or {@code -1} if the deck is empty.
+     */
+    public int drawIndex() {
+        if (top == Card.NUM_CARDS) {
+            return -1;
+        }
+        if (lazyShuffle) {
+            swap(top, top + random.nextInt(Card.NUM_CARDS - top));
         }
-        return this.cardsInDeck.remove(0);
+        return cardsInDeck[top++];
     }
 
     /**
@@ -66,16 +137,52 @@ public class Deck {
      * @return the deck size.
      */
     public int getSize() {
-        return cardsInDeck.size();
+        return Card.NUM_CARDS - top;
     }
 
     /**
      * Resets the deck to its full set of 66 cards and reshuffles it.
+     * <p>
+     * The cards are shuffled in place with a Fisher–Yates shuffle, unless the
+     * deck is in lazy shuffle mode, in which case they are shuffled as they are drawn.
+     * </p>
+     */
+    public final void resetDeck() {
+        this.top = 0;
+        if (!lazyShuffle) {
+            for (int i = Card.NUM_CARDS - 1; i > 0; i--) {
+                swap(i, random.nextInt(i + 1));
+            }
+        }
+    }
+
+    /**
+     * Resets the deck from a known order using a new random source.
+     * <p>
+     * The cards are first put back in index order, so the new order depends only
+     * on {@code random} and not on any earlier game. The deck keeps using this
+     * source for later shuffles and, in lazy shuffle mode, for drawing.
+     * </p>
+     *
+     * @param random the random source to shuffle with
+     */
+    public final void resetDeck(RandomSource random) {
+        this.random = random;
+        for (int i = 0; i < Card.NUM_CARDS; i++) {
+            cardsInDeck[i] = (byte) i;
+        }
+        resetDeck();
+    }
+
+    /**
+     * Swaps two positions of the deck.
+     *
+     * @param i the first position
+     * @param j the second position
      */
-    public void resetDeck() {
-        this.cardsInDeck.clear();
-        this.cardsInDeck = new ArrayList<>();
-        this.cardsInDeck.addAll(DECK_REFERENCE);
-        Collections.shuffle(cardsInDeck);
+    private void swap(int i, int j) {
+        byte tmp = cardsInDeck[i];
+        cardsInDeck[i] = cardsInDeck[j];
+        cardsInDeck[j] = tmp;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,20 @@
+package parade.game;
+
+/**
+ * Enum describing why the final round of a Parade game was triggered.
+ *
+ * @author G3T7
+ * @version 1.0
+ */
+public enum EndGameReason {
+
+    /**
+     * The deck ran out of cards.
+     */
+    DECK_EXHAUSTED,
+
+    /**
+     * A player collected at least one card of every colour.
+     */
+    ALL_COLOURS_COLLECTED
+}
@@ -0,0 +1,194 @@
+package parade.game;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import parade.cards.Card;
+import parade.cards.Colour;
+import parade.players.Player;
+
+/**
+ * Builds console output in memory and writes it out in one go.
+ * <p>
+ * {@code System.out} flushes on every line, so printing a turn line by line, or a
+ * collection card by card, costs one system call per piece. A {@code FrameRenderer}
+ * instead collects a whole <em>frame</em> (everything shown for one step of the game)
+ * in a reusable {@link StringBuilder}, using the cached text of each {@link Card},
+ * and {@link #flush()} writes the frame to the stream as a single block of bytes.
+ * </p>
+ *
+ * <p>
+ * Flush the frame before anything else writes to the same stream, such as a
+ * prompt or a delayed message, so the output stays in order.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * FrameRenderer screen = new FrameRenderer();
+ * screen.line("||  " + player.getName() + "'s turn  ||")
+ *       .append("Parade: ").cards(parade.getParade()).newLine();
+ * screen.flush();
+ * }</pre>
+ *
+ * @author G3T7
+ * @version 1.0
+ */
+public class FrameRenderer {
+
+    /** The line separator of the platform, as used by {@code println}. */
+    private static final String NEW_LINE = System.lineSeparator();
+
+    /** The label in front of the first line of a collection. */
+    private static final String COLLECTION_LABEL = "Collection:";
+
+    /** The indent of the other lines of a collection, aligned after the label. */
+    private static final String COLLECTION_INDENT = " ".repeat(COLLECTION_LABEL.length() + 1);
+
+    /** The stream frames are written to. */
+    private final PrintStream out;
+
+    /** The frame being built. */
+    private final StringBuilder frame = new StringBuilder(4096);
+
+    /**
+     * Constructs a renderer that writes to the console.
+     */
+    public FrameRenderer() {
+        this(System.out);
+    }
+
+    /**
+     * Constructs a renderer that writes to the given stream.
+     *
+     * @param out the stream to write frames to
+     */
+    public FrameRenderer(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Adds text to the frame.
+     *
+     * @param text the text to add
+     * @return this renderer
+     */
+    public FrameRenderer append(String text) {
+        frame.append(text);
+        return this;
+    }
+
+    /**
+     * Adds a number to the frame.
+     *
+     * @param value the number to add
+     * @return this renderer
+     */
+    public FrameRenderer append(int value) {
+        frame.append(value);
+        return this;
+    }
+
+    /**
+     * Adds a line of text to the frame.
+     *
+     * @param text the text of the line
+     * @return this renderer
+     */
+    public FrameRenderer line(String text) {
+        frame.append(text).append(NEW_LINE);
+        return this;
+    }
+
+    /**
+     * Ends the current line of the frame.
+     *
+     * @return this renderer
+     */
+    public FrameRenderer newLine() {
+        frame.append(NEW_LINE);
+        return this;
+    }
+
+    /**
+     * Adds a card to the frame.
+     *
+     * @param card the card to add
+     * @return this renderer
+     */
+    public FrameRenderer card(Card card) {
+        frame.append(card.toString());
+        return this;
+    }
+
+    /**
+     * Adds a list of cards to the frame, in the same format as {@link List#toString()}.
+     *
+     * @param cards the cards to add
+     * @return this renderer
+     */
+    public FrameRenderer cards(List<Card> cards) {
+        frame.append('[');
+        for (int i = 0; i < cards.size(); i++) {
+            if (i > 0) {
+                frame.append(", ");
+            }
+            frame.append(cards.get(i).toString());
+        }
+        frame.append(']');
+        return this;
+    }
+
+    /**
+     * Adds a player's collection to the frame, one line per colour.
+     * <p>
+     * The first line starts with a {@code "Collection:"} label and the others are
+     * indented to line up with it. Nothing is added for an empty collection.
+     * </p>
+     *
+     * @param player the player whose collection to add
+     * @return this renderer
+     */
+    public FrameRenderer collection(Player player) {
+        boolean firstLine = true;
+        for (Colour c : Colour.values()) {
+            ArrayList<Card> cardsOfColour = player.getCollectedCardsWithColour(c);
+            if (cardsOfColour != null && !cardsOfColour.isEmpty()) {
+                // Print label on the first line, indent on the rest
+                frame.append(firstLine ? COLLECTION_LABEL + " " : COLLECTION_INDENT);
+                firstLine = false;
+
+                for (Card card : cardsOfColour) {
+                    frame.append(card.toString()).append(' ');
+                }
+                frame.append(NEW_LINE);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Returns the number of characters in the frame so far.
+     *
+     * @return the length of the frame
+     */
+    public int length() {
+        return frame.length();
+    }
+
+    /**
+     * Writes the frame to the stream in a single write and starts a new, empty frame.
+     *
+     * @return the number of bytes written
+     */
+    public int flush() {
+        if (frame.length() == 0) {
+            return 0;
+        }
+        byte[] bytes = frame.toString().getBytes(out.charset());
+        out.write(bytes, 0, bytes.length);
+        out.flush();
+        frame.setLength(0);
+        return bytes.length;
+    }
+}
@@ -1,5 +1,6 @@
 package parade.game;
 
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 
 import parade.players.Player;
@@ -32,6 +33,10 @@ import util.UserInput;
  * @version 1.1
  */
 public class Game {
+
+    /** Whether messages are paced with pauses; turned off for scripted runs. */
+    private static boolean paced = true;
+
     /**
      * Constructs a new ParadeTester instance and starts the game loop.
      */
@@ -108,7 +113,11 @@ public class Game {
         UserInput input = new UserInput();
         String playAgainChoice;
         while (true) {
-            playAgainChoice = input.getString("\n\nDo you want to play again? (Y/N): ").toLowerCase();
+            try {
+                playAgainChoice = input.getString("\n\nDo you want to play again? (Y/N): ").toLowerCase();
+            } catch (UncheckedIOException e) {
+                return false; // no more input, so no more games
+            }
             if (playAgainChoice.equals("y") || playAgainChoice.equals("n")) break;
             System.out.println("Invalid input. Please enter 'y' for Yes or 'n' for No.");
         }
@@ -131,6 +140,19 @@ public class Game {
         return choice.equals("y");
     }
     
+    /**
+     * Turns the pauses after messages on or off.
+     * <p>
+     * Pauses make the game readable when watched, but only slow it down when the
+     * answers come from a script.
+     * </p>
+     *
+     * @param pacedMessages {@code true} to pause after messages, {@code false} to print them at once
+     */
+    public static void setPaced(boolean pacedMessages) {
+        paced = pacedMessages;
+    }
+
     /**
      * Prints a message to the console and pauses for 2 seconds.
      * <p>
@@ -142,6 +164,9 @@ public class Game {
      */
     public static void delayMessage(String message) {
         System.out.println(message);
+        if (!paced) {
+            return;
+        }
         try {
             Thread.sleep(2000); // default pause
         } catch (InterruptedException e) {
@@ -160,6 +185,10 @@ public class Game {
      */
     public static void delayMessageWithDots(String message) {
         System.out.print(message);
+        if (!paced) {
+            System.out.println("...");
+            return;
+        }
         try {
             for (int i = 0; i < 3; i++) {
                 Thread.sleep(700); // fixed delay between each dot
@@ -1,5 +1,11 @@
 package parade.game;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
+import util.ScriptedInput;
+import util.UserInput;
+
 /**
  * Provides the main entry point and user interface for launching the Parade game.
  * <p>
@@ -13,7 +19,7 @@ package parade.game;
  *
  * <p><strong>Usage:</strong></p>
  * <pre>
- * java parade.GameDisplay
+ * java parade.game.GameDisplay [--script FILE]
  * </pre>
  * 
  * @author G3T7
@@ -35,9 +41,20 @@ public class GameDisplay {
      * and initiates the game setup process via {@code start()}.
      * </p>
      *
-     * @param args Command-line arguments (not used)
+     * <p>
+     * With {@code --script FILE}, every answer is read from the lines of the file
+     * instead of the console, and the game runs without pauses. The prompts and
+     * answers are printed as a transcript.
+     * </p>
+     *
+     * @param args Command-line arguments: optionally {@code --script FILE}
+     * @throws IOException If the script cannot be read
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        if (args.length == 2 && args[0].equals("--script")) {
+            UserInput.setSource(new ScriptedInput(Path.of(args[1]), System.out));
+            Game.setPaced(false);
+        }
         printWelcomeBanner();
 
         Game.delayMessageWithDots("\n✨ Prepare your top hats and marching shoes");
@@ -60,7 +77,7 @@ public class GameDisplay {
      * </p>
      */
     public static void clearConsole() {
-        System.out.print("\033[H\033[2J");
+        System.out.print(TerminalScreen.CLEAR);
         System.out.flush();
     }
 
@@ -0,0 +1,107 @@
+package parade.game;
+
+import java.util.List;
+
+import parade.cards.Card;
+import parade.players.Player;
+import parade.players.PlayerList;
+
+/**
+ * Receives structured events from a running Parade game.
+ * <p>
+ * A {@link HeadlessGame} does not print anything to the console. Instead, every
+ * step of the game (playing, collecting, drawing, triggering the final round,
+ * discarding and scoring) is reported to a {@code GameListener}. Listeners can
+ * record, display or simply ignore these events.
+ * </p>
+ *
+ * <p>
+ * All methods have empty default implementations, so a listener only needs to
+ * override the events it is interested in.
+ * </p>
+ *
+ * <p>
+ * A {@link Player} who is also a {@code GameListener} is told about every event of
+ * the table they are seated at, after the table's own listener. Cards that stay
+ * hidden at a real table are only named to their owner: a player hears about the
+ * other players' draws and discards with {@code null} in place of the card.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * GameListener printer = new GameListener() {
+ *     @Override
+ *     public void onCardPlayed(int turn, Player player, Card card) {
+ *         System.out.println(player.getName() + " played " + card);
+ *     }
+ * };
+ * new HeadlessGame(playerList, new RandomSource(), printer).play();
+ * }</pre>
+ *
+ * @author G3T7
+ * @version 1.1
+ */
+public interface GameListener {
+
+    /** A listener that ignores every event. */
+    GameListener NONE = new GameListener() {};
+
+    /**
+     * Called once the parade has been laid out and every player has been dealt their hand.
+     *
+     * @param players the players in turn order
+     * @param parade  the initial parade
+     */
+    default void onGameStart(PlayerList players, Parade parade) {}
+
+    /**
+     * Called when a player plays a card into the parade.
+     *
+     * @param turn   the turn number, starting from 0
+     * @param player the player whose turn it is
+     * @param card   the card that was played
+     */
+    default void onCardPlayed(int turn, Player player, Card card) {}
+
+    /**
+     * Called after a played card has been resolved against the parade.
+     *
+     * @param turn   the turn number, starting from 0
+     * @param player the player collecting the cards
+     * @param cards  the collected cards, possibly empty
+     */
+    default void onCardsCollected(int turn, Player player, List<Card> cards) {}
+
+    /**
+     * Called when a player draws a card into their hand.
+     *
+     * @param turn   the turn number, starting from 0
+     * @param player the player drawing the card
+     * @param card   the card drawn, or {@code null} if this listener is another seated player
+     */
+    default void onCardDrawn(int turn, Player player, Card card) {}
+
+    /**
+     * Called when the final round is triggered.
+     *
+     * @param turn    the turn number on which the final round was triggered
+     * @param player  the player whose turn triggered the final round
+     * @param reason  why the final round was triggered
+     */
+    default void onFinalRound(int turn, Player player, EndGameReason reason) {}
+
+    /**
+     * Called when a player discards a card during the final discard phase.
+     *
+     * @param player the player discarding
+     * @param card   the discarded card, or {@code null} if this listener is another seated player
+     */
+    default void onCardDiscarded(Player player, Card card) {}
+
+    /**
+     * Called once the game has been scored.
+     *
+     * @param result the final result of the game
+     */
+    default void onGameOver(GameResult result) {}
+}
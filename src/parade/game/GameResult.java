@@ -0,0 +1,154 @@
+package parade.game;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import parade.players.Player;
+
+/**
+ * Holds the outcome of a finished Parade game.
+ * <p>
+ * Scores are stored in turn order, so {@code getScore(i)} is the score of
+ * the {@code i}-th player of the {@link parade.players.PlayerList} the game was played with.
+ * The lowest score wins, and tied players all count as winners.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * GameResult result = new HeadlessGame(playerList).play();
+ * for (Player p : result.getWinners()) {
+ *     System.out.println(p.getName() + " won with " + result.getScore(p) + " points");
+ * }
+ * }</pre>
+ *
+ * @author G3T7
+ * @version 1.0
+ */
+public class GameResult {
+
+    /** The seed the game was dealt from. */
+    private final long seed;
+
+    /** The players in turn order. */
+    private final List<Player> players;
+
+    /** The final score of each player, indexed by turn order. */
+    private final int[] scores;
+
+    /** The number of turns played before the discard phase. */
+    private final int turns;
+
+    /** Why the final round was triggered. */
+    private final EndGameReason endGameReason;
+
+    /**
+     * Constructs a new {@code GameResult}.
+     *
+     * @param seed          the seed the game was dealt from
+     * @param players       the players in turn order
+     * @param scores        the final score of each player, indexed by turn order
+     * @param turns         the number of turns played before the discard phase
+     * @param endGameReason why the final round was triggered
+     */
+    public GameResult(long seed, List<Player> players, int[] scores, int turns, EndGameReason endGameReason) {
+        this.seed = seed;
+        this.players = List.copyOf(players);
+        this.scores = scores;
+        this.turns = turns;
+        this.endGameReason = endGameReason;
+    }
+
+    /**
+     * Returns the seed the game was dealt from.
+     * <p>
+     * Together with the cards every player chose, the seed is enough to
+     * rebuild the game exactly with {@link Replay}.
+     * </p>
+     *
+     * @return the game's seed
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Returns the players in turn order.
+     *
+     * @return the players of this game
+     */
+    public List<Player> getPlayers() {
+        return this.players;
+    }
+
+    /**
+     * Returns the score of the player at the given turn-order position.
+     *
+     * @param index the position of the player in turn order
+     * @return the player's final score
+     */
+    public int getScore(int index) {
+        return this.scores[index];
+    }
+
+    /**
+     * Returns the score of the given player.
+     *
+     * @param player a player of this game
+     * @return the player's final score
+     * @throws IllegalArgumentException if the player did not take part in this game
+     */
+    public int getScore(Player player) {
+        int index = this.players.indexOf(player);
+        if (index < 0) {
+            throw new IllegalArgumentException(player.getName() + " did not play in this game.");
+        }
+        return this.scores[index];
+    }
+
+    /**
+     * Returns the lowest score achieved by any player.
+     *
+     * @return the winning score
+     */
+    public int getMinScore() {
+        int min = Integer.MAX_VALUE;
+        for (int score : this.scores) {
+            min = Math.min(min, score);
+        }
+        return min;
+    }
+
+    /**
+     * Returns the player(s) with the lowest score.
+     *
+     * @return the winners in turn order
+     */
+    public ArrayList<Player> getWinners() {
+        ArrayList<Player> winners = new ArrayList<>();
+        int minScore = getMinScore();
+        for (int i = 0; i < this.scores.length; i++) {
+            if (this.scores[i] == minScore) {
+                winners.add(this.players.get(i));
+            }
+        }
+        return winners;
+    }
+
+    /**
+     * Returns the number of turns played before the discard phase.
+     *
+     * @return the number of turns
+     */
+    public int getTurns() {
+        return this.turns;
+    }
+
+    /**
+     * Returns why the final round was triggered.
+     *
+     * @return the end-game reason
+     */
+    public EndGameReason getEndGameReason() {
+        return this.endGameReason;
+    }
+}
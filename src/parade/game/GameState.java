@@ -0,0 +1,623 @@
+package parade.game;
+
+import java.util.List;
+
+import parade.cards.Card;
+import parade.cards.CardSet;
+import parade.cards.Deck;
+import parade.players.Player;
+
+/**
+ * A compact, copyable model of a Parade game for look-ahead by search bots.
+ * <p>
+ * The whole game lives in a few primitive arrays of card indices: the deck, the
+ * parade, every hand, and each player's per-colour counts and sums. A state can be
+ * copied with {@link #copyFrom(GameState)} in a handful of {@code System.arraycopy}
+ * calls, played forward with {@link #apply(int)} and rolled back with {@link #undo()},
+ * all without touching the live game or allocating. Players are numbered in turn order.
+ * </p>
+ *
+ * <p>
+ * The rules are the same as in {@link HeadlessGame}, including the final round, the
+ * two discards per player and the scoring. A move is always the index of a card in
+ * the current player's hand: it is played into the parade, or discarded once the game
+ * is in the discard phase.
+ * </p>
+ *
+ * <p>
+ * A player only sees part of the real game, so {@link #observe(TableView, Player)}
+ * records the public state with the cards the player cannot see marked as hidden.
+ * A search fills them in with {@link #fillHidden(byte[])} before playing forward.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * GameState known = GameState.observe(getTable(), this);
+ * GameState state = new GameState(known.getNumberOfPlayers());
+ * state.copyFrom(known);
+ * state.fillHidden(shuffledUnseenCards);
+ * state.apply(state.handCard(state.currentPlayer(), 0));
+ * state.undo();
+ * }</pre>
+ *
+ * @author G3T7
+ * @version 1.1
+ */
+public final class GameState {
+
+    /** Players are playing cards into the parade. */
+    public static final int PLAY = 0;
+
+    /** Players are discarding their last cards. */
+    public static final int DISCARD = 1;
+
+    /** The game is over and can be scored. */
+    public static final int OVER = 2;
+
+    /** Number of cards in a full hand. */
+    public static final int HAND_SIZE = 5;
+
+    /** Marks a card the observing player cannot see. */
+    public static final byte HIDDEN = -1;
+
+    /** Number of cards each player discards at the end. */
+    private static final int DISCARDS = 2;
+
+    /** Number of cards laid out in the parade at the start of the game. */
+    private static final int INITIAL_PARADE_SIZE = 6;
+
+    /** Upper bound on the moves in one game: one turn per card, plus the discards. */
+    private static final int MAX_MOVES = Card.NUM_CARDS + DISCARDS * 6;
+
+    /** Matches the parade against each played card. */
+    private static final Kernels KERNELS = Kernels.get();
+
+    /** The number of players. */
+    private final int numPlayers;
+
+    /** The cards left in the deck, drawn from {@link #deckTop} up to {@link #deckEnd}. */
+    private final byte[] deck = new byte[Card.NUM_CARDS];
+    private int deckTop;
+    private int deckEnd;
+
+    /** The parade, from the front to the end of the line. */
+    private final byte[] parade = new byte[Card.NUM_CARDS];
+    private int paradeLen;
+
+    /** Player {@code p}'s hand is {@code hands[p * HAND_SIZE]} onwards. */
+    private final byte[] hands;
+    private final byte[] handSizes;
+
+    /** Number of collected cards and sum of their numbers, per player and colour. */
+    private final byte[] counts;
+    private final byte[] sums;
+
+    /** Bit {@code c} is set once a player has collected a card of colour {@code c}. */
+    private final byte[] coloursHeld;
+
+    private int turn;
+    private boolean endGame;
+    private int phase;
+    private int discardPlayer;
+    private int discardsLeft;
+
+    /*
+     * Undo journal: one entry per applied move, holding what apply() overwrote.
+     * Cards collected from the parade are pushed on collectedStack in parade order.
+     */
+    private int moves;
+    private final byte[] moveCard = new byte[MAX_MOVES];
+    private final byte[] moveHandPos = new byte[MAX_MOVES];
+    private final byte[] moveColoursHeld = new byte[MAX_MOVES];
+    private final byte[] movePhase = new byte[MAX_MOVES];
+    private final byte[] moveDiscardPlayer = new byte[MAX_MOVES];
+    private final byte[] moveDiscardsLeft = new byte[MAX_MOVES];
+    private final boolean[] moveEndGame = new boolean[MAX_MOVES];
+    private final boolean[] moveDrew = new boolean[MAX_MOVES];
+    /** Parade positions checked for collection; for the last discard, the hand cards collected. */
+    private final byte[] moveRemovable = new byte[MAX_MOVES];
+    private final byte[] moveKept = new byte[MAX_MOVES];
+    private final long[] moveCollected = new long[MAX_MOVES];
+    private final byte[] collectedStack = new byte[Card.NUM_CARDS];
+    private int collectedTop;
+
+    /**
+     * Constructs an empty state for the given number of players.
+     *
+     * @param numPlayers the number of players
+     */
+    public GameState(int numPlayers) {
+        this.numPlayers = numPlayers;
+        this.hands = new byte[numPlayers * HAND_SIZE];
+        this.handSizes = new byte[numPlayers];
+        this.counts = new byte[numPlayers * Card.NUM_COLOURS];
+        this.sums = new byte[numPlayers * Card.NUM_COLOURS];
+        this.coloursHeld = new byte[numPlayers];
+    }
+
+    /**
+     * Sets up a new game from a shuffled deck.
+     * <p>
+     * Cards are dealt exactly as in {@link HeadlessGame}: the parade is laid out
+     * first, then the hands are dealt one card at a time around the table, and the
+     * rest of the deck is drawn in order.
+     * </p>
+     *
+     * @param numPlayers the number of players
+     * @param deck       the shuffled deck; every card is drawn from it
+     * @return the state before the first turn
+     */
+    public static GameState newGame(int numPlayers, Deck deck) {
+        GameState s = new GameState(numPlayers);
+        for (int i = 0; i < INITIAL_PARADE_SIZE; i++) {
+            s.parade[s.paradeLen++] = (byte) deck.drawIndex();
+        }
+        for (int i = 0; i < HAND_SIZE; i++) {
+            for (int p = 0; p < numPlayers; p++) {
+                s.hands[p * HAND_SIZE + s.handSizes[p]++] = (byte) deck.drawIndex();
+            }
+        }
+        for (int card = deck.drawIndex(); card >= 0; card = deck.drawIndex()) {
+            s.deck[s.deckEnd++] = (byte) card;
+        }
+        s.phase = PLAY;
+        return s;
+    }
+
+    /**
+     * Records what a player can see of the game they are seated at.
+     * <p>
+     * The parade, every collection, the hand sizes, the deck size and the phase are
+     * copied from the table, along with the viewer's own hand. The other players'
+     * hands and the deck are filled with {@link #HIDDEN}. Players who have already
+     * discarded during the discard phase hold no cards. The turn counter starts at
+     * the viewer's seat, so {@link #currentPlayer()} is the viewer.
+     * </p>
+     *
+     * @param table  the table the viewer is seated at
+     * @param viewer the player whose view is recorded
+     * @return the observed state
+     */
+    public static GameState observe(TableView table, Player viewer) {
+        List<Player> players = table.getPlayerList().getPlayerList();
+        int n = players.size();
+        int me = viewer.getSeat();
+        GameState s = new GameState(n);
+
+        Parade par = table.getParade();
+        for (int i = 0; i < par.size(); i++) {
+            s.parade[s.paradeLen++] = par.getCard(i).getIndex();
+        }
+
+        for (int p = 0; p < n; p++) {
+            Player player = players.get(p);
+            CardSet collected = player.getCollectedSet();
+            for (int c = 0; c < Card.NUM_COLOURS; c++) {
+                int lane = collected.lane(c);
+                if (lane != 0) {
+                    s.counts[p * Card.NUM_COLOURS + c] = (byte) Integer.bitCount(lane);
+                    s.sums[p * Card.NUM_COLOURS + c] = (byte) CardSet.laneSum(lane);
+                    s.coloursHeld[p] |= (byte) (1 << c);
+                }
+            }
+
+            // Players who already discarded have collected what is left in their hand
+            boolean discarded = table.isDiscardPhase() && p < me;
+            int size = discarded ? 0 : player.getHandSize();
+            s.handSizes[p] = (byte) size;
+            for (int i = 0; i < size; i++) {
+                s.hands[p * HAND_SIZE + i] = (p == me) ? player.getHand().get(i).getIndex() : HIDDEN;
+            }
+        }
+
+        s.deckEnd = table.getDeckSize();
+        for (int i = 0; i < s.deckEnd; i++) {
+            s.deck[i] = HIDDEN;
+        }
+
+        s.endGame = table.isFinalRound();
+        s.turn = me;
+        if (table.isDiscardPhase()) {
+            s.phase = DISCARD;
+            s.discardPlayer = me;
+            s.discardsLeft = viewer.getHandSize() - DISCARDS;
+        } else {
+            s.phase = PLAY;
+        }
+        return s;
+    }
+
+    /**
+     * Replaces every {@link #HIDDEN} card, first in the hands and then in the deck.
+     * <p>
+     * If the pool runs out while filling the deck, the deck is cut short there.
+     * </p>
+     *
+     * @param pool the cards to deal, in order
+     * @return the number of cards taken from the pool
+     */
+    public int fillHidden(byte[] pool) {
+        int k = 0;
+        for (int p = 0; p < numPlayers; p++) {
+            int base = p * HAND_SIZE;
+            for (int i = base; i < base + handSizes[p]; i++) {
+                if (hands[i] == HIDDEN) {
+                    hands[i] = pool[k++];
+                }
+            }
+        }
+        for (int i = deckTop; i < deckEnd; i++) {
+            if (deck[i] == HIDDEN) {
+                if (k == pool.length) {
+                    deckEnd = i;
+                    break;
+                }
+                deck[i] = pool[k++];
+            }
+        }
+        return k;
+    }
+
+    /**
+     * Makes this state an exact copy of another state with the same number of players.
+     * <p>
+     * Only the position is copied: the copy starts with no moves to undo.
+     * </p>
+     *
+     * @param o the state to copy
+     */
+    public void copyFrom(GameState o) {
+        System.arraycopy(o.deck, o.deckTop, deck, o.deckTop, o.deckEnd - o.deckTop);
+        deckTop = o.deckTop;
+        deckEnd = o.deckEnd;
+        System.arraycopy(o.parade, 0, parade, 0, o.paradeLen);
+        paradeLen = o.paradeLen;
+        System.arraycopy(o.hands, 0, hands, 0, hands.length);
+        System.arraycopy(o.handSizes, 0, handSizes, 0, numPlayers);
+        System.arraycopy(o.counts, 0, counts, 0, counts.length);
+        System.arraycopy(o.sums, 0, sums, 0, sums.length);
+        System.arraycopy(o.coloursHeld, 0, coloursHeld, 0, numPlayers);
+        turn = o.turn;
+        endGame = o.endGame;
+        phase = o.phase;
+        discardPlayer = o.discardPlayer;
+        discardsLeft = o.discardsLeft;
+        moves = 0;
+        collectedTop = 0;
+    }
+
+    /**
+     * Returns the number of players.
+     *
+     * @return the number of players
+     */
+    public int getNumberOfPlayers() {
+        return numPlayers;
+    }
+
+    /**
+     * Returns the phase of the game.
+     *
+     * @return {@link #PLAY}, {@link #DISCARD} or {@link #OVER}
+     */
+    public int getPhase() {
+        return phase;
+    }
+
+    /**
+     * Checks whether the game is over and can be scored.
+     *
+     * @return {@code true} once every player has discarded
+     */
+    public boolean isOver() {
+        return phase == OVER;
+    }
+
+    /**
+     * Checks whether the final round has been triggered.
+     *
+     * @return {@code true} once every player is taking their last turn
+     */
+    public boolean isFinalRound() {
+        return endGame;
+    }
+
+    /**
+     * Returns the number of moves that can be undone.
+     *
+     * @return the number of moves applied since this state was created or copied
+     */
+    public int getMoveCount() {
+        return moves;
+    }
+
+    /**
+     * Returns the player whose move it is.
+     *
+     * @return the player index in turn order
+     */
+    public int currentPlayer() {
+        return phase == DISCARD ? discardPlayer : turn % numPlayers;
+    }
+
+    /**
+     * Returns the number of cards in a player's hand.
+     *
+     * @param player the player index
+     * @return the hand size
+     */
+    public int handSize(int player) {
+        return handSizes[player];
+    }
+
+    /**
+     * Returns a card from a player's hand.
+     *
+     * @param player the player index
+     * @param i      the position in the hand
+     * @return the card index, or {@link #HIDDEN}
+     */
+    public int handCard(int player, int i) {
+        return hands[player * HAND_SIZE + i];
+    }
+
+    /**
+     * Returns the number of cards in the parade.
+     *
+     * @return the parade length
+     */
+    public int paradeSize() {
+        return paradeLen;
+    }
+
+    /**
+     * Returns a card from the parade.
+     *
+     * @param i the position, counted from the front of the parade
+     * @return the card index
+     */
+    public int paradeCard(int i) {
+        return parade[i];
+    }
+
+    /**
+     * Returns the number of cards left in the deck.
+     *
+     * @return the deck size
+     */
+    public int deckSize() {
+        return deckEnd - deckTop;
+    }
+
+    /**
+     * Plays (or, in the discard phase, discards) a card from the current player's hand.
+     *
+     * @param card the index of a card in the current player's hand
+     * @throws IllegalArgumentException if the card is not in the current player's hand
+     */
+    public void apply(int card) {
+        int m = moves;
+        int p = currentPlayer();
+        moveCard[m] = (byte) card;
+        moveColoursHeld[m] = coloursHeld[p];
+        movePhase[m] = (byte) phase;
+        moveDiscardPlayer[m] = (byte) discardPlayer;
+        moveDiscardsLeft[m] = (byte) discardsLeft;
+        moveEndGame[m] = endGame;
+        moveHandPos[m] = (byte) removeFromHand(p, card);
+        moves++;
+
+        if (phase == DISCARD) {
+            discard(m, p);
+        } else {
+            play(m, p, card);
+        }
+    }
+
+    /**
+     * Plays a card into the parade, collects from it and draws a replacement.
+     *
+     * @param m    the journal entry of this move
+     * @param p    the current player
+     * @param card the card played
+     */
+    private void play(int m, int p, int card) {
+        boolean lastRound = endGame;
+        parade[paradeLen++] = (byte) card;
+
+        // Collect cards based on game rules, keeping the rest of the parade in order
+        int numRemovable = Math.max(0, paradeLen - Card.numberOf(card) - 1);
+        long collected = numRemovable == 0 ? 0L : KERNELS.matchMask(parade, numRemovable, card);
+        int kept = numRemovable;
+        if (collected != 0L) {
+            // Cards in front of the first collected one stay where they are
+            kept = Long.numberOfTrailingZeros(collected);
+            for (int i = kept; i < numRemovable; i++) {
+                int c = parade[i];
+                if ((collected >>> i & 1L) != 0) {
+                    collect(p, c);
+                    collectedStack[collectedTop++] = (byte) c;
+                } else {
+                    parade[kept++] = (byte) c;
+                }
+            }
+            System.arraycopy(parade, numRemovable, parade, kept, paradeLen - numRemovable);
+            paradeLen -= numRemovable - kept;
+        }
+        moveRemovable[m] = (byte) numRemovable;
+        moveKept[m] = (byte) kept;
+        moveCollected[m] = collected;
+        if (!lastRound && coloursHeld[p] == (1 << Card.NUM_COLOURS) - 1) {
+            endGame = true;
+        }
+
+        // Draw a card, which is thrown away during the final round
+        moveDrew[m] = deckTop < deckEnd;
+        if (deckTop < deckEnd) {
+            int drawn = deck[deckTop++];
+            if (!lastRound) {
+                hands[p * HAND_SIZE + handSizes[p]++] = (byte) drawn;
+            }
+        } else if (!lastRound) {
+            endGame = true;
+        }
+
+        turn++;
+        if (handSizes[turn % numPlayers] != HAND_SIZE) {
+            phase = DISCARD;
+            discardPlayer = 0;
+            discardsLeft = DISCARDS;
+        }
+    }
+
+    /**
+     * Completes a discard, collecting the rest of the hand after the second one.
+     *
+     * @param m the journal entry of this move
+     * @param p the discarding player
+     */
+    private void discard(int m, int p) {
+        if (--discardsLeft > 0) {
+            return;
+        }
+
+        moveRemovable[m] = handSizes[p];
+        for (int i = 0; i < handSizes[p]; i++) {
+            collect(p, hands[p * HAND_SIZE + i]);
+        }
+        handSizes[p] = 0;
+        discardsLeft = DISCARDS;
+        if (++discardPlayer == numPlayers) {
+            phase = OVER;
+        }
+    }
+
+    /**
+     * Takes back the last move applied to this state.
+     *
+     * @throws IllegalStateException if there is no move to undo
+     */
+    public void undo() {
+        if (moves == 0) {
+            throw new IllegalStateException("There is no move to undo.");
+        }
+        int m = --moves;
+        int card = moveCard[m];
+
+        int p;
+        if (movePhase[m] == DISCARD) {
+            p = moveDiscardPlayer[m];
+            if (moveDiscardsLeft[m] == 1) {
+                // The rest of the hand is still in place, only its size was cleared
+                handSizes[p] = moveRemovable[m];
+                for (int i = 0; i < handSizes[p]; i++) {
+                    uncollect(p, hands[p * HAND_SIZE + i]);
+                }
+            }
+        } else {
+            turn--;
+            p = turn % numPlayers;
+            if (moveDrew[m]) {
+                deckTop--;
+                if (!moveEndGame[m]) {
+                    handSizes[p]--;
+                }
+            }
+            restoreParade(m, p);
+        }
+
+        coloursHeld[p] = moveColoursHeld[m];
+        int base = p * HAND_SIZE;
+        int pos = base + moveHandPos[m];
+        hands[base + handSizes[p]++] = hands[pos];
+        hands[pos] = (byte) card;
+        phase = movePhase[m];
+        discardPlayer = moveDiscardPlayer[m];
+        discardsLeft = moveDiscardsLeft[m];
+        endGame = moveEndGame[m];
+    }
+
+    /**
+     * Puts the collected cards back into the parade and removes the played card.
+     *
+     * @param m the journal entry of the move
+     * @param p the player who made the move
+     */
+    private void restoreParade(int m, int p) {
+        int numRemovable = moveRemovable[m];
+        int kept = moveKept[m];
+        if (numRemovable > kept) {
+            System.arraycopy(parade, kept, parade, numRemovable, paradeLen - kept);
+            paradeLen += numRemovable - kept;
+
+            // Refill the front from the back, so no kept card is overwritten before it moves
+            long collected = moveCollected[m];
+            int k = kept;
+            for (int i = numRemovable - 1; i >= 0; i--) {
+                if ((collected >>> i & 1L) != 0) {
+                    int c = collectedStack[--collectedTop];
+                    parade[i] = (byte) c;
+                    uncollect(p, c);
+                } else {
+                    parade[i] = parade[--k];
+                }
+            }
+        }
+        paradeLen--;
+    }
+
+    /**
+     * Removes a card from a player's hand by moving the last card into its place.
+     *
+     * @param player the player index
+     * @param card   the card index
+     * @return the position the card was at
+     */
+    private int removeFromHand(int player, int card) {
+        int base = player * HAND_SIZE;
+        int last = base + handSizes[player] - 1;
+        for (int i = base; i <= last; i++) {
+            if (hands[i] == card) {
+                hands[i] = hands[last];
+                handSizes[player]--;
+                return i - base;
+            }
+        }
+        throw new IllegalArgumentException("Card " + card + " is not in the hand of player " + player + ".");
+    }
+
+    /**
+     * Adds a card to a player's collection.
+     *
+     * @param player the player index
+     * @param card   the card index
+     */
+    private void collect(int player, int card) {
+        int colour = card / Card.NUMBERS_PER_COLOUR;
+        int i = player * Card.NUM_COLOURS + colour;
+        counts[i]++;
+        sums[i] += (byte) Card.numberOf(card);
+        coloursHeld[player] |= (byte) (1 << colour);
+    }
+
+    /**
+     * Takes a card back out of a player's counts and sums; the colours are restored separately.
+     *
+     * @param player the player index
+     * @param card   the card index
+     */
+    private void uncollect(int player, int card) {
+        int i = player * Card.NUM_COLOURS + card / Card.NUMBERS_PER_COLOUR;
+        counts[i]--;
+        sums[i] -= (byte) Card.numberOf(card);
+    }
+
+    /**
+     * Scores the game as it stands.
+     *
+     * @param scores receives each player's score, in turn order
+     */
+    public void scores(int[] scores) {
+        ScoreCalculator.calculateScores(counts, sums, numPlayers, scores);
+    }
+}
@@ -0,0 +1,65 @@
+package parade.game;
+
+import parade.players.PlayerList;
+import util.RandomSource;
+
+/**
+ * Runs a full Parade game without any console output or delays.
+ * <p>
+ * A {@code HeadlessGame} plays by exactly the same rules as {@link SingleGame}:
+ * the same dealing order, the same end-game triggers, the same final round and
+ * the same discard and scoring phase. Instead of printing each step, it reports
+ * structured events to a {@link GameListener} and returns a {@link GameResult}.
+ * </p>
+ *
+ * <p>
+ * It is meant for bot-only tables, where games are played back-to-back to
+ * evaluate strategies. The same instance can be played any number of times;
+ * each call to {@link #play()} clears the players' hands and collections,
+ * shuffles the turn order and reshuffles the deck before dealing. Every game
+ * draws its own seed from the table's {@link RandomSource} and is dealt from
+ * that seed alone, so a table created with a fixed seed and seeded bots plays
+ * the same games every time, and any single game can be replayed from the seed
+ * in its {@link GameResult}.
+ * </p>
+ *
+ * <p>
+ * The rules themselves live in {@link Table}; a headless game plays them on the
+ * calling thread, waiting for every answer. To play many tables on a few threads,
+ * submit them to a {@link TableScheduler} instead.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * ArrayList<Player> bots = new ArrayList<>();
+ * bots.add(new BotPlayer("Bot 1"));
+ * bots.add(new BotPlayer("Bot 2"));
+ * HeadlessGame game = new HeadlessGame(new PlayerList(bots));
+ * GameResult result = game.play();
+ * }</pre>
+ *
+ * @author G3T7
+ * @version 1.1
+ */
+public class HeadlessGame extends Table {
+
+    /**
+     * Constructs a new {@code HeadlessGame} that does not report any events.
+     *
+     * @param playerList The players taking part.
+     */
+    public HeadlessGame(PlayerList playerList) {
+        this(playerList, new RandomSource(), GameListener.NONE);
+    }
+
+    /**
+     * Constructs a new {@code HeadlessGame} that reports events to the given listener.
+     *
+     * @param playerList The players taking part.
+     * @param random     The random source for shuffling the deck and turn order.
+     * @param listener   The listener receiving game events.
+     */
+    public HeadlessGame(PlayerList playerList, RandomSource random, GameListener listener) {
+        super(playerList, random, listener);
+    }
+}
@@ -0,0 +1,123 @@
+package parade.game;
+
+/**
+ * The innermost loops of the engine, which have a vectorised implementation on JVMs that offer one.
+ * <p>
+ * There are two kernels: matching a parade of card indices against a played card,
+ * as done for every move of a {@link GameState} search, and scoring many games side
+ * by side, as done by {@link ScoreCalculator#calculateScores(byte[], byte[], int, int, int[])}.
+ * Both give exactly the same results in every implementation.
+ * </p>
+ *
+ * <p>
+ * The vectorised implementation, {@code parade.simd.VectorKernels}, is built on the
+ * incubating {@code jdk.incubator.vector} module. It is used when that module has been
+ * added to the JVM with {@code --add-modules jdk.incubator.vector} and the class has been
+ * compiled; otherwise plain Java loops are used. Setting the system property
+ * {@value #PROPERTY} to {@code scalar} forces the plain loops, for comparison.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * Kernels kernels = Kernels.get();
+ * long collected = kernels.matchMask(parade, numRemovable, card);
+ * }</pre>
+ *
+ * @author G3T7
+ * @version 1.0
+ */
+public abstract class Kernels {
+
+    /** The system property that chooses the implementation: {@code scalar} or {@code vector}. */
+    public static final String PROPERTY = "parade.kernels";
+
+    /** The incubating module the vectorised implementation needs. */
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /** The class of the vectorised implementation. */
+    private static final String VECTOR_CLASS = "parade.simd.VectorKernels";
+
+    /** The implementation chosen when this class was loaded. */
+    private static final Kernels INSTANCE = load();
+
+    /**
+     * Constructs a set of kernels. Implementations need a public no-argument constructor.
+     */
+    protected Kernels() {
+    }
+
+    /**
+     * Returns the kernels used by the engine.
+     *
+     * @return the vectorised kernels if they are available, the plain ones otherwise
+     */
+    public static Kernels get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the plain Java kernels, whatever is available.
+     *
+     * @return the scalar kernels
+     */
+    public static Kernels scalar() {
+        return ScalarKernels.INSTANCE;
+    }
+
+    /**
+     * Returns a short name for the implementation, for reports and benchmarks.
+     *
+     * @return the name of the implementation
+     */
+    public abstract String getName();
+
+    /**
+     * Finds the cards at the front of a parade that a played card collects.
+     * <p>
+     * A card is collected when it has the colour of the played card, or a number no
+     * larger than the played card's number. Only the first {@code length} cards are
+     * looked at; these are the cards in front of the played card's number.
+     * </p>
+     *
+     * @param parade the parade, as card indices from the front of the line
+     * @param length the number of cards to look at, from 0 to 64
+     * @param card   the index of the card played
+     * @return a bitmask with bit {@code i} set if {@code parade[i]} is collected
+     */
+    public abstract long matchMask(byte[] parade, int length, int card);
+
+    /**
+     * Scores a batch of games side by side.
+     * <p>
+     * The batch is laid out one game per column: the count of colour {@code c} of
+     * player {@code p} in game {@code g} is {@code counts[(p * 6 + c) * games + g]}, its
+     * sum is at the same place in {@code sums}, and the score is written to
+     * {@code scores[p * games + g]}. Each game is scored as by
+     * {@link ScoreCalculator#calculateScores(byte[], byte[], int, int[])}.
+     * </p>
+     *
+     * @param counts     the number of cards of each colour per player, per game
+     * @param sums       the total of the card numbers of each colour per player, per game
+     * @param numPlayers the number of players, the same in every game
+     * @param games      the number of games in the batch
+     * @param scores     receives each player's score, per game
+     */
+    public abstract void scoreBatch(byte[] counts, byte[] sums, int numPlayers, int games, int[] scores);
+
+    /**
+     * Chooses the kernels to use, falling back to the scalar ones when the vector module or class is missing.
+     *
+     * @return the kernels
+     */
+    private static Kernels load() {
+        String wanted = System.getProperty(PROPERTY, "vector");
+        if (wanted.equals("scalar") || ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return ScalarKernels.INSTANCE;
+        }
+        try {
+            return (Kernels) Class.forName(VECTOR_CLASS).getConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            return ScalarKernels.INSTANCE;
+        }
+    }
+}
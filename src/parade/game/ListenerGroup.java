@@ -0,0 +1,119 @@
+package parade.game;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import parade.cards.Card;
+import parade.players.Player;
+import parade.players.PlayerList;
+
+/**
+ * Passes every event on to several listeners, in order.
+ * <p>
+ * A {@link Table} uses a group to report to its own listener and to the seated
+ * players who are listeners too, such as bots that keep track of the cards. The
+ * table's listener hears everything, but a player only learns the cards they draw
+ * and discard themselves: for everyone else's, they are told that a card was drawn
+ * or discarded, with {@code null} in place of the card.
+ * </p>
+ *
+ * @author G3T7
+ * @version 1.1
+ */
+final class ListenerGroup implements GameListener {
+
+    /** The table's listener, called first. */
+    private final GameListener listener;
+
+    /** The seated players who are listeners, called next in turn order. */
+    private final Player[] players;
+
+    /** The same players, as listeners. */
+    private final GameListener[] listeners;
+
+    private ListenerGroup(GameListener listener, List<Player> players) {
+        this.listener = listener;
+        this.players = players.toArray(new Player[0]);
+        this.listeners = new GameListener[this.players.length];
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i] = (GameListener) this.players[i];
+        }
+    }
+
+    /**
+     * Returns a listener for a table's events and the players who listen to them.
+     *
+     * @param listener the table's listener, called first
+     * @param players  the players, of whom those that are listeners are called next, in turn order
+     * @return {@code listener} itself if no player listens, or a group otherwise
+     */
+    static GameListener of(GameListener listener, PlayerList players) {
+        List<Player> group = null;
+        for (int i = 0; i < players.getNumberOfPlayers(); i++) {
+            Player p = players.getPlayer(i);
+            if (p instanceof GameListener l && l != listener) {
+                if (group == null) {
+                    group = new ArrayList<>();
+                }
+                group.add(p);
+            }
+        }
+        return group == null ? listener : new ListenerGroup(listener, group);
+    }
+
+    @Override
+    public void onGameStart(PlayerList players, Parade parade) {
+        listener.onGameStart(players, parade);
+        for (GameListener l : listeners) {
+            l.onGameStart(players, parade);
+        }
+    }
+
+    @Override
+    public void onCardPlayed(int turn, Player player, Card card) {
+        listener.onCardPlayed(turn, player, card);
+        for (GameListener l : listeners) {
+            l.onCardPlayed(turn, player, card);
+        }
+    }
+
+    @Override
+    public void onCardsCollected(int turn, Player player, List<Card> cards) {
+        listener.onCardsCollected(turn, player, cards);
+        for (GameListener l : listeners) {
+            l.onCardsCollected(turn, player, cards);
+        }
+    }
+
+    @Override
+    public void onCardDrawn(int turn, Player player, Card card) {
+        listener.onCardDrawn(turn, player, card);
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].onCardDrawn(turn, player, players[i] == player ? card : null);
+        }
+    }
+
+    @Override
+    public void onFinalRound(int turn, Player player, EndGameReason reason) {
+        listener.onFinalRound(turn, player, reason);
+        for (GameListener l : listeners) {
+            l.onFinalRound(turn, player, reason);
+        }
+    }
+
+    @Override
+    public void onCardDiscarded(Player player, Card card) {
+        listener.onCardDiscarded(player, card);
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].onCardDiscarded(player, players[i] == player ? card : null);
+        }
+    }
+
+    @Override
+    public void onGameOver(GameResult result) {
+        listener.onGameOver(result);
+        for (GameListener l : listeners) {
+            l.onGameOver(result);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package parade.game;
+
+import java.util.Arrays;
+
+import parade.cards.Card;
+import parade.players.Player;
+import parade.players.PlayerList;
+
+/**
+ * Records the cards chosen in a game so that it can be replayed.
+ * <p>
+ * Every card played into the parade and every card discarded at the end is kept,
+ * in order, as a card index. Once the game is over, the seed from its
+ * {@link GameResult} and these moves are all a {@link Replay} needs. Starting a new
+ * game clears the recording.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * MoveRecorder recorder = new MoveRecorder();
+ * new HeadlessGame(playerList, new RandomSource(), recorder).play();
+ * Replay replay = recorder.toReplay();
+ * }</pre>
+ *
+ * @author G3T7
+ * @version 1.0
+ * @see Replay
+ */
+public class MoveRecorder implements GameListener {
+
+    /** The moves of the current game, as card indices. */
+    private byte[] moves = new byte[Card.NUM_CARDS];
+
+    /** The number of moves recorded. */
+    private int numMoves;
+
+    /** The number of players in the current game. */
+    private int numPlayers;
+
+    /** The seed of the last finished game. */
+    private long seed;
+
+    /** Whether the recorded game has finished. */
+    private boolean finished;
+
+    @Override
+    public void onGameStart(PlayerList players, Parade parade) {
+        numMoves = 0;
+        numPlayers = players.getNumberOfPlayers();
+        finished = false;
+    }
+
+    @Override
+    public void onCardPlayed(int turn, Player player, Card card) {
+        record(card);
+    }
+
+    @Override
+    public void onCardDiscarded(Player player, Card card) {
+        record(card);
+    }
+
+    @Override
+    public void onGameOver(GameResult result) {
+        seed = result.getSeed();
+        finished = true;
+    }
+
+    /**
+     * Adds a move to the recording.
+     *
+     * @param card the chosen card
+     */
+    private void record(Card card) {
+        if (numMoves == moves.length) {
+            moves = Arrays.copyOf(moves, moves.length * 2);
+        }
+        moves[numMoves++] = card.getIndex();
+    }
+
+    /**
+     * Returns a copy of the recorded moves.
+     *
+     * @return the card indices chosen, in order
+     */
+    public byte[] getMoves() {
+        return Arrays.copyOf(moves, numMoves);
+    }
+
+    /**
+     * Builds a replay of the last finished game.
+     *
+     * @return the replay, positioned before the first turn
+     * @throws IllegalStateException if no game has finished since the recording started
+     */
+    public Replay toReplay() {
+        if (!finished) {
+            throw new IllegalStateException("The recorded game has not finished.");
+        }
+        return new Replay(seed, numPlayers, getMoves());
+    }
+}
@@ -1,6 +1,9 @@
 package parade.game;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import parade.cards.Card;
 import parade.cards.Colour;
@@ -18,6 +21,19 @@ import parade.cards.Deck;
  *   <li>Modifying the parade when new cards are played</li>
  * </ul>
  *
+ * <p>
+ * Besides the cards themselves, the parade keeps a bitmask of positions for every
+ * colour and every number: bit {@code i} of the mask for colour {@code c} is set if
+ * the card at position {@code i} has that colour, and likewise for numbers. From the
+ * number masks it derives one mask per threshold {@code n}, of the cards numbered at
+ * most {@code n}, rebuilt only when the parade has changed since the last query. The
+ * cards a played card collects are then found with a couple of AND/OR operations,
+ * see {@link #collectMask(Card)}, and the masks are kept in step by
+ * {@link Long#compress(long, long)} when cards leave the parade. A parade never
+ * holds more than {@value #MAX_LENGTH} cards, since at least two hands are always
+ * out of it.
+ * </p>
+ *
  * <p><strong>Example usage:</strong></p>
  * <pre>{@code
  * Deck deck = new Deck();
@@ -28,54 +44,87 @@ import parade.cards.Deck;
  * }</pre>
  * 
  * @author G3T7
- * @version 1.0
+ * @version 1.2
  */
-public class Parade {
+public final class Parade {
+
+    /** The cards currently in the parade, from the front (index 0) to the end of the line. */
+    private final Card[] curParade;
+
+    /** The number of cards currently in the parade. */
+    private int size;
+
+    /** Bit {@code i} of {@code colourMasks[c]} is set if the card at position {@code i} has colour {@code c}. */
+    private final long[] colourMasks = new long[Card.NUM_COLOURS];
+
+    /** Bit {@code i} of {@code numberMasks[n]} is set if the card at position {@code i} has number {@code n}. */
+    private final long[] numberMasks = new long[Card.NUMBERS_PER_COLOUR];
+
+    /** Bit {@code i} of {@code atMostMasks[n]} is set if the card at position {@code i} has a number of at most {@code n}. */
+    private final long[] atMostMasks = new long[Card.NUMBERS_PER_COLOUR];
 
-    /** The list of cards currently in the parade. */
-    private ArrayList<Card> curParade;
+    /** Whether {@link #atMostMasks} matches {@link #numberMasks}. */
+    private boolean thresholdsValid;
 
     /** The number of cards initially placed in the parade. */
     private static final int INITIAL_PARADE_SIZE = 6;
 
+    /** The most cards a parade can hold, one per bit of its masks. */
+    public static final int MAX_LENGTH = Long.SIZE;
+
     /**
      * Constructs a new Parade and populates it with initial cards drawn from the deck.
      *
      * @param d the {@link Deck} from which the parade is initialized
      */
     public Parade(Deck d) {
-        this.curParade = new ArrayList<Card>();
-        for (int i = 0; i < INITIAL_PARADE_SIZE; i++)
-            curParade.add(d.drawCard());
+        this.curParade = new Card[MAX_LENGTH];
+        reset(d);
     }
 
     /**
-     * Returns the current list of cards in the parade.
+     * Empties the parade and lays out a new one from the deck, reusing the same storage.
      *
-     * @return an {@link ArrayList} of {@link Card} objects currently in the parade
+     * @param d the {@link Deck} from which the parade is initialized
      */
-    public ArrayList<Card> getParade() {
-        return this.curParade;
+    public void reset(Deck d) {
+        this.size = 0;
+        Arrays.fill(colourMasks, 0L);
+        Arrays.fill(numberMasks, 0L);
+        this.thresholdsValid = false;
+        for (int i = 0; i < INITIAL_PARADE_SIZE; i++)
+            addCard(d.drawCard());
     }
 
     /**
-     * Determines which cards are in the "removable zone" based on the played card's number.
+     * Returns a read-only view of the cards in the parade.
      * <p>
-     * These cards are eligible to be collected if they meet additional conditions.
-     * This method does not remove them from the parade.
+     * The view reflects later changes to the parade.
      * </p>
      *
-     * @param p the card the player is about to play
-     * @return a list of cards in the removable zone
+     * @return a {@link List} of {@link Card} objects currently in the parade
      */
-    private ArrayList<Card> getRemoveableCard(Card p) { // all cards that are removable, but not necessarily removed
-        int numRemovable = curParade.size() - p.getCardNum() - 1;
-        ArrayList<Card> toReturn = new ArrayList<>();
+    public List<Card> getParade() {
+        return Collections.unmodifiableList(Arrays.asList(curParade).subList(0, size));
+    }
 
-        if (numRemovable >= 1) {
-            toReturn.addAll(this.curParade.subList(0, numRemovable));
-        }
-        return toReturn;
+    /**
+     * Returns the number of cards in the parade.
+     *
+     * @return the parade length
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the card at a position in the parade.
+     *
+     * @param i the position, where 0 is the front of the parade
+     * @return the card at that position
+     */
+    public Card getCard(int i) {
+        return this.curParade[i];
     }
 
     /**
@@ -93,18 +142,105 @@ public class Parade {
      */
     public ArrayList<Card> getCollectibleCards(Card p) {
         ArrayList<Card> toReturn = new ArrayList<Card>();
+        collectInto(p, toReturn);
+        return toReturn;
+    }
 
-        int cardNum = p.getCardNum();
-        Colour cardColour = p.getCardColour();
+    /**
+     * Returns the positions of the cards a card would collect if it were played now.
+     * <p>
+     * The parade is left unchanged. Bit {@code i} of the result is set if the card at
+     * position {@code i} would be collected, so {@link Long#bitCount(long)} gives the
+     * number of cards, and an AND with {@link #getColourMask(Colour)} the number of a
+     * given colour. Scoring every card in a hand this way costs a few operations each.
+     * </p>
+     *
+     * @param p the card that would be played, not yet in the parade
+     * @return the positions of the cards it would collect
+     */
+    public long collectMask(Card p) {
+        // Once p is added, all but its last p.getCardNum() + 1 cards are removable
+        return takenMask(p.getIndex(), size - p.getCardNum());
+    }
+
+    /**
+     * Returns the positions of the cards of one colour.
+     *
+     * @param colour the colour
+     * @return bit {@code i} is set if the card at position {@code i} has that colour
+     */
+    public long getColourMask(Colour colour) {
+        return colourMasks[colour.ordinal()];
+    }
 
-        for (Card c : getRemoveableCard(p)) {
-            if (c.getCardColour().equals(cardColour) || c.getCardNum() <= cardNum) {
-                this.curParade.remove(c);
-                toReturn.add(c);
+    /**
+     * Returns the positions, among the first {@code numRemovable}, of the cards a card collects.
+     *
+     * @param card         the index of the played card
+     * @param numRemovable the number of cards at the front of the parade that can be collected
+     * @return the positions of the collected cards
+     */
+    private long takenMask(int card, int numRemovable) {
+        if (numRemovable < 1) {
+            return 0L;
+        }
+        if (!thresholdsValid) {
+            long atMost = 0L;
+            for (int n = 0; n < numberMasks.length; n++) {
+                atMost |= numberMasks[n];
+                atMostMasks[n] = atMost;
             }
+            thresholdsValid = true;
         }
+        long removable = numRemovable >= MAX_LENGTH ? -1L : (1L << numRemovable) - 1;
+        return removable & (colourMasks[Card.colourOf(card).ordinal()] | atMostMasks[Card.numberOf(card)]);
+    }
 
-        return toReturn;
+    /**
+     * Removes the cards collected by a played card and appends them to {@code out}.
+     * <p>
+     * Follows the same rules as {@link #getCollectibleCards(Card)}, and expects the played
+     * card to have already been added to the end of the parade. Only the cards in front of
+     * the last {@code p.getCardNum() + 1} cards are removable. Kept cards are shifted forward
+     * in a single pass, so the order of the parade is preserved.
+     * </p>
+     *
+     * @param p   the card that was just added to the parade
+     * @param out the list receiving the collected cards, in parade order
+     * @return the number of cards collected
+     */
+    public int collectInto(Card p, List<Card> out) {
+        int numRemovable = size - p.getCardNum() - 1; // all cards that are removable, but not necessarily removed
+        long taken = takenMask(p.getIndex(), numRemovable);
+        if (taken == 0L) {
+            return 0;
+        }
+
+        // Collect in parade order, moving kept cards forward from the first gap
+        int kept = Long.numberOfTrailingZeros(taken);
+        for (int i = kept; i < numRemovable; i++) {
+            Card c = curParade[i];
+            if ((taken >>> i & 1L) != 0) {
+                out.add(c);
+            } else {
+                curParade[kept++] = c;
+            }
+        }
+
+        // Close the gap left by the collected cards
+        int collected = numRemovable - kept;
+        System.arraycopy(curParade, numRemovable, curParade, kept, size - numRemovable);
+        size -= collected;
+
+        long keep = ~taken;
+        for (int c = 0; c < colourMasks.length; c++) {
+            colourMasks[c] = Long.compress(colourMasks[c], keep);
+        }
+        for (int n = 0; n < numberMasks.length; n++) {
+            numberMasks[n] = Long.compress(numberMasks[n], keep);
+        }
+        thresholdsValid = false;
+        return collected;
     }
 
     /**
@@ -113,6 +249,12 @@ public class Parade {
      * @param c the {@link Card} to be added
      */
     public void addCard(Card c) {
-        this.curParade.add(c);
+        long bit = 1L << size;
+        this.curParade[size++] = c;
+
+        int index = c.getIndex();
+        colourMasks[Card.colourOf(index).ordinal()] |= bit;
+        numberMasks[Card.numberOf(index)] |= bit;
+        thresholdsValid = false;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,181 @@
+package parade.game;
+
+import parade.cards.Deck;
+
+/**
+ * Rebuilds a finished game from its seed and the cards chosen, and moves through it.
+ * <p>
+ * A game played by {@link HeadlessGame#play(long)} is decided by its seed, which
+ * fixes the shuffle of the deck, and by the card chosen at every move. A replay
+ * deals the same deck into a {@link GameState} and applies the same moves, with no
+ * players, console output or delays involved.
+ * </p>
+ *
+ * <p>
+ * Moves are numbered from 0. During the main phase, move {@code k} is turn {@code k};
+ * the two discards of each player follow the last turn, in turn order. While the
+ * replay is built, a copy of the state is saved every {@link #CHECKPOINT_INTERVAL}
+ * moves, so {@link #seek(int)} reaches any position by copying the nearest checkpoint
+ * and applying at most {@code CHECKPOINT_INTERVAL - 1} moves, or by undoing a few
+ * moves when stepping backwards. Either way a seek takes well under a microsecond.
+ * </p>
+ *
+ * <p>
+ * Players are numbered in turn order. Since the turn order is shuffled before
+ * every game, use {@link GameResult#getPlayers()} to tell which player sat where.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * Replay replay = recorder.toReplay();
+ * replay.seek(20);
+ * GameState state = replay.getState();
+ * System.out.println("Parade length after 20 turns: " + state.paradeSize());
+ * }</pre>
+ *
+ * @author G3T7
+ * @version 1.0
+ * @see MoveRecorder
+ */
+public class Replay {
+
+    /** Number of moves between two saved copies of the state. */
+    public static final int CHECKPOINT_INTERVAL = 8;
+
+    /** The seed the game was dealt from. */
+    private final long seed;
+
+    /** The moves of the game, as card indices. */
+    private final byte[] moves;
+
+    /** {@code checkpoints[i]} is the state after {@code i * CHECKPOINT_INTERVAL} moves. */
+    private final GameState[] checkpoints;
+
+    /** The state at the current position. */
+    private final GameState state;
+
+    /** The number of moves applied to reach the current position. */
+    private int position;
+
+    /**
+     * Rebuilds a game and positions the replay before its first move.
+     *
+     * @param seed       the seed the game was dealt from
+     * @param numPlayers the number of players
+     * @param moves      the card indices chosen, in order
+     * @throws IllegalArgumentException if a move is not a card in the current player's hand,
+     *                                  which means the moves do not belong to this seed
+     */
+    public Replay(long seed, int numPlayers, byte[] moves) {
+        this.seed = seed;
+        this.moves = moves.clone();
+        this.checkpoints = new GameState[moves.length / CHECKPOINT_INTERVAL + 1];
+        this.state = new GameState(numPlayers);
+
+        checkpoints[0] = GameState.newGame(numPlayers, new Deck(Table.deckRandom(seed)));
+        state.copyFrom(checkpoints[0]);
+        for (int i = 1; i <= moves.length; i++) {
+            applyMove(i - 1);
+            if (i % CHECKPOINT_INTERVAL == 0) {
+                GameState checkpoint = new GameState(numPlayers);
+                checkpoint.copyFrom(state);
+                checkpoints[i / CHECKPOINT_INTERVAL] = checkpoint;
+            }
+        }
+
+        state.copyFrom(checkpoints[0]);
+        position = 0;
+    }
+
+    /**
+     * Applies the move at the given index to the current state.
+     *
+     * @param i the index of the move
+     * @throws IllegalArgumentException if the move is not legal
+     */
+    private void applyMove(int i) {
+        try {
+            state.apply(moves[i]);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Move " + i + " does not match the game dealt from seed " + seed + ".", e);
+        }
+    }
+
+    /**
+     * Moves the replay to the position after the given number of moves.
+     *
+     * @param move the number of moves to have applied, from 0 to {@link #getMoveCount()}
+     * @throws IndexOutOfBoundsException if {@code move} is out of range
+     */
+    public void seek(int move) {
+        if (move < 0 || move > moves.length) {
+            throw new IndexOutOfBoundsException("Move " + move + " is out of range.");
+        }
+
+        int back = position - move;
+        if (back > 0 && back <= state.getMoveCount() && back < CHECKPOINT_INTERVAL) {
+            for (; position > move; position--) {
+                state.undo();
+            }
+            return;
+        }
+        int checkpoint = move / CHECKPOINT_INTERVAL;
+        if (back > 0 || checkpoint * CHECKPOINT_INTERVAL > position) {
+            state.copyFrom(checkpoints[checkpoint]);
+            position = checkpoint * CHECKPOINT_INTERVAL;
+        }
+        for (; position < move; position++) {
+            applyMove(position);
+        }
+    }
+
+    /**
+     * Returns the state at the current position.
+     * <p>
+     * The same object is updated by every {@link #seek(int)}; copy it to keep a position,
+     * and do not apply moves to it directly.
+     * </p>
+     *
+     * @return the current state
+     */
+    public GameState getState() {
+        return state;
+    }
+
+    /**
+     * Returns the current position.
+     *
+     * @return the number of moves applied
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns the number of moves in the game.
+     *
+     * @return the move count
+     */
+    public int getMoveCount() {
+        return moves.length;
+    }
+
+    /**
+     * Returns a move of the game.
+     *
+     * @param i the index of the move
+     * @return the index of the card chosen
+     */
+    public int getMove(int i) {
+        return moves[i];
+    }
+
+    /**
+     * Returns the seed the game was dealt from.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+}
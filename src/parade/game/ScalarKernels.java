@@ -0,0 +1,56 @@
+package parade.game;
+
+import parade.cards.Card;
+
+/**
+ * The {@link Kernels} written as plain Java loops, which run on every JVM.
+ *
+ * @author G3T7
+ * @version 1.0
+ */
+final class ScalarKernels extends Kernels {
+
+    /** The only instance. */
+    static final ScalarKernels INSTANCE = new ScalarKernels();
+
+    private ScalarKernels() {
+    }
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+
+    @Override
+    public long matchMask(byte[] parade, int length, int card) {
+        int num = Card.numberOf(card);
+        int colour = card / Card.NUMBERS_PER_COLOUR;
+        long mask = 0L;
+        for (int i = 0; i < length; i++) {
+            int c = parade[i];
+            if (c / Card.NUMBERS_PER_COLOUR == colour || Card.numberOf(c) <= num) {
+                mask |= 1L << i;
+            }
+        }
+        return mask;
+    }
+
+    @Override
+    public void scoreBatch(byte[] counts, byte[] sums, int numPlayers, int games, int[] scores) {
+        int numColours = Card.NUM_COLOURS;
+        int stride = numColours * games;
+        for (int g = 0; g < games; g++) {
+            for (int p = 0; p < numPlayers; p++) {
+                scores[p * games + g] = 0;
+            }
+            for (int c = 0; c < numColours; c++) {
+                int first = c * games + g;
+                int maxPlayers = ScoreCalculator.findMaxPlayers(counts, first, stride, numPlayers);
+                for (int p = 0; p < numPlayers; p++) {
+                    int i = p * stride + first;
+                    scores[p * games + g] += ((maxPlayers >>> p) & 1) != 0 ? counts[i] : sums[i];
+                }
+            }
+        }
+    }
+}
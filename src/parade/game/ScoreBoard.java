@@ -0,0 +1,153 @@
+package parade.game;
+
+import java.util.Arrays;
+
+import parade.cards.Card;
+
+/**
+ * Keeps every player's score up to date while the game is being played.
+ * <p>
+ * The board stores, for each seat and colour, the number of collected cards and the
+ * sum of their numbers in primitive arrays, using the layout of
+ * {@link ScoreCalculator#calculateScores(byte[], byte[], int, int[])}. Each collected
+ * card only changes its own colour, so the board re-scores that one colour for every
+ * player and adjusts their totals. A provisional score, as if the game ended right now,
+ * can then be read at any time with {@link #getScore(int)} in constant time.
+ * </p>
+ *
+ * <p>
+ * Every table owns a board and seats its players with
+ * {@link parade.players.Player#joinTable(TableView, int)}; after that,
+ * {@link parade.players.Player#collectCard(java.util.ArrayList, boolean)} records
+ * each card on the board. Once every player has collected their last cards, the
+ * provisional scores are the final scores.
+ * </p>
+ *
+ * @author G3T7
+ * @version 1.0
+ * @see ScoreCalculator
+ */
+public class ScoreBoard {
+
+    /** The number of players. */
+    private final int numPlayers;
+
+    /** Number of collected cards per seat and colour, at {@code seat * 6 + colour}. */
+    private final byte[] counts;
+
+    /** Sum of the collected card numbers per seat and colour. */
+    private final byte[] sums;
+
+    /** What each colour currently adds to each seat's score. */
+    private final int[] colourScores;
+
+    /** The provisional score of each seat. */
+    private final int[] scores;
+
+    /**
+     * Constructs an empty board.
+     *
+     * @param numPlayers The number of players at the table.
+     */
+    public ScoreBoard(int numPlayers) {
+        this.numPlayers = numPlayers;
+        this.counts = new byte[numPlayers * Card.NUM_COLOURS];
+        this.sums = new byte[numPlayers * Card.NUM_COLOURS];
+        this.colourScores = new int[numPlayers * Card.NUM_COLOURS];
+        this.scores = new int[numPlayers];
+    }
+
+    /**
+     * Clears every collection, for a new game.
+     */
+    public void reset() {
+        Arrays.fill(counts, (byte) 0);
+        Arrays.fill(sums, (byte) 0);
+        Arrays.fill(colourScores, 0);
+        Arrays.fill(scores, 0);
+    }
+
+    /**
+     * Records a card collected by a player and updates every player's score.
+     *
+     * @param seat The collecting player's index in turn order.
+     * @param card The collected card.
+     */
+    public void collect(int seat, Card card) {
+        collect(seat, card.getIndex());
+    }
+
+    /**
+     * Records a card collected by a player and updates every player's score.
+     *
+     * @param seat  The collecting player's index in turn order.
+     * @param index The {@link Card#getIndex() index} of the collected card.
+     */
+    public void collect(int seat, int index) {
+        int numColours = Card.NUM_COLOURS;
+        int colour = index / Card.NUMBERS_PER_COLOUR;
+        counts[seat * numColours + colour]++;
+        sums[seat * numColours + colour] += (byte) Card.numberOf(index);
+
+        // Only this colour can change, but its majority affects every player
+        int maxPlayers = ScoreCalculator.findMaxPlayers(counts, colour, numPlayers);
+        for (int p = 0; p < numPlayers; p++) {
+            int i = p * numColours + colour;
+            int colourScore = ((maxPlayers >>> p) & 1) != 0 ? counts[i] : sums[i];
+            scores[p] += colourScore - colourScores[i];
+            colourScores[i] = colourScore;
+        }
+    }
+
+    /**
+     * Returns the number of players on the board.
+     *
+     * @return The number of players.
+     */
+    public int getNumberOfPlayers() {
+        return numPlayers;
+    }
+
+    /**
+     * Returns a player's score if the game ended now.
+     *
+     * @param seat The player's index in turn order.
+     * @return The provisional score.
+     */
+    public int getScore(int seat) {
+        return scores[seat];
+    }
+
+    /**
+     * Returns the number of cards of a colour a player has collected.
+     *
+     * @param seat   The player's index in turn order.
+     * @param colour The {@link parade.cards.Colour#ordinal() ordinal} of the colour.
+     * @return The number of cards.
+     */
+    public int count(int seat, int colour) {
+        return counts[seat * Card.NUM_COLOURS + colour];
+    }
+
+    /**
+     * Returns the sum of the numbers of the cards of a colour a player has collected.
+     *
+     * @param seat   The player's index in turn order.
+     * @param colour The {@link parade.cards.Colour#ordinal() ordinal} of the colour.
+     * @return The sum of the card numbers.
+     */
+    public int sum(int seat, int colour) {
+        return sums[seat * Card.NUM_COLOURS + colour];
+    }
+
+    /**
+     * Copies the per-colour counts and sums of every player.
+     *
+     * @param countsOut Receives the counts, at {@code seat * 6 + colour}.
+     * @param sumsOut   Receives the sums, in the same layout.
+     */
+    public void copyInto(byte[] countsOut, byte[] sumsOut) {
+        System.arraycopy(counts, 0, countsOut, 0, counts.length);
+        System.arraycopy(sums, 0, sumsOut, 0, sums.length);
+    }
+}
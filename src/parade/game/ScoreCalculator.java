@@ -1,18 +1,16 @@
 package parade.game;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 
 import parade.cards.Card;
-import parade.cards.Colour;
+import parade.cards.CardSet;
 import parade.players.Player;
 import parade.players.PlayerList;
 
 /**
  * Calculates and manages the scores of players in the Parade game.
  * <p>
- * Scoring is determined by evaluating each player's collected cards. For each u:
+ * Scoring is determined by evaluating each player's collected cards. For each colour:
  * <ul>
  *     <li>The player(s) with the most cards of that colour only count the number of cards.</li>
  *     <li>Other players sum the values of the cards in that colour.</li>
@@ -28,32 +26,28 @@ import parade.players.PlayerList;
  * </pre>
  * 
  * @author G3T7
- * @version 1.0
+ * @version 1.1
  */
 public class ScoreCalculator {
 
-    /** List of players participating in the game. */
+    /** List of players participating in the game, in turn order. */
     private ArrayList<Player> playerList;
 
-    /** A mapping of each player to their calculated score. */
-    private HashMap<Player, Integer> scoreTracker;
+    /** The calculated score of each player, in the same order as {@link #playerList}. */
+    private int[] scores;
 
     /**
-     * Constructs a ScoreCalculator and initializes the score tracking.
+     * Constructs a ScoreCalculator and calculates every player's score.
      * <p>
      * This constructor retrieves the list of players from the given {@link PlayerList}
-     * and initializes their scores to zero before calculating them.
+     * and scores their collections in a single pass.
      * </p>
      *
      * @param pl The {@link PlayerList} containing all players in the game.
      */
     public ScoreCalculator(PlayerList pl){
         this.playerList = pl.getPlayerList();
-        scoreTracker = new HashMap<>() {{ 
-            for (Player p : playerList) {
-                put(p, 0);
-            }
-        }};
+        this.scores = new int[playerList.size()];
 
         calculateScores();
     }
@@ -66,71 +60,145 @@ public class ScoreCalculator {
      *     <li>Players with the maximum count of that colour receive a score equal to the number of cards.</li>
      *     <li>All others receive the total sum of card values for that colour.</li>
      * </ul>
+     * The counts and sums are read from each player's collection into primitive arrays
+     * and scored with {@link #calculateScores(byte[], byte[], int, int[])}.
      * </p>
      */
     private void calculateScores(){
-        for (Colour colour : Colour.values()) { 
-            ArrayList<Player> maxPlayers = findMaxPlayers(colour);
-
-            for (Player p : playerList) {
-                int currentScore = scoreTracker.get(p);
-                int toAdd = 0;
-
-                if (maxPlayers.contains(p)) {
-                    toAdd = p.getCollectedCards().get(colour).size();
-                } else if (p.getCollectedCardsWithColour(colour) != null) {
-                    for (Card c : p.getCollectedCardsWithColour(colour)) {
-                        toAdd += c.getCardNum();
-                    }
-                }
+        int numPlayers = playerList.size();
+        int numColours = Card.NUM_COLOURS;
+        byte[] counts = new byte[numPlayers * numColours];
+        byte[] sums = new byte[numPlayers * numColours];
 
-                scoreTracker.put(p, currentScore + toAdd);
+        for (int p = 0; p < numPlayers; p++) {
+            CardSet collected = playerList.get(p).getCollectedSet();
+            for (int c = 0; c < numColours; c++) {
+                int lane = collected.lane(c);
+                counts[p * numColours + c] = (byte) Integer.bitCount(lane);
+                sums[p * numColours + c] = (byte) CardSet.laneSum(lane);
             }
         }
+
+        calculateScores(counts, sums, numPlayers, scores);
     }
 
     /**
-     * Finds the players who have the most cards of a given colour.
+     * Calculates every player's score from raw per-colour counts and sums.
+     * <p>
+     * Players with the most cards of a colour, as found by
+     * {@link #findMaxPlayers(byte[], int, int)}, score the number of those cards, and
+     * everyone else scores the sum of their numbers. Player {@code p}'s
+     * number of cards of colour {@code c} is {@code counts[p * 6 + c]}, and the sum of
+     * their numbers is {@code sums[p * 6 + c]}. Players are in turn order.
+     * </p>
+     *
+     * @param counts     The number of cards of each colour per player.
+     * @param sums       The total of the card numbers of each colour per player.
+     * @param numPlayers The number of players.
+     * @param scores     Receives each player's score.
+     */
+    public static void calculateScores(byte[] counts, byte[] sums, int numPlayers, int[] scores) {
+        int numColours = Card.NUM_COLOURS;
+        for (int p = 0; p < numPlayers; p++) {
+            scores[p] = 0;
+        }
+        for (int c = 0; c < numColours; c++) {
+            int maxPlayers = findMaxPlayers(counts, c, numPlayers);
+            for (int p = 0; p < numPlayers; p++) {
+                int i = p * numColours + c;
+                scores[p] += ((maxPlayers >>> p) & 1) != 0 ? counts[i] : sums[i];
+            }
+        }
+    }
+
+    /**
+     * Scores a batch of games side by side, from raw per-colour counts and sums.
+     * <p>
+     * Each game is scored as by {@link #calculateScores(byte[], byte[], int, int[])},
+     * but the batch is laid out one game per column, so that the same player and colour
+     * of consecutive games sit next to each other: the count of colour {@code c} of
+     * player {@code p} in game {@code g} is {@code counts[(p * 6 + c) * games + g]}, and
+     * the score goes to {@code scores[p * games + g]}. With this layout the games are
+     * scored together by the vectorised {@link Kernels} where they are available.
+     * </p>
+     *
+     * @param counts     The number of cards of each colour per player, per game.
+     * @param sums       The total of the card numbers of each colour per player, per game.
+     * @param numPlayers The number of players, the same in every game.
+     * @param games      The number of games in the batch.
+     * @param scores     Receives each player's score, per game.
+     */
+    public static void calculateScores(byte[] counts, byte[] sums, int numPlayers, int games, int[] scores) {
+        Kernels.get().scoreBatch(counts, sums, numPlayers, games, scores);
+    }
+
+    /**
+     * Finds the players who have the most cards of a colour, from raw counts.
      * <p>
      * In 3+ player games, multiple players can tie for max.
-     * In 2-player games, a majority requires a lead of 2 cards or more.
+     * In 2-player games, players are checked in turn order: a player with at least
+     * two more cards than the current majority takes it over, while a player with
+     * exactly one more clears it.
      * </p>
      *
-     * @param colour The {@link Colour} to evaluate.
-     * @return A list of {@link Player}s with the most cards in the given colour.
+     * @param counts     The number of cards of each colour per player, as in
+     *                   {@link #calculateScores(byte[], byte[], int, int[])}.
+     * @param colour     The {@link parade.cards.Colour#ordinal() ordinal} of the colour to evaluate.
+     * @param numPlayers The number of players.
+     * @return A bitmask with bit {@code p} set for each player {@code p} with the most cards.
      */
-    private ArrayList<Player> findMaxPlayers(Colour colour){
-        ArrayList<Player> maxPlayers = new ArrayList<>();
-        int maxCount = 0;
+    public static int findMaxPlayers(byte[] counts, int colour, int numPlayers) {
+        return findMaxPlayers(counts, colour, Card.NUM_COLOURS, numPlayers);
+    }
 
-        for (Player p : playerList){
-            if (!p.getCollectedCards().containsKey(colour)) continue;
+    /**
+     * Finds the players who have the most cards of a colour, from counts laid out with any stride.
+     *
+     * @param counts     The counts to read.
+     * @param first      The position of player 0's count.
+     * @param stride     The distance from one player's count to the next.
+     * @param numPlayers The number of players.
+     * @return A bitmask with bit {@code p} set for each player {@code p} with the most cards.
+     * @see #findMaxPlayers(byte[], int, int)
+     */
+    static int findMaxPlayers(byte[] counts, int first, int stride, int numPlayers) {
+        int maxPlayers = 0;
+        int maxCount = 0;
 
-            int count = p.getCollectedCards().get(colour).size();
+        for (int p = 0; p < numPlayers; p++) {
+            int count = counts[first + p * stride];
+            if (count == 0) continue;
 
-            if (playerList.size() > 2) {
+            if (numPlayers > 2) {
                 if (count > maxCount) {
                     maxCount = count;
-                    maxPlayers.clear();
-                    maxPlayers.add(p);
+                    maxPlayers = 1 << p;
                 } else if (count == maxCount) {
-                    maxPlayers.add(p);
+                    maxPlayers |= 1 << p;
                 }
             } else {
                 // Two-player logic
                 if (count > maxCount + 1) {
                     maxCount = count;
-                    maxPlayers.clear();
-                    maxPlayers.add(p);
+                    maxPlayers = 1 << p;
                 } else if (count == maxCount + 1) {
-                    maxPlayers.clear(); // No majority
+                    maxPlayers = 0; // No majority
                 }
             }
         }
-
         return maxPlayers;
     }
 
+    /**
+     * Returns the calculated score of a player.
+     *
+     * @param p The {@link Player} to look up.
+     * @return The player's total score.
+     */
+    public int getScore(Player p) {
+        return scores[playerList.indexOf(p)];
+    }
+
     /**
      * Finds the player(s) with the lowest total score.
      *
@@ -140,9 +208,9 @@ public class ScoreCalculator {
         ArrayList<Player> winners = new ArrayList<>();
         int minScore = getMinScore();
 
-        for (Player p : scoreTracker.keySet()) {
-            if (scoreTracker.get(p) == minScore) {
-                winners.add(p);
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] == minScore) {
+                winners.add(playerList.get(i));
             }
         }
         return winners;
@@ -182,7 +250,11 @@ public class ScoreCalculator {
      * @return The minimum score.
      */
     private int getMinScore(){
-        return Collections.min(scoreTracker.values());
+        int min = Integer.MAX_VALUE;
+        for (int score : scores) {
+            min = Math.min(min, score);
+        }
+        return min;
     }
 
     /**
@@ -193,8 +265,8 @@ public class ScoreCalculator {
      */
     public void printAllScores(){
         System.out.println("=== ALL SCORES ===");
-        for (Player p : scoreTracker.keySet()) {
-            System.out.println(p.getName() + " has a score of " + scoreTracker.get(p) + ".");
+        for (int i = 0; i < scores.length; i++) {
+            System.out.println(playerList.get(i).getName() + " has a score of " + scores[i] + ".");
         }
         System.out.println();
     }
@@ -1,15 +1,16 @@
 package parade.game;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import parade.cards.Card;
 import parade.cards.Colour;
-import parade.cards.Deck;
+import parade.game.Table.Phase;
 import parade.players.BotPlayer;
 import parade.players.HumanPlayer;
 import parade.players.Player;
 import parade.players.PlayerList;
-import util.EndGameException;
+import util.RandomSource;
 
 /**
  * Manages a single full session of the Parade game.
@@ -25,66 +26,59 @@ import util.EndGameException;
  * 
  * <p>It integrates deck usage, parade updates, and player interactions, including
  * both human and bot players.</p>
+ *
+ * <p>The rules are played by a {@link Table}, one step at a time; the session shows
+ * each step on the console as it happens, pausing for bots and waiting for humans,
+ * and can report the same events to a {@link GameListener} as a headless game.</p>
  * 
  * @author G3T7
- * @version 1.0
+ * @version 1.1
  */
 public class SingleGame {
-    private Parade par;
-    private Deck d; 
-    private boolean endGame;
+    private Table table;
     private PlayerList playerList;
-    private int turn;
+
+    /** Builds the output of each turn and writes it to the console in one go. */
+    private final FrameRenderer screen = new FrameRenderer();
 
     private static final String BOLD = "\u001B[1m";
     private static final String RESET = "\u001B[0m";
     private static final String ITALIC = "\u001B[3m";
 
-    /** Number of cards each player starts with. */
-    private static final int INITIAL_HAND_SIZE = 5;
-
     /**
      * Constructs a new {@code SingleGame} session and deals initial cards to all players.
      *
      * @param playerList The list of players participating in this game session.
      */
     public SingleGame(PlayerList playerList){
-        this.d = new Deck();
-        this.par = new Parade(d);
-        this.endGame = false;
-        this.playerList = playerList;
-        this.turn = 0;
-
-        dealInitialCards();
+        this(playerList, GameListener.NONE);
     }
 
     /**
-     * Deals the initial set of cards to each player.
+     * Constructs a new {@code SingleGame} session that also reports its events to a listener,
+     * and deals initial cards to all players.
      * <p>
-     * Each player receives {@code INITIAL_HAND_SIZE} cards drawn from the deck.
-     * Terminates the program if the deck runs out too early.
+     * The players keep the turn order they were shown in.
      * </p>
+     *
+     * @param playerList The list of players participating in this game session.
+     * @param listener   The listener receiving game events.
      */
-    private void dealInitialCards() {
-        for (int i = 0; i < INITIAL_HAND_SIZE; i++) {
-            for (Player p : playerList.getPlayerList()) {
-                try {
-                    p.addCard(d.drawCard());
-                } catch (EndGameException e) {
-                    System.out.println("There are not enough cards to start the game.");
-                    System.exit(-1);
-                }
-            }
-        }
+    public SingleGame(PlayerList playerList, GameListener listener){
+        this.playerList = playerList;
+        this.table = new Table(playerList, new RandomSource(), listener);
+        this.table.setShuffleOrder(false);
+        this.table.start(table.nextSeed());
+        this.table.step(); // deals the initial cards
     }
 
     /**
-     * Calculates the current round number based on the number of turns taken.
+     * Returns the table this session is played at.
      *
-     * @return The current round number.
+     * @return the table
      */
-    private int getRound(){
-        return turn/playerList.getNumberOfPlayers() + 1;
+    public Table getTable() {
+        return this.table;
     }
 
     /**
@@ -103,136 +97,49 @@ public class SingleGame {
      * @return The list of {@link Player}s who won this game session.
      */
     public ArrayList<Player> run() {
-        while (playerList.getPlayer(turn).getHandSize() == 5) { 
-                Player curPlayer = playerList.getPlayer(turn);
-                try {
-                    // Display round number before first turn of that round
-                    if (turn++ % playerList.getNumberOfPlayers() == 0) {
-                        System.out.println(BOLD + "\n\n==== ROUND " + getRound() + " ====" + RESET);
-                    }
-                    System.out.println("\n||  " + curPlayer.getName() + "'s turn  ||");
-                    System.out.println("Parade: " + par.getParade() + " \u001B[36m<== " + BOLD + "Card inserted here" + RESET);
-                    
-                    // Print only during main phase (before endgame triggered)
-                    if (!endGame) {
-                        System.out.println(BOLD + "Cards left in deck: " + d.getSize() + RESET);
-                    }
-
-                    // If current player is human, print their collection
-                    if (curPlayer instanceof HumanPlayer) {
-                        System.out.println("\nYour current collection:");
-
-                        boolean hasCollectedCards = false;
-                        for (Colour c : Colour.values()) {
-                            ArrayList<Card> cardsOfColour = curPlayer.getCollectedCardsWithColour(c);
-                            if (cardsOfColour != null && !cardsOfColour.isEmpty()) {
-                                hasCollectedCards = true;
-                                break;
-                            }
-                        }
-
-                        if (hasCollectedCards) {
-                            curPlayer.printCollectedCards(false);
-                        } else {
-                            System.out.println("You have no cards in your collection yet.");
-                        }
-                    }
-
-                    // Delay output for bot players
-                    if (curPlayer instanceof BotPlayer){
-                        Game.delayMessageWithDots(curPlayer.getName() + " is selecting their cards");
-                        System.out.println("Selection complete.");
-                    }
-    
-                    // Prompt player to pick a card, player chooses card
-                    Card pickedCard = curPlayer.chooseCard();
-                    System.out.println("\nPlayer has played: " + pickedCard);
-
-                    // Play card (add it to the parade and remove from the player's hand)
-                    par.addCard(curPlayer.playCard(pickedCard));
-    
-                    // Collect cards based on game rules
-                    ArrayList<Card> toCollect = par.getCollectibleCards(pickedCard);
-                    if (toCollect.isEmpty()) {
-                        System.out.println("Player should collect: [" + ITALIC + "None" + RESET + "]");
-                    } else {
-                        System.out.println("Player should collect: " + toCollect);
-                    }
-                    curPlayer.collectCard(toCollect, endGame); // endgame exception can be thrown here
-                    curPlayer.printCollectedCards(false);
-    
-                    // Player draws a new card (throws exception if deck is empty)
-                    curPlayer.addCard(d.drawCard(), endGame);
-    
-                } catch (EndGameException e) {
-                    /**
-                     * Handles endgame conditions.
-                     * <p>
-                     * If the deck runs out or a player collects all six colours, the game enters its final phase,
-                     * where each remaining player gets one last turn.
-                     * </p>
-                     */
-                    System.out.println(e.getMessage());
-                    Game.delayMessage("💫 Final round triggered! Everyone gets one last turn.\n");
-
-                    if (e.getMessage().contains("colours")){  // .addCard was skipped in try block due to exception caught
-                        try {
-                            curPlayer.addCard(d.drawCard(), endGame); 
-                        } catch (EndGameException ee) {
-                            System.out.println(ee.getMessage()); 
-                        }
-                    }
-                    endGame = true;
-                } 
-            }
+        Player discarding = null;
+        while (!table.isOver()) {
+            Phase phase = table.getPhase();
+            Player curPlayer = table.getCurrentPlayer();
 
-            // At this point, all players should have 4 cards left in their hand
-
-            // Post-game: discard + scoring
-            System.out.printf("\n\n🎉 The game is over! 🎉\n" +
-            "🃏 It's time to discard and score!\n" +
-            "Each player will discard 2 cards.\n" +
-            "The remaining cards will be added to your collection.\n\n");
-            Game.delayMessageWithDots("\n\n🕑 Now preparing the for final collection phase");
-
-            try {
-                for (Player curPlayer : playerList.getPlayerList()){
-                    // Pause thread during bot's term
-                    System.out.println("\n\n||   Please select 2 cards to discard.   ||   " + curPlayer.getName());
-
-                    if (curPlayer instanceof BotPlayer){
-                        Game.delayMessageWithDots(curPlayer.getName() + " is selecting their cards");
-                        System.out.println("Selection complete.");
-                    }
-    
-                    // Pick 1st card to discard
-                    Card discard1 = curPlayer.chooseCard();
-                    curPlayer.playCard(discard1); // remove card from hand
+            // Show what the player needs before they choose
+            if (phase == Phase.PLAY) {
+                showTurn(curPlayer);
+            } else if (phase == Phase.DISCARD) {
+                if (discarding == null) {
+                    showDiscardPhase();
+                }
+                if (curPlayer != discarding) {
+                    showDiscardTurn(curPlayer);
+                    discarding = curPlayer;
+                } else {
                     System.out.println();
-    
-                    // Pick 2nd card to discard
-                    Card discard2 = curPlayer.chooseCard();
-                    curPlayer.playCard(discard2);
-                    
-                    // Add remaining hand cards to collection
-                    curPlayer.collectCard(curPlayer.getHand(), false);
                 }
-            } catch (EndGameException e){
-                // just to handle exceptions, but should never be thrown in this try block
             }
-    
+
+            table.step();
+
+            // Show what the step did
+            switch (phase) {
+                case PLAY -> screen.newLine().append("Player has played: ").card(table.getLastCard()).newLine();
+                case COLLECT -> showCollected(curPlayer);
+                case FINAL_ROUND -> showFinalRound(curPlayer);
+                default -> { }
+            }
+        }
 
         // Display final hand and collection for each player
-        System.out.println("\nFinal hands and collections:");
+        screen.newLine().line("Final hands and collections:");
         for (Player p: playerList.getPlayerList()) {
-            System.out.print(p.getName() + "\nHand      : "); // to align with collection
+            screen.line(p.getName()).append("Hand      : "); // to align with collection
             for (Card c : p.getHand()) {
-                System.out.print(c + " ");
+                screen.card(c).append(" ");
             }
-            System.out.println();
-            p.printCollectedCards(true);
-            System.out.println();
+            screen.newLine();
+            screen.collection(p);
+            screen.newLine();
         }        
+        screen.flush();
 
         ScoreCalculator scoreCalc = new ScoreCalculator(playerList);
         ArrayList<Player> winners = scoreCalc.findWinners();
@@ -243,4 +150,122 @@ public class SingleGame {
 
         return winners;
     }
-}
\ No newline at end of file
+
+    /**
+     * Shows the start of a turn: the round, the parade, the deck and, for humans, their collection.
+     *
+     * @param curPlayer the player whose turn it is
+     */
+    private void showTurn(Player curPlayer) {
+        // Display round number before first turn of that round
+        int turn = table.getTurn();
+        if (turn % playerList.getNumberOfPlayers() == 0) {
+            screen.newLine().newLine().line(BOLD + "==== ROUND " + (turn / playerList.getNumberOfPlayers() + 1) + " ====" + RESET);
+        }
+        screen.newLine().line("||  " + curPlayer.getName() + "'s turn  ||");
+        screen.append("Parade: ").cards(table.getParade().getParade()).line(" \u001B[36m<== " + BOLD + "Card inserted here" + RESET);
+
+        // Print only during main phase (before endgame triggered)
+        if (!table.isFinalRound()) {
+            screen.append(BOLD + "Cards left in deck: ").append(table.getDeckSize()).line(RESET);
+        }
+
+        // If current player is human, print their collection
+        if (curPlayer instanceof HumanPlayer) {
+            screen.newLine().line("Your current collection:");
+
+            boolean hasCollectedCards = false;
+            for (Colour c : Colour.values()) {
+                ArrayList<Card> cardsOfColour = curPlayer.getCollectedCardsWithColour(c);
+                if (cardsOfColour != null && !cardsOfColour.isEmpty()) {
+                    hasCollectedCards = true;
+                    break;
+                }
+            }
+
+            if (hasCollectedCards) {
+                screen.collection(curPlayer);
+            } else {
+                screen.line("You have no cards in your collection yet.");
+            }
+        }
+        screen.flush();
+
+        // Delay output for bot players
+        if (curPlayer instanceof BotPlayer){
+            Game.delayMessageWithDots(curPlayer.getName() + " is selecting their cards");
+            screen.line("Selection complete.");
+        }
+    }
+
+    /**
+     * Shows the cards a player collected from the parade, and their collection unless the final round was just triggered.
+     *
+     * @param curPlayer the player who collected
+     */
+    private void showCollected(Player curPlayer) {
+        List<Card> toCollect = table.getCollected();
+        if (toCollect.isEmpty()) {
+            screen.line("Player should collect: [" + ITALIC + "None" + RESET + "]");
+        } else {
+            screen.append("Player should collect: ").cards(toCollect).newLine();
+        }
+        if (table.getPhase() == Phase.DRAW) {
+            screen.collection(curPlayer);
+        }
+    }
+
+    /**
+     * Handles endgame conditions.
+     * <p>
+     * If the deck runs out or a player collects all six colours, the game enters its final phase,
+     * where each remaining player gets one last turn.
+     * </p>
+     *
+     * @param curPlayer the player who triggered the final round
+     */
+    private void showFinalRound(Player curPlayer) {
+        boolean allColours = table.getEndGameReason() == EndGameReason.ALL_COLOURS_COLLECTED;
+        screen.line(allColours ? "\n🎨 " + curPlayer.getName() + " has collected all 6 colours!"
+                : "There are no more cards in the deck.");
+        screen.flush();
+        Game.delayMessage("💫 Final round triggered! Everyone gets one last turn.\n");
+
+        // The player still draws after collecting all colours, from a deck that may be empty
+        if (allColours && table.getDeckSize() == 0) {
+            screen.line("There are no more cards in the deck.");
+        }
+    }
+
+    /**
+     * Announces the discard and scoring phase.
+     */
+    private void showDiscardPhase() {
+        // At this point, all players should have 4 cards left in their hand
+        screen.newLine().newLine()
+              .line("🎉 The game is over! 🎉")
+              .line("🃏 It's time to discard and score!")
+              .line("Each player will discard 2 cards.")
+              .line("The remaining cards will be added to your collection.")
+              .newLine()
+              .flush();
+        Game.delayMessageWithDots("\n\n🕑 Now preparing the for final collection phase");
+    }
+
+    /**
+     * Asks a player to discard, pausing first for bots.
+     *
+     * @param curPlayer the player about to discard
+     */
+    private void showDiscardTurn(Player curPlayer) {
+        // Pause thread during bot's term
+        screen.newLine().newLine().line("||   Please select 2 cards to discard.   ||   " + curPlayer.getName());
+        screen.flush();
+
+        if (curPlayer instanceof BotPlayer){
+            Game.delayMessageWithDots(curPlayer.getName() + " is selecting their cards");
+            screen.line("Selection complete.");
+            screen.flush();
+        }
+    }
+}
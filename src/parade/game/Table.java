@@ -0,0 +1,543 @@
+package parade.game;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import parade.cards.Card;
+import parade.cards.Deck;
+import parade.players.Player;
+import parade.players.PlayerList;
+import util.RandomSource;
+
+/**
+ * The rules of a Parade game, written as a state machine that plays one step at a time.
+ * <p>
+ * A game moves through a fixed set of {@link Phase}s: the cards are dealt, then every
+ * turn a card is played, the parade is collected from and a card is drawn, until the
+ * final round is triggered and played out; then every player discards and the scores
+ * are counted. Each call to {@link #step()} carries out one phase and moves on to the
+ * next, and everything needed to carry on is kept in the table's fields rather than on
+ * the stack, so a table can be put aside between any two steps and resumed later, on
+ * any thread.
+ * </p>
+ *
+ * <p>
+ * A step that needs a card from a player asks them with
+ * {@link Player#chooseCard()}, which waits for the answer. Once
+ * {@link #setWakeUp(Runnable)} has been given a callback, it asks with
+ * {@link Player#pollCard(Runnable)} instead: a player who cannot answer straight away
+ * makes the step return {@code false} without changing anything, and runs the
+ * callback when their answer is ready, so the same step can be tried again. This is
+ * how a {@link TableScheduler} plays thousands of tables on a few threads: a table
+ * waiting for a human costs nothing but this object.
+ * </p>
+ *
+ * <p>
+ * Events are reported to a {@link GameListener} in the order they happen, and after
+ * it to every seated player who is a {@code GameListener} too, so that bots can follow
+ * the game as it goes. The seed alone decides the shuffle of the turn order and of
+ * the deck, so a game can be rebuilt from its seed and the cards the players chose.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * Table table = new Table(playerList, new RandomSource(), GameListener.NONE);
+ * table.start(42L);
+ * while (!table.isOver()) {
+ *     table.step();
+ * }
+ * GameResult result = table.getResult();
+ * }</pre>
+ *
+ * @author G3T7
+ * @version 1.1
+ * @see HeadlessGame
+ * @see TableScheduler
+ */
+public class Table implements TableView {
+
+    /**
+     * The phases of a game, in the order they are first reached.
+     */
+    public enum Phase {
+        /** The turn order and the deck are shuffled and the hands are dealt. */
+        DEAL,
+        /** The current player plays a card onto the parade. */
+        PLAY,
+        /** The current player collects the cards their card removed from the parade. */
+        COLLECT,
+        /** The current player draws a card, or stops drawing in the final round. */
+        DRAW,
+        /** The final round has just been triggered. */
+        FINAL_ROUND,
+        /** Every player in turn discards two cards and collects the rest of their hand. */
+        DISCARD,
+        /** The scores are counted and the result is reported. */
+        SCORE,
+        /** The game is over. */
+        OVER
+    }
+
+    private Parade par;
+    private Deck d;
+    private boolean endGame;
+    private boolean discardPhase;
+    private EndGameReason endGameReason;
+    private PlayerList playerList;
+    private GameListener listener;
+
+    /** Receives the events: the listener, then every seated player who is a listener too. */
+    private GameListener events;
+    private RandomSource random;
+    private ScoreBoard scoreBoard;
+    private int turn;
+
+    /** Whether the turn order is shuffled before every game. */
+    private boolean shuffleOrder = true;
+
+    /** Called by players who answer later, or {@code null} to wait for every answer. */
+    private Runnable wakeUp;
+
+    /** The seed of the current game. */
+    private long seed;
+
+    /** The phase the next step carries out. */
+    private Phase phase = Phase.OVER;
+
+    /** The player whose turn is being played. */
+    private Player curPlayer;
+
+    /** The number of the turn being played. */
+    private int curTurn;
+
+    /** Whether the turn being played is in the final round. */
+    private boolean lastRound;
+
+    /** The card played or discarded last. */
+    private Card lastCard;
+
+    /** The card drawn last, or {@code null} if none was. */
+    private Card drawnCard;
+
+    /** Index in turn order of the player discarding. */
+    private int discardSeat;
+
+    /** The number of cards the discarding player has discarded so far. */
+    private int discards;
+
+    /** The result, once the game is over. */
+    private GameResult result;
+
+    /** Reused every turn to receive the cards collected from the parade. */
+    private final ArrayList<Card> toCollect = new ArrayList<>();
+
+    /** Number of cards each player starts with. */
+    static final int INITIAL_HAND_SIZE = 5;
+
+    /** Number of cards each player discards at the end of the game. */
+    private static final int DISCARDS = 2;
+
+    /** Stream of a game's seed that shuffles the turn order. */
+    private static final long ORDER_STREAM = 0;
+
+    /** Stream of a game's seed that shuffles the deck. */
+    private static final long DECK_STREAM = 1;
+
+    /**
+     * Constructs a table that reports events to the given listener.
+     *
+     * @param playerList The players taking part.
+     * @param random     The random source for shuffling the deck and turn order.
+     * @param listener   The listener receiving game events.
+     */
+    public Table(PlayerList playerList, RandomSource random, GameListener listener) {
+        this.random = random;
+        this.d = new Deck(random);
+        this.par = new Parade(d);
+        this.playerList = playerList;
+        this.listener = listener;
+        this.events = listener;
+        this.scoreBoard = new ScoreBoard(playerList.getNumberOfPlayers());
+    }
+
+    /**
+     * Sets whether the turn order is shuffled from the seed before every game.
+     * <p>
+     * It is by default, and must be for a game to be rebuilt from its seed. Tables
+     * that have already shown the players their turn order keep it.
+     * </p>
+     *
+     * @param shuffleOrder {@code false} to keep the order of the player list
+     */
+    public void setShuffleOrder(boolean shuffleOrder) {
+        this.shuffleOrder = shuffleOrder;
+    }
+
+    /**
+     * Lets players answer later instead of keeping a step waiting.
+     * <p>
+     * The callback is passed to {@link Player#pollCard(Runnable)}. It may be run on
+     * any thread, more than once, and while a step is in progress; it should only
+     * arrange for {@link #step()} to be called again.
+     * </p>
+     *
+     * @param wakeUp the callback, or {@code null} to wait for every answer
+     */
+    public void setWakeUp(Runnable wakeUp) {
+        this.wakeUp = wakeUp;
+    }
+
+    /**
+     * Plays one full game, dealt from the next seed of the table's random source.
+     *
+     * @return the scores and winners of the game
+     */
+    public GameResult play() {
+        return play(random.nextLong());
+    }
+
+    /**
+     * Plays one full game dealt from the given seed and returns its result.
+     * <p>
+     * The game is played on the calling thread, which waits for every answer.
+     * </p>
+     *
+     * @param seed the seed of this game
+     * @return the scores and winners of the game
+     * @see Replay
+     */
+    public GameResult play(long seed) {
+        Runnable async = wakeUp;
+        wakeUp = null;
+        try {
+            start(seed);
+            while (phase != Phase.OVER) {
+                step();
+            }
+        } finally {
+            wakeUp = async;
+        }
+        return result;
+    }
+
+    /**
+     * Prepares a new game dealt from the given seed; the first step deals it.
+     *
+     * @param seed the seed of this game
+     */
+    public void start(long seed) {
+        this.seed = seed;
+        this.result = null;
+        this.phase = Phase.DEAL;
+    }
+
+    /**
+     * Returns the seed of the next game, drawn from the table's random source.
+     *
+     * @return the seed
+     */
+    public long nextSeed() {
+        return random.nextLong();
+    }
+
+    /**
+     * Carries out the current phase and moves on to the next one.
+     *
+     * @return {@code true} if the game moved on, or {@code false} if a player will
+     *         answer later and nothing has changed
+     * @throws IllegalStateException if the game is over, or was never started
+     */
+    public boolean step() {
+        switch (phase) {
+            case DEAL -> {
+                setUpTable();
+                phase = nextTurn();
+            }
+            case PLAY -> {
+                Player player = playerList.getPlayer(turn);
+                Card pickedCard = requestCard(player);
+                if (pickedCard == null) {
+                    return false;
+                }
+                curPlayer = player;
+                curTurn = turn++;
+                lastRound = endGame;
+                lastCard = pickedCard;
+
+                // Play card (add it to the parade and remove from the player's hand)
+                par.addCard(curPlayer.playCard(pickedCard));
+                events.onCardPlayed(curTurn, curPlayer, pickedCard);
+                phase = Phase.COLLECT;
+            }
+            case COLLECT -> {
+                // Collect cards based on game rules
+                toCollect.clear();
+                par.collectInto(lastCard, toCollect);
+                events.onCardsCollected(curTurn, curPlayer, toCollect);
+                EndGameReason trigger = curPlayer.collectCard(toCollect, lastRound);
+                if (trigger == null) {
+                    phase = Phase.DRAW;
+                } else {
+                    endGameReason = trigger;
+                    phase = Phase.FINAL_ROUND;
+                }
+            }
+            case DRAW -> {
+                // Player draws a new card, which is discarded during the final round
+                drawnCard = d.drawCard();
+                EndGameReason trigger = curPlayer.addCard(drawnCard, lastRound);
+                if (trigger == null) {
+                    if (!lastRound) {
+                        events.onCardDrawn(curTurn, curPlayer, drawnCard);
+                    }
+                    phase = nextTurn();
+                } else if (endGame) {
+                    // The final round was already triggered by collecting all colours this turn
+                    phase = nextTurn();
+                } else {
+                    endGameReason = trigger;
+                    phase = Phase.FINAL_ROUND;
+                }
+            }
+            case FINAL_ROUND -> {
+                // Every remaining player gets one last turn
+                endGame = true;
+                events.onFinalRound(curTurn, curPlayer, endGameReason);
+                phase = endGameReason == EndGameReason.ALL_COLOURS_COLLECTED ? Phase.DRAW : nextTurn();
+            }
+            case DISCARD -> {
+                Player player = playerList.getPlayer(discardSeat);
+                Card discard = requestCard(player);
+                if (discard == null) {
+                    return false;
+                }
+                curPlayer = player;
+                lastCard = discard;
+                player.playCard(discard);
+                events.onCardDiscarded(player, discard);
+
+                if (++discards == DISCARDS) {
+                    // Add remaining hand cards to collection
+                    events.onCardsCollected(turn, player, player.getHand());
+                    player.collectCard(player.getHand(), true);
+                    discards = 0;
+                    if (++discardSeat == playerList.getNumberOfPlayers()) {
+                        phase = Phase.SCORE;
+                    }
+                }
+            }
+            case SCORE -> {
+                // Every card went through the score board, so its scores are final
+                int[] scores = new int[playerList.getNumberOfPlayers()];
+                for (int i = 0; i < scores.length; i++) {
+                    scores[i] = scoreBoard.getScore(i);
+                }
+                result = new GameResult(seed, playerList.getPlayerList(), scores, turn, endGameReason);
+                phase = Phase.OVER;
+                events.onGameOver(result);
+            }
+            case OVER -> throw new IllegalStateException("The game is over.");
+        }
+        return true;
+    }
+
+    /**
+     * Clears every player, shuffles the turn order and the deck, lays out the parade and deals the initial hands.
+     */
+    private void setUpTable() {
+        RandomSource gameRandom = new RandomSource(seed);
+        if (shuffleOrder) {
+            this.playerList.shuffleOrder(gameRandom.derive(ORDER_STREAM));
+        }
+        this.d.resetDeck(deckRandom(seed));
+        this.par.reset(d);
+        this.endGame = false;
+        this.discardPhase = false;
+        this.endGameReason = null;
+        this.turn = 0;
+        this.curPlayer = null;
+        this.lastCard = null;
+        this.drawnCard = null;
+        this.discardSeat = 0;
+        this.discards = 0;
+        this.scoreBoard.reset();
+
+        this.events = ListenerGroup.of(listener, playerList);
+        for (int i = 0; i < playerList.getNumberOfPlayers(); i++) {
+            Player p = playerList.getPlayer(i);
+            p.joinTable(this, i);
+            p.clearHand();
+            p.clearCollectedCards();
+        }
+
+        for (int i = 0; i < INITIAL_HAND_SIZE; i++) {
+            for (Player p : playerList.getPlayerList()) {
+                if (p.addCard(d.drawCard()) != null) {
+                    throw new IllegalStateException("There are not enough cards to start the game.");
+                }
+            }
+        }
+
+        events.onGameStart(playerList, par);
+    }
+
+    /**
+     * Returns the phase that follows a finished turn.
+     * <p>
+     * Turns go on while the next player still holds a full hand; once the final round
+     * has come back round, every player holds one card fewer and the discards begin.
+     * </p>
+     *
+     * @return {@link Phase#PLAY} or {@link Phase#DISCARD}
+     */
+    private Phase nextTurn() {
+        if (playerList.getPlayer(turn).getHandSize() == INITIAL_HAND_SIZE) {
+            return Phase.PLAY;
+        }
+        // At this point, all players should have 4 cards left in their hand
+        discardPhase = true;
+        return Phase.DISCARD;
+    }
+
+    /**
+     * Asks a player for a card, waiting for the answer unless the table can be woken up.
+     *
+     * @param player the player to ask
+     * @return the card, or {@code null} if the player will answer later
+     */
+    private Card requestCard(Player player) {
+        return wakeUp == null ? player.chooseCard() : player.pollCard(wakeUp);
+    }
+
+    /**
+     * Returns the random source that shuffles the deck of the game with the given seed.
+     *
+     * @param seed the seed of the game
+     * @return the deck's random source
+     */
+    static RandomSource deckRandom(long seed) {
+        return new RandomSource(seed).derive(DECK_STREAM);
+    }
+
+    /**
+     * Returns the phase the next step carries out.
+     *
+     * @return the current phase
+     */
+    public Phase getPhase() {
+        return phase;
+    }
+
+    /**
+     * Checks whether the game is over, or has not been started.
+     *
+     * @return {@code true} if there is no step left to carry out
+     */
+    public boolean isOver() {
+        return phase == Phase.OVER;
+    }
+
+    /**
+     * Returns the player the next step is about, or the last one to move.
+     * <p>
+     * Before {@link Phase#PLAY} or {@link Phase#DISCARD} this is the player about to
+     * choose a card; in the other phases of a turn, it is the player whose turn it is.
+     * </p>
+     *
+     * @return the current player, or {@code null} before the first turn
+     */
+    public Player getCurrentPlayer() {
+        return switch (phase) {
+            case PLAY -> playerList.getPlayer(turn);
+            case DISCARD -> playerList.getPlayer(discardSeat);
+            default -> curPlayer;
+        };
+    }
+
+    /**
+     * Returns the number of turns started so far.
+     *
+     * @return the next turn's number, which is also the count of turns played
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * Returns the card played or discarded by the last {@link Phase#PLAY} or {@link Phase#DISCARD} step.
+     *
+     * @return the card, or {@code null} before the first turn
+     */
+    public Card getLastCard() {
+        return lastCard;
+    }
+
+    /**
+     * Returns the cards collected by the last {@link Phase#COLLECT} step.
+     * <p>
+     * The list is reused every turn; copy it to keep it.
+     * </p>
+     *
+     * @return the cards collected
+     */
+    public List<Card> getCollected() {
+        return toCollect;
+    }
+
+    /**
+     * Returns the card drawn by the last {@link Phase#DRAW} step.
+     *
+     * @return the card, or {@code null} if the deck was empty
+     */
+    public Card getDrawnCard() {
+        return drawnCard;
+    }
+
+    /**
+     * Returns why the final round was triggered.
+     *
+     * @return the reason, or {@code null} if it has not been triggered
+     */
+    public EndGameReason getEndGameReason() {
+        return endGameReason;
+    }
+
+    /**
+     * Returns the result of the game.
+     *
+     * @return the result, or {@code null} until the game is over
+     */
+    public GameResult getResult() {
+        return result;
+    }
+
+    @Override
+    public Parade getParade() {
+        return this.par;
+    }
+
+    @Override
+    public PlayerList getPlayerList() {
+        return this.playerList;
+    }
+
+    @Override
+    public int getDeckSize() {
+        return this.d.getSize();
+    }
+
+    @Override
+    public boolean isFinalRound() {
+        return this.endGame;
+    }
+
+    @Override
+    public boolean isDiscardPhase() {
+        return this.discardPhase;
+    }
+
+    @Override
+    public ScoreBoard getScoreBoard() {
+        return this.scoreBoard;
+    }
+}
@@ -0,0 +1,223 @@
+package parade.game;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plays any number of {@link Table}s on a small, fixed pool of carrier threads.
+ * <p>
+ * A submitted table is stepped by one carrier at a time. It keeps the carrier for at
+ * most {@link #STEPS_PER_SLICE} steps and then goes to the back of the queue, so a
+ * long run of bot moves cannot starve the other tables. When a step finds a player
+ * who has not answered yet, the table gives up its carrier altogether: it is not
+ * queued again until the player wakes it up, and until then it costs nothing but its
+ * own state. Tables are independent, so each plays exactly the game it would play on
+ * its own; only the interleaving between tables depends on the carriers.
+ * </p>
+ *
+ * <p>
+ * Bots that search for their moves, such as {@link parade.players.MctsBotPlayer},
+ * still think on the carrier; give such tables their own scheduler, or more carriers,
+ * if they should not hold up tables waiting on people.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * try (TableScheduler scheduler = new TableScheduler(4)) {
+ *     Table table = new Table(playerList, new RandomSource(), GameListener.NONE);
+ *     GameResult result = scheduler.submit(table, 42L).join();
+ * }
+ * }</pre>
+ *
+ * @author G3T7
+ * @version 1.0
+ * @see Table
+ */
+public class TableScheduler implements AutoCloseable {
+
+    /** The most steps a table takes before letting other tables have the carrier. */
+    public static final int STEPS_PER_SLICE = 64;
+
+    /** The carrier threads. */
+    private final ExecutorService carriers;
+
+    /** Number of tables submitted and not finished. */
+    private final AtomicInteger activeTables = new AtomicInteger();
+
+    /** Number of tables waiting for a player, with no carrier. */
+    private final AtomicInteger waitingTables = new AtomicInteger();
+
+    /**
+     * Starts a scheduler with the given number of carrier threads.
+     *
+     * @param threads the number of carriers, at least 1
+     */
+    public TableScheduler(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        this.carriers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "table-carrier-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Starts a game at a table and plays it to the end on the carriers.
+     * <p>
+     * The table must not be used in any other way until the game is over; the
+     * returned future then completes with the table's result. Listeners of the
+     * table are called on the carriers.
+     * </p>
+     *
+     * @param table the table to play at
+     * @param seed  the seed of the game
+     * @return the result of the game, once it is over; completed exceptionally if a step fails
+     */
+    public CompletableFuture<GameResult> submit(Table table, long seed) {
+        Task task = new Task(table);
+        table.setWakeUp(task::wake);
+        table.start(seed);
+        activeTables.incrementAndGet();
+        task.wake();
+        return task.result;
+    }
+
+    /**
+     * Returns the number of tables playing.
+     *
+     * @return the tables submitted and not finished
+     */
+    public int getActiveTables() {
+        return activeTables.get();
+    }
+
+    /**
+     * Returns the number of tables put aside until a player answers.
+     *
+     * @return the tables waiting
+     */
+    public int getWaitingTables() {
+        return waitingTables.get();
+    }
+
+    /**
+     * Stops the carriers once the queued steps are done. Tables waiting for a player are not resumed.
+     */
+    @Override
+    public void close() {
+        carriers.shutdown();
+    }
+
+    /**
+     * A table and its place in the queue.
+     */
+    private final class Task implements Runnable {
+
+        /** Not queued and not running; only a wake-up starts it again. */
+        private static final int IDLE = 0;
+
+        /** Queued or running. */
+        private static final int SCHEDULED = 1;
+
+        /** Running, and woken up since it started, so it must check again before going idle. */
+        private static final int WOKEN = 2;
+
+        /** The table being played. */
+        private final Table table;
+
+        /** Completed when the game is over. */
+        private final CompletableFuture<GameResult> result = new CompletableFuture<>();
+
+        /** {@link #IDLE}, {@link #SCHEDULED} or {@link #WOKEN}. */
+        private final AtomicInteger state = new AtomicInteger(IDLE);
+
+        /** Whether the table is counted in {@link #waitingTables}; used by whoever moved {@link #state} off {@link #IDLE}. */
+        private boolean waiting;
+
+        Task(Table table) {
+            this.table = table;
+        }
+
+        /**
+         * Queues the table unless it is queued or running already; safe to call from any thread.
+         */
+        void wake() {
+            while (true) {
+                int s = state.get();
+                if (s == IDLE) {
+                    if (state.compareAndSet(IDLE, SCHEDULED)) {
+                        queue();
+                        return;
+                    }
+                } else if (s == SCHEDULED) {
+                    if (state.compareAndSet(SCHEDULED, WOKEN)) {
+                        return;
+                    }
+                } else {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            state.set(SCHEDULED);
+            if (waiting) {
+                waiting = false;
+                waitingTables.decrementAndGet();
+            }
+            try {
+                for (int i = 0; i < STEPS_PER_SLICE; i++) {
+                    if (!table.step()) {
+                        // Nothing to do until a player answers, unless one already has
+                        waiting = true;
+                        waitingTables.incrementAndGet();
+                        if (!state.compareAndSet(SCHEDULED, IDLE)) {
+                            waiting = false;
+                            waitingTables.decrementAndGet();
+                            queue();
+                        }
+                        return;
+                    }
+                    if (table.isOver()) {
+                        finish();
+                        result.complete(table.getResult());
+                        return;
+                    }
+                }
+                queue();
+            } catch (RuntimeException e) {
+                finish();
+                result.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Puts the table at the back of the queue, or fails its game if the scheduler is closed.
+         */
+        private void queue() {
+            try {
+                carriers.execute(this);
+            } catch (RejectedExecutionException e) {
+                if (waiting) {
+                    // Woken after close(): the table will never run again to stop waiting
+                    waiting = false;
+                    waitingTables.decrementAndGet();
+                }
+                finish();
+                result.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Lets go of the table once its game is over or has failed.
+         */
+        private void finish() {
+            table.setWakeUp(null);
+            activeTables.decrementAndGet();
+        }
+    }
+}
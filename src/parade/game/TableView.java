@@ -0,0 +1,65 @@
+package parade.game;
+
+import parade.players.PlayerList;
+
+/**
+ * A read-only view of the table a player is seated at.
+ * <p>
+ * Gives players access to the public state of a running game: the parade,
+ * every player's collection, the number of cards left in the deck and the
+ * current phase of the game, as well as every player's provisional score. Bots use it to reason about their moves, since
+ * {@link parade.players.Player#chooseCard()} takes no arguments.
+ * </p>
+ *
+ * <p>
+ * {@link Table} implements this interface, for {@link SingleGame} and
+ * {@link HeadlessGame} alike, and seats its players at the start of every game.
+ * </p>
+ *
+ * @author G3T7
+ * @version 1.0
+ */
+public interface TableView {
+
+    /**
+     * Returns the parade currently on the table.
+     *
+     * @return the parade
+     */
+    Parade getParade();
+
+    /**
+     * Returns the players at the table, in turn order.
+     *
+     * @return the player list
+     */
+    PlayerList getPlayerList();
+
+    /**
+     * Returns the number of cards left in the deck.
+     *
+     * @return the deck size
+     */
+    int getDeckSize();
+
+    /**
+     * Checks whether the final round has been triggered.
+     *
+     * @return {@code true} once every player is taking their last turn
+     */
+    boolean isFinalRound();
+
+    /**
+     * Checks whether players are discarding their last cards rather than playing them.
+     *
+     * @return {@code true} during the final discard phase
+     */
+    boolean isDiscardPhase();
+
+    /**
+     * Returns the scores of the players, kept up to date as they collect cards.
+     *
+     * @return the score board, indexed by turn order
+     */
+    ScoreBoard getScoreBoard();
+}
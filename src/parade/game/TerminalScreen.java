@@ -0,0 +1,311 @@
+package parade.game;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A model of a fixed area of the terminal that only redraws what has changed.
+ * <p>
+ * Clearing the console and printing everything again on every turn sends the whole
+ * table to the terminal each time, which scrolls and flickers on a large table. A
+ * {@code TerminalScreen} instead keeps the last frame it drew. Each row is made of
+ * <em>cells</em>, such as one card of the parade or one colour of a collection. When
+ * the next frame is {@link #render() rendered}, unchanged cells are skipped, a changed
+ * cell is written over the old one and removed cells are deleted from the line, using
+ * the terminal's own insert and delete character codes so that the rest of the line
+ * shifts without being sent again.
+ * </p>
+ *
+ * <p>
+ * Cells may contain ANSI colour codes, which take no room on screen; every cell
+ * should end with its colours reset, so that it can be drawn on its own. A frame
+ * is written in one go through a {@link FrameRenderer}.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * TerminalScreen screen = new TerminalScreen(3);
+ * screen.setRow(0, "Deck: ", "27");
+ * screen.setRow(1, "Parade: ", "RED 5 ", "GRAY 2 ");
+ * screen.render();                 // clears the terminal and draws both rows
+ * screen.setRow(0, "Deck: ", "26");
+ * screen.render();                 // only moves the cursor and writes "26"
+ * }</pre>
+ *
+ * @author G3T7
+ * @version 1.0
+ */
+public class TerminalScreen {
+
+    /** Moves the cursor to the top left and clears the terminal. */
+    public static final String CLEAR = "\033[H\033[2J";
+
+    /** Erases from the cursor to the end of the line. */
+    private static final String ERASE_LINE = "\033[K";
+
+    /** No cells. */
+    private static final String[] EMPTY = {};
+
+    /** Builds and writes each frame. */
+    private final FrameRenderer out;
+
+    /** The cells of each row, as last drawn. */
+    private final String[][] shown;
+
+    /** The cells of each row, for the next frame. */
+    private final String[][] next;
+
+    /** Whether the next frame must clear the terminal and draw every row. */
+    private boolean repaint = true;
+
+    /** Total bytes written to the terminal. */
+    private long bytesWritten;
+
+    /**
+     * Constructs a screen of the given height on the console.
+     *
+     * @param rows the number of rows
+     */
+    public TerminalScreen(int rows) {
+        this(System.out, rows);
+    }
+
+    /**
+     * Constructs a screen of the given height on a stream.
+     *
+     * @param out  the stream connected to the terminal
+     * @param rows the number of rows
+     */
+    public TerminalScreen(PrintStream out, int rows) {
+        this.out = new FrameRenderer(out);
+        this.shown = new String[rows][];
+        this.next = new String[rows][];
+        Arrays.fill(shown, EMPTY);
+        Arrays.fill(next, EMPTY);
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return the height of the screen
+     */
+    public int getRows() {
+        return next.length;
+    }
+
+    /**
+     * Sets the cells of a row for the next frame.
+     *
+     * @param row   the row, from 0
+     * @param cells the text of each cell, from left to right
+     */
+    public void setRow(int row, String... cells) {
+        next[row] = cells.clone();
+    }
+
+    /**
+     * Sets the cells of a row for the next frame.
+     *
+     * @param row   the row, from 0
+     * @param cells the text of each cell, from left to right
+     */
+    public void setRow(int row, List<String> cells) {
+        next[row] = cells.toArray(EMPTY);
+    }
+
+    /**
+     * Makes the next frame clear the terminal and draw every row, for example after
+     * something else has written to it.
+     */
+    public void invalidate() {
+        repaint = true;
+    }
+
+    /**
+     * Draws the next frame, writing only the rows and cells that have changed.
+     * <p>
+     * Afterwards the cursor is left on the line below the screen.
+     * </p>
+     *
+     * @return the number of bytes written
+     */
+    public int render() {
+        if (repaint) {
+            out.append(CLEAR);
+            Arrays.fill(shown, EMPTY);
+        }
+
+        boolean changed = repaint;
+        for (int row = 0; row < next.length; row++) {
+            if (drawRow(row, shown[row], next[row])) {
+                shown[row] = next[row];
+                changed = true;
+            }
+        }
+        repaint = false;
+
+        if (!changed) {
+            return 0;
+        }
+        moveTo(next.length, 1);
+        int bytes = out.flush();
+        bytesWritten += bytes;
+        return bytes;
+    }
+
+    /**
+     * Returns the total number of bytes written to the terminal.
+     *
+     * @return the bytes written by every frame so far
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Adds the changes of one row to the frame.
+     * <p>
+     * The cells are compared in order. A cell that is gone, such as a card taken from
+     * the parade, is deleted from the terminal line so that everything after it moves
+     * left by itself. A changed cell is written over the old one, after inserting or
+     * deleting columns if its width changed, so the rest of the line stays in place.
+     * Cells added at the end are written out and a line that got shorter is erased
+     * to its end.
+     * </p>
+     *
+     * @param row    the row
+     * @param before the cells as drawn
+     * @param after  the cells to draw
+     * @return {@code true} if anything was added to the frame
+     */
+    private boolean drawRow(int row, String[] before, String[] after) {
+        int column = 1;
+        int cursor = -1; // column the cursor is at after the last write, if on this row
+        int i = 0;
+        int j = 0;
+        // The line on screen always holds after[0, j) followed by before[i, before.length)
+        while (i < before.length && j < after.length) {
+            if (before[i].equals(after[j])) {
+                column += width(after[j++]);
+                i++;
+                continue;
+            }
+
+            if (cursor != column) {
+                moveTo(row, column);
+            }
+            int found = indexOf(before, after[j], i + 1);
+            if (found >= 0) {
+                // Cells were removed: close the gap
+                deleteColumns(width(before, i, found));
+                i = found;
+                cursor = column;
+                continue;
+            }
+
+            int oldWidth = width(before[i++]);
+            int newWidth = width(after[j]);
+            if (newWidth > oldWidth) {
+                out.append("\033[").append(newWidth - oldWidth).append("@");
+            }
+            out.append(after[j++]);
+            column += newWidth;
+            if (newWidth < oldWidth) {
+                deleteColumns(oldWidth - newWidth);
+            }
+            cursor = column;
+        }
+
+        if (i == before.length && j == after.length) {
+            return cursor > 0;
+        }
+        if (cursor != column) {
+            moveTo(row, column);
+        }
+        while (j < after.length) {
+            out.append(after[j++]);
+        }
+        if (i < before.length) {
+            out.append(ERASE_LINE);
+        }
+        return true;
+    }
+
+    /**
+     * Adds a deletion of characters at the cursor to the frame; the rest of the line moves left.
+     *
+     * @param columns the number of columns to delete
+     */
+    private void deleteColumns(int columns) {
+        if (columns > 0) {
+            out.append("\033[").append(columns).append("P");
+        }
+    }
+
+    /**
+     * Finds a cell in a row.
+     *
+     * @param cells the cells of the row
+     * @param cell  the cell to look for
+     * @param from  the first index to look at
+     * @return the index of the cell, or -1 if it is not found
+     */
+    private static int indexOf(String[] cells, String cell, int from) {
+        for (int k = from; k < cells.length; k++) {
+            if (cells[k].equals(cell)) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of columns a run of cells takes on screen.
+     *
+     * @param cells the cells of a row
+     * @param from  the first cell, inclusive
+     * @param to    the last cell, exclusive
+     * @return the total width of the cells
+     */
+    private static int width(String[] cells, int from, int to) {
+        int width = 0;
+        for (int k = from; k < to; k++) {
+            width += width(cells[k]);
+        }
+        return width;
+    }
+
+    /**
+     * Adds a cursor move to the frame.
+     *
+     * @param row    the row, from 0
+     * @param column the column, from 1
+     */
+    private void moveTo(int row, int column) {
+        out.append("\033[").append(row + 1).append(";").append(column).append("H");
+    }
+
+    /**
+     * Returns the number of columns a text takes on screen, skipping ANSI escape codes.
+     *
+     * @param text the text of a cell
+     * @return the number of visible characters
+     */
+    static int width(String text) {
+        int width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\033' && i + 1 < text.length() && text.charAt(i + 1) == '[') {
+                // Skip to the final letter of the escape code
+                i += 2;
+                while (i < text.length() && !Character.isLetter(text.charAt(i))) {
+                    i++;
+                }
+            } else if (!Character.isLowSurrogate(c)) {
+                width++;
+            }
+        }
+        return width;
+    }
+}
@@ -0,0 +1,181 @@
+package parade.log;
+
+/**
+ * Describes the binary format of a Parade event log.
+ * <p>
+ * A log starts with an 8-byte header: the {@link #MAGIC} number and the format
+ * {@link #VERSION}, both as big-endian ints. After that come the records of
+ * every game in order, each packed into a single 4-byte int:
+ * </p>
+ * <pre>
+ *   byte 0: record type     byte 1: player index (turn order)
+ *   byte 2: card index      byte 3: turn number
+ * </pre>
+ *
+ * <p>
+ * Card indices are those of {@link parade.cards.Card#getIndex()}. A few record
+ * types use the fields differently, as noted on each type. A game always starts
+ * with {@link #GAME_START} and ends with {@link #GAME_OVER}; logs can be appended
+ * to, so one file may hold any number of games. The {@link #PLAY} and
+ * {@link #DISCARD} records and the {@link #SEED} are enough to rebuild a game
+ * with {@link parade.game.Replay}.
+ * </p>
+ *
+ * @author G3T7
+ * @version 1.1
+ * @see EventLogWriter
+ * @see EventLogReader
+ */
+public final class EventLog {
+
+    /** The first four bytes of every log, {@code "PRDL"}. */
+    public static final int MAGIC = 0x5052444C;
+
+    /**
+     * The version of the record format. Version 2 added the {@link #SEED} records;
+     * logs of version 1 cannot be replayed and are not read.
+     */
+    public static final int VERSION = 2;
+
+    /** The size of the file header, in bytes. */
+    public static final int HEADER_BYTES = 8;
+
+    /** The size of one record, in bytes. */
+    public static final int RECORD_BYTES = 4;
+
+    /** A new game; the player field holds the number of players. */
+    public static final int GAME_START = 0;
+
+    /** A card laid out in the initial parade, from the front of the line. */
+    public static final int PARADE = 1;
+
+    /** A card dealt into a player's starting hand, in dealing order. */
+    public static final int DEAL = 2;
+
+    /** A card played into the parade. */
+    public static final int PLAY = 3;
+
+    /** A card collected from the parade, or from the hand after discarding. */
+    public static final int COLLECT = 4;
+
+    /** A card drawn from the deck into a player's hand. */
+    public static final int DRAW = 5;
+
+    /** The final round was triggered; the card field holds the {@link parade.game.EndGameReason} ordinal. */
+    public static final int FINAL_ROUND = 6;
+
+    /** A card discarded at the end of the game. */
+    public static final int DISCARD = 7;
+
+    /** A player's final score, split over the card (high byte) and turn (low byte) fields. */
+    public static final int SCORE = 8;
+
+    /**
+     * The end of a game, after the scores. The player field holds the number of players,
+     * the card field the end-game reason ordinal and the turn field the number of turns.
+     */
+    public static final int GAME_OVER = 9;
+
+    /**
+     * Part of the game's seed, written before the scores; every game has {@value #SEED_PARTS}
+     * of them. The player field holds the part
+     * number {@code i} from 0 to 3, and the card (high byte) and turn (low byte) fields hold
+     * bits {@code 16 * i} to {@code 16 * i + 15} of the seed.
+     */
+    public static final int SEED = 10;
+
+    /** The number of {@link #SEED} records of each game. */
+    public static final int SEED_PARTS = 4;
+
+    /** The names of the record types, indexed by type. */
+    private static final String[] TYPE_NAMES = {
+        "GAME_START", "PARADE", "DEAL", "PLAY", "COLLECT", "DRAW", "FINAL_ROUND", "DISCARD", "SCORE", "GAME_OVER",
+        "SEED"
+    };
+
+    private EventLog() {
+    }
+
+    /**
+     * Packs the fields of a record into an int.
+     *
+     * @param type   the record type
+     * @param player the player index
+     * @param card   the card index
+     * @param turn   the turn number
+     * @return the packed record
+     */
+    public static int encode(int type, int player, int card, int turn) {
+        return (type & 0xFF) << 24 | (player & 0xFF) << 16 | (card & 0xFF) << 8 | (turn & 0xFF);
+    }
+
+    /**
+     * Returns the type of a record.
+     *
+     * @param record the packed record
+     * @return the record type
+     */
+    public static int type(int record) {
+        return record >>> 24;
+    }
+
+    /**
+     * Returns the player index of a record.
+     *
+     * @param record the packed record
+     * @return the player index
+     */
+    public static int player(int record) {
+        return (record >>> 16) & 0xFF;
+    }
+
+    /**
+     * Returns the card index of a record.
+     *
+     * @param record the packed record
+     * @return the card index
+     */
+    public static int card(int record) {
+        return (record >>> 8) & 0xFF;
+    }
+
+    /**
+     * Returns the turn number of a record.
+     *
+     * @param record the packed record
+     * @return the turn number
+     */
+    public static int turn(int record) {
+        return record & 0xFF;
+    }
+
+    /**
+     * Returns the score held by a {@link #SCORE} record.
+     *
+     * @param record the packed record
+     * @return the score
+     */
+    public static int score(int record) {
+        return record & 0xFFFF;
+    }
+
+    /**
+     * Returns the bits of the seed held by a {@link #SEED} record, shifted into place.
+     *
+     * @param record the packed record
+     * @return the part of the seed; OR the parts of all four records to get the seed
+     */
+    public static long seedPart(int record) {
+        return (long) (record & 0xFFFF) << (16 * player(record));
+    }
+
+    /**
+     * Returns the name of a record type.
+     *
+     * @param type the record type
+     * @return the name, or {@code "UNKNOWN"} for a type this version does not know
+     */
+    public static String typeName(int type) {
+        return type < TYPE_NAMES.length ? TYPE_NAMES[type] : "UNKNOWN";
+    }
+}
@@ -0,0 +1,261 @@
+package parade.log;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import parade.cards.Card;
+import parade.game.EndGameReason;
+import parade.game.Replay;
+
+/**
+ * Reads a binary {@link EventLog} through memory-mapped files.
+ * <p>
+ * The file is mapped read-only in segments of up to 1 GiB, so logs of any size can
+ * be read without copying them onto the heap. Records can be fetched by position
+ * with {@link #getRecord(long)} or streamed in order with {@link #forEach(RecordHandler)},
+ * which is a tight loop over the mapped memory and runs at the speed of the disk
+ * (or of memory, once the file is cached).
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * try (EventLogReader log = new EventLogReader(Path.of("games.plog"))) {
+ *     long[] plays = new long[Card.NUM_CARDS];
+ *     log.forEach((type, player, card, turn) -> {
+ *         if (type == EventLog.PLAY) plays[card]++;
+ *     });
+ * }
+ * }</pre>
+ *
+ * <p><strong>Command line:</strong></p>
+ * <pre>
+ * java -cp classes parade.log.EventLogReader FILE...
+ * </pre>
+ *
+ * @author G3T7
+ * @version 1.0
+ * @see EventLogWriter
+ */
+public class EventLogReader implements Closeable {
+
+    /**
+     * Receives the records of a log, one at a time.
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+
+        /**
+         * Handles one record.
+         *
+         * @param type   the record type, one of the {@link EventLog} constants
+         * @param player the player index
+         * @param card   the card index
+         * @param turn   the turn number
+         */
+        void onRecord(int type, int player, int card, int turn);
+    }
+
+    /** Size of each mapped segment, in bytes; a multiple of {@link EventLog#RECORD_BYTES}. */
+    private static final long SEGMENT_BYTES = 1L << 30;
+
+    /** The file being read. */
+    private final FileChannel channel;
+
+    /** The mapped segments of the file, after the header. */
+    private final MappedByteBuffer[] segments;
+
+    /** The number of complete records in the file. */
+    private final long records;
+
+    /**
+     * Opens a log and maps it into memory.
+     *
+     * @param file the log file
+     * @throws IOException if the file cannot be read, or is not an event log
+     */
+    public EventLogReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            checkHeader(channel, file);
+            long bytes = channel.size() - EventLog.HEADER_BYTES;
+            this.records = bytes / EventLog.RECORD_BYTES;
+
+            long dataBytes = records * EventLog.RECORD_BYTES;
+            int numSegments = (int) ((dataBytes + SEGMENT_BYTES - 1) / SEGMENT_BYTES);
+            this.segments = new MappedByteBuffer[numSegments];
+            for (int s = 0; s < numSegments; s++) {
+                long offset = s * SEGMENT_BYTES;
+                long length = Math.min(SEGMENT_BYTES, dataBytes - offset);
+                segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, EventLog.HEADER_BYTES + offset, length);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Checks that a file starts with a valid event log header.
+     *
+     * @param channel the open file
+     * @param file    the file path, for the error message
+     * @throws IOException if the header is missing or does not match this version
+     */
+    static void checkHeader(FileChannel channel, Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(EventLog.HEADER_BYTES);
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+            // keep reading until the header is complete or the file ends
+        }
+        if (header.hasRemaining() || header.getInt(0) != EventLog.MAGIC) {
+            throw new IOException(file + " is not a Parade event log.");
+        }
+        if (header.getInt(4) != EventLog.VERSION) {
+            throw new IOException(file + " has unsupported event log version " + header.getInt(4) + ".");
+        }
+    }
+
+    /**
+     * Returns the number of records in the log.
+     *
+     * @return the record count
+     */
+    public long getRecordCount() {
+        return records;
+    }
+
+    /**
+     * Returns a record by its position in the log.
+     *
+     * @param index the position of the record, from 0
+     * @return the packed record; see {@link EventLog} for how to unpack it
+     * @throws IndexOutOfBoundsException if there is no such record
+     */
+    public int getRecord(long index) {
+        if (index < 0 || index >= records) {
+            throw new IndexOutOfBoundsException("Record " + index + " is out of range.");
+        }
+        long offset = index * EventLog.RECORD_BYTES;
+        return segments[(int) (offset / SEGMENT_BYTES)].getInt((int) (offset % SEGMENT_BYTES));
+    }
+
+    /**
+     * Passes every record to a handler, in order.
+     *
+     * @param handler the handler receiving the records
+     */
+    public void forEach(RecordHandler handler) {
+        for (MappedByteBuffer segment : segments) {
+            int limit = segment.limit();
+            for (int pos = 0; pos < limit; pos += EventLog.RECORD_BYTES) {
+                int r = segment.getInt(pos);
+                handler.onRecord(r >>> 24, (r >>> 16) & 0xFF, (r >>> 8) & 0xFF, r & 0xFF);
+            }
+        }
+    }
+
+    /**
+     * Rebuilds one of the games in the log.
+     *
+     * @param game the position of the game in the log, from 0
+     * @return a replay of the game, positioned before its first move
+     * @throws IllegalArgumentException if the log holds fewer games, or the game is incomplete
+     * @throws IOException              if the game's seed is missing from the log
+     */
+    public Replay replay(long game) throws IOException {
+        long i = 0;
+        for (long found = -1; i < records; i++) {
+            if (EventLog.type(getRecord(i)) == EventLog.GAME_START && ++found == game) {
+                break;
+            }
+        }
+        if (i == records) {
+            throw new IllegalArgumentException("The log has no game " + game + ".");
+        }
+
+        int numPlayers = EventLog.player(getRecord(i));
+        byte[] moves = new byte[Card.NUM_CARDS + numPlayers * 2];
+        int numMoves = 0;
+        long seed = 0;
+        int seedParts = 0;
+        for (i++; i < records; i++) {
+            int r = getRecord(i);
+            int type = EventLog.type(r);
+            if (type == EventLog.PLAY || type == EventLog.DISCARD) {
+                moves[numMoves++] = (byte) EventLog.card(r);
+            } else if (type == EventLog.SEED) {
+                seed |= EventLog.seedPart(r);
+                seedParts |= 1 << EventLog.player(r);
+            } else if (type == EventLog.GAME_OVER) {
+                if (seedParts != (1 << EventLog.SEED_PARTS) - 1) {
+                    throw new IOException("Game " + game + " of the log has only " + Integer.bitCount(seedParts)
+                            + " of the " + EventLog.SEED_PARTS + " parts of its seed, so it cannot be replayed.");
+                }
+                return new Replay(seed, numPlayers, Arrays.copyOf(moves, numMoves));
+            } else if (type == EventLog.GAME_START) {
+                break;
+            }
+        }
+        throw new IllegalArgumentException("Game " + game + " of the log is incomplete.");
+    }
+
+    /**
+     * Releases the file. The mapped memory is released once it is no longer reachable.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Scans one or more logs and prints a summary of the games in them.
+     *
+     * @param args the log files to read
+     * @throws IOException if a file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        long[] typeCounts = new long[256];
+        long[] reasons = new long[EndGameReason.values().length];
+        long[] totals = new long[2]; // turns, scores
+        long bytes = 0;
+
+        long start = System.nanoTime();
+        for (String arg : args) {
+            try (EventLogReader log = new EventLogReader(Path.of(arg))) {
+                bytes += log.getRecordCount() * EventLog.RECORD_BYTES;
+                log.forEach((type, player, card, turn) -> {
+                    typeCounts[type]++;
+                    if (type == EventLog.GAME_OVER) {
+                        reasons[card]++;
+                        totals[0] += turn;
+                    } else if (type == EventLog.SCORE) {
+                        totals[1] += card << 8 | turn;
+                    }
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long games = typeCounts[EventLog.GAME_OVER];
+        System.out.println("=== EVENT LOG SUMMARY ===");
+        System.out.println("Games: " + games);
+        for (int type = 0; type <= EventLog.SEED; type++) {
+            System.out.printf("%-12s %d%n", EventLog.typeName(type), typeCounts[type]);
+        }
+        if (games > 0) {
+            System.out.printf("Average turns: %.2f%n", (double) totals[0] / games);
+            System.out.printf("Average score: %.2f%n", (double) totals[1] / typeCounts[EventLog.SCORE]);
+            for (EndGameReason r : EndGameReason.values()) {
+                System.out.printf("Ended by %s: %.1f%%%n", r, 100.0 * reasons[r.ordinal()] / games);
+            }
+        }
+        System.out.printf("Scanned %.1f MB in %.3fs (%.0f MB/s)%n", bytes / 1e6, seconds, bytes / 1e6 / seconds);
+    }
+}
@@ -0,0 +1,194 @@
+package parade.log;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import parade.cards.Card;
+import parade.game.EndGameReason;
+import parade.game.GameListener;
+import parade.game.GameResult;
+import parade.game.Parade;
+import parade.players.Player;
+import parade.players.PlayerList;
+
+/**
+ * Appends the events of every game it listens to to a binary {@link EventLog}.
+ * <p>
+ * Records are gathered in a direct buffer and written to the end of a
+ * {@link FileChannel} whenever the buffer fills up, so the file is only ever
+ * written sequentially in large blocks. Call {@link #close()} when done to write
+ * the last records. A writer is not thread-safe; give each table its own file.
+ * </p>
+ *
+ * <p>
+ * Players are recorded by their index in turn order. The listener methods cannot
+ * throw {@link IOException}, so write errors are reported as
+ * {@link UncheckedIOException}s.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * try (EventLogWriter log = new EventLogWriter(Path.of("games.plog"))) {
+ *     HeadlessGame game = new HeadlessGame(playerList, new RandomSource(), log);
+ *     for (int i = 0; i < 1000; i++) {
+ *         game.play();
+ *     }
+ * }
+ * }</pre>
+ *
+ * @author G3T7
+ * @version 1.0
+ * @see EventLogReader
+ */
+public class EventLogWriter implements GameListener, Closeable {
+
+    /** Size of the write buffer, in bytes; a multiple of {@link EventLog#RECORD_BYTES}. */
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    /** The file being appended to. */
+    private final FileChannel channel;
+
+    /** Records waiting to be written. */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+    /** The latest turn reported, used for the events that do not carry one. */
+    private int lastTurn;
+
+    /**
+     * Opens a log for appending, creating it with a header if it does not exist yet.
+     *
+     * @param file the log file
+     * @throws IOException if the file cannot be opened, or is not an event log
+     */
+    public EventLogWriter(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                buffer.putInt(EventLog.MAGIC).putInt(EventLog.VERSION);
+            } else {
+                EventLogReader.checkHeader(channel, file);
+                // Drop any partial record left by an interrupted write, then append
+                long records = (channel.size() - EventLog.HEADER_BYTES) / EventLog.RECORD_BYTES;
+                channel.position(EventLog.HEADER_BYTES + records * EventLog.RECORD_BYTES);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void onGameStart(PlayerList players, Parade parade) {
+        lastTurn = 0;
+        List<Player> list = players.getPlayerList();
+        write(EventLog.GAME_START, list.size(), 0, 0);
+        for (int i = 0; i < parade.size(); i++) {
+            write(EventLog.PARADE, 0, parade.getCard(i).getIndex(), 0);
+        }
+
+        // Hands are dealt one card at a time around the table
+        int handSize = list.get(0).getHandSize();
+        for (int i = 0; i < handSize; i++) {
+            for (int p = 0; p < list.size(); p++) {
+                write(EventLog.DEAL, p, list.get(p).getHand().get(i).getIndex(), 0);
+            }
+        }
+    }
+
+    @Override
+    public void onCardPlayed(int turn, Player player, Card card) {
+        lastTurn = turn;
+        write(EventLog.PLAY, player.getSeat(), card.getIndex(), turn);
+    }
+
+    @Override
+    public void onCardsCollected(int turn, Player player, List<Card> cards) {
+        for (Card c : cards) {
+            write(EventLog.COLLECT, player.getSeat(), c.getIndex(), turn);
+        }
+    }
+
+    @Override
+    public void onCardDrawn(int turn, Player player, Card card) {
+        write(EventLog.DRAW, player.getSeat(), card.getIndex(), turn);
+    }
+
+    @Override
+    public void onFinalRound(int turn, Player player, EndGameReason reason) {
+        write(EventLog.FINAL_ROUND, player.getSeat(), reason.ordinal(), turn);
+    }
+
+    @Override
+    public void onCardDiscarded(Player player, Card card) {
+        write(EventLog.DISCARD, player.getSeat(), card.getIndex(), lastTurn);
+    }
+
+    @Override
+    public void onGameOver(GameResult result) {
+        long seed = result.getSeed();
+        for (int i = 0; i < EventLog.SEED_PARTS; i++) {
+            int part = (int) (seed >>> (16 * i));
+            write(EventLog.SEED, i, part >>> 8, part);
+        }
+
+        int numPlayers = result.getPlayers().size();
+        for (int p = 0; p < numPlayers; p++) {
+            int score = result.getScore(p);
+            write(EventLog.SCORE, p, score >>> 8, score);
+        }
+        write(EventLog.GAME_OVER, numPlayers, result.getEndGameReason().ordinal(), result.getTurns());
+    }
+
+    /**
+     * Adds a record to the buffer, writing the buffer out first if it is full.
+     *
+     * @param type   the record type
+     * @param player the player index
+     * @param card   the card index
+     * @param turn   the turn number
+     */
+    private void write(int type, int player, int card, int turn) {
+        if (!buffer.hasRemaining()) {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        buffer.putInt(EventLog.encode(type, player, card, turn));
+    }
+
+    /**
+     * Writes every buffered record to the file.
+     *
+     * @throws IOException if the records cannot be written
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Writes the remaining records and closes the file.
+     *
+     * @throws IOException if the records cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package parade.net;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import parade.game.TableScheduler;
+import util.ChannelInput;
+import util.InputSource;
+import util.RandomSource;
+
+/**
+ * A TCP server hosting many independent Parade tables at once.
+ * <p>
+ * Every accepted connection is wrapped in a {@link ChannelInput}, so all sockets are
+ * read by a single shared thread, and gets a virtual thread only until the client's
+ * {@code JOIN} line has put the player in the lobby. Players are seated in the order
+ * they join; once a table has all its remote players, its {@link RemoteTable} is
+ * handed to a {@link TableScheduler} with one carrier thread per core. A table
+ * waiting for an answer is put aside until the answer arrives, so it costs a few
+ * small objects and no thread at all, and thousands of tables can play side by side
+ * in one JVM.
+ * </p>
+ *
+ * <p>
+ * Tables can include bots, so that a single client can play against the computer.
+ * The server listens on the loopback address unless told otherwise. Each table is
+ * dealt from its own stream of the server's seed.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * GameServer server = new GameServer(InetAddress.getLoopbackAddress(), 0, 2, 1, 42L);
+ * Thread.ofVirtual().start(server::serve);
+ * // clients connect to server.getPort()
+ * }</pre>
+ *
+ * <p><strong>Command line:</strong></p>
+ * <pre>
+ * java -cp classes parade.net.GameServer [--port N] [--players P] [--bots B] [--seed S] [--timeout-ms T]
+ * </pre>
+ *
+ * @author G3T7
+ * @version 1.2
+ * @see Protocol
+ */
+public class GameServer implements Closeable {
+
+    /** Connections waiting to be accepted before new ones are refused. */
+    private static final int BACKLOG = 4096;
+
+    /** The listening socket. */
+    private final ServerSocketChannel server;
+
+    /** Runs one virtual thread per connection, until the client has joined. */
+    private final ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor();
+
+    /** Plays every table. */
+    private final TableScheduler scheduler = new TableScheduler(Runtime.getRuntime().availableProcessors());
+
+    /** Number of remote players at each table. */
+    private final int remoteSeats;
+
+    /** Number of bots at each table. */
+    private final int bots;
+
+    /** Source of each table's random stream. */
+    private final RandomSource random;
+
+    /** How long to wait for a client's answer, in milliseconds; 0 waits forever. */
+    private int timeoutMillis = 60_000;
+
+    /** Guards {@link #waiting} and {@link #tablesStarted}. */
+    private final ReentrantLock lobby = new ReentrantLock();
+
+    /** Players who joined and are waiting for their table to fill up. */
+    private final ArrayList<RemotePlayer> waiting = new ArrayList<>();
+
+    /** Number of tables started so far. */
+    private long tablesStarted;
+
+    /** Number of open connections. */
+    private final AtomicInteger connections = new AtomicInteger();
+
+    /** Number of tables playing right now. */
+    private final AtomicInteger activeTables = new AtomicInteger();
+
+    /** Number of games finished. */
+    private final LongAdder gamesPlayed = new LongAdder();
+
+    /**
+     * Opens a server socket for tables of the given size.
+     *
+     * @param address the address to listen on
+     * @param port    the port to listen on, or 0 for any free port
+     * @param players the number of players at each table, bots included
+     * @param bots    the number of bots at each table
+     * @param seed    the seed the tables are dealt from
+     * @throws IOException              if the socket cannot be opened
+     * @throws IllegalArgumentException if there are no remote seats or the table size is out of range
+     */
+    public GameServer(InetAddress address, int port, int players, int bots, long seed) throws IOException {
+        if (players < 2 || players > 6 || bots < 0 || bots >= players) {
+            throw new IllegalArgumentException("A table needs 2 to 6 players, at least one of them remote.");
+        }
+        this.remoteSeats = players - bots;
+        this.bots = bots;
+        this.random = new RandomSource(seed);
+        this.server = ServerSocketChannel.open().bind(new InetSocketAddress(address, port), BACKLOG);
+    }
+
+    /**
+     * Sets how long a client may take to answer before their move is made for them.
+     *
+     * @param timeoutMillis the timeout in milliseconds, or 0 to wait forever
+     */
+    public void setTimeoutMillis(int timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return the local port
+     */
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    /**
+     * Accepts connections until the server is closed.
+     */
+    public void serve() {
+        while (server.isOpen()) {
+            try {
+                SocketChannel channel = server.accept();
+                threads.execute(() -> handle(channel));
+            } catch (IOException e) {
+                if (server.isOpen()) {
+                    System.err.println("Accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads one client's {@code JOIN} line and seats them, starting their table if they complete it.
+     *
+     * @param channel the client's channel
+     */
+    private void handle(SocketChannel channel) {
+        connections.incrementAndGet();
+        ChannelInput input = null;
+        try {
+            input = ChannelInput.open(channel);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+            String hello = input.readLine(InputSource.deadlineIn(timeoutMillis));
+            String name = hello != null && hello.startsWith(Protocol.JOIN + " ") ? hello.substring(Protocol.JOIN.length()).trim() : "";
+            if (name.isEmpty()) {
+                input.show(Protocol.ERROR + " expected " + Protocol.JOIN + " followed by a name\n");
+                input.flush();
+                close(channel, input);
+                return;
+            }
+
+            RemotePlayer player = new RemotePlayer(name, input);
+            player.setTimeoutMillis(timeoutMillis);
+            RemoteTable table = join(player);
+            if (table == null) {
+                return;
+            }
+
+            activeTables.incrementAndGet();
+            table.start(scheduler).whenComplete((result, failure) -> {
+                activeTables.decrementAndGet();
+                gamesPlayed.increment();
+                connections.addAndGet(-remoteSeats);
+            });
+        } catch (IOException e) {
+            // the client left or stayed silent before joining a table
+            close(channel, input);
+        }
+    }
+
+    /**
+     * Closes a connection that never reached a table.
+     *
+     * @param channel the client's channel
+     * @param input   the channel's input, or {@code null} if it was not created
+     */
+    private void close(SocketChannel channel, ChannelInput input) {
+        connections.decrementAndGet();
+        try {
+            if (input != null) {
+                input.close();
+            } else {
+                channel.close();
+            }
+        } catch (IOException e) {
+            // nothing left to release
+        }
+    }
+
+    /**
+     * Puts a player in the lobby.
+     *
+     * @param player the player joining
+     * @return the table the player completed, which the caller must play, or {@code null}
+     *         if the player has to wait for others to join
+     */
+    private RemoteTable join(RemotePlayer player) {
+        lobby.lock();
+        try {
+            waiting.add(player);
+            if (waiting.size() < remoteSeats) {
+                return null;
+            }
+            RemoteTable table = RemoteTable.create(waiting, bots, random.derive(tablesStarted++));
+            waiting.clear();
+            return table;
+        } finally {
+            lobby.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of open connections.
+     *
+     * @return the connections being served
+     */
+    public int getConnections() {
+        return connections.get();
+    }
+
+    /**
+     * Returns the number of tables playing right now.
+     *
+     * @return the active tables
+     */
+    public int getActiveTables() {
+        return activeTables.get();
+    }
+
+    /**
+     * Returns the number of tables put aside until a client answers.
+     *
+     * @return the tables waiting for their players
+     */
+    public int getWaitingTables() {
+        return scheduler.getWaitingTables();
+    }
+
+    /**
+     * Returns the number of games finished so far.
+     *
+     * @return the games played
+     */
+    public long getGamesPlayed() {
+        return gamesPlayed.sum();
+    }
+
+    /**
+     * Stops accepting connections. Tables already playing run to the end.
+     */
+    @Override
+    public void close() throws IOException {
+        server.close();
+        threads.shutdown();
+    }
+
+    /**
+     * Runs a server on the loopback address and prints its load every few seconds.
+     *
+     * @param args {@code --port N}, {@code --players P}, {@code --bots B}, {@code --seed S}
+     *             and {@code --timeout-ms T}, all optional
+     * @throws IOException if the server socket cannot be opened
+     */
+    public static void main(String[] args) throws IOException {
+        int port = Protocol.DEFAULT_PORT;
+        int players = 2;
+        int bots = 0;
+        long seed = new RandomSource().getSeed();
+        int timeoutMillis = 60_000;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(args[i + 1]);
+                case "--players" -> players = Integer.parseInt(args[i + 1]);
+                case "--bots" -> bots = Integer.parseInt(args[i + 1]);
+                case "--seed" -> seed = Long.parseLong(args[i + 1]);
+                case "--timeout-ms" -> timeoutMillis = Integer.parseInt(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        GameServer server = new GameServer(InetAddress.getLoopbackAddress(), port, players, bots, seed);
+        server.setTimeoutMillis(timeoutMillis);
+        System.out.printf("Serving tables of %d (%d bots) on port %d, seed %d%n", players, bots, server.getPort(), seed);
+
+        Thread.ofPlatform().daemon().start(() -> {
+            Runtime runtime = Runtime.getRuntime();
+            while (true) {
+                try {
+                    Thread.sleep(5000);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long heapMb = (runtime.totalMemory() - runtime.freeMemory()) >> 20;
+                System.out.printf("%d connections, %d tables playing (%d waiting), %d games played, %d MB heap%n",
+                        server.getConnections(), server.getActiveTables(), server.getWaitingTables(),
+                        server.getGamesPlayed(), heapMb);
+            }
+        });
+        server.serve();
+    }
+}
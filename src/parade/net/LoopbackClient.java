@@ -0,0 +1,154 @@
+package parade.net;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import util.ChannelInput;
+import util.InputSource;
+import util.RandomSource;
+
+/**
+ * Loads a {@link GameServer} with many simulated clients over the loopback address.
+ * <p>
+ * Each client runs on its own virtual thread and reads through a {@link ChannelInput},
+ * like the server: it connects, joins under a numbered name and answers every {@code CHOOSE} with a random option after an optional
+ * thinking time. The thinking time keeps games running long enough for all clients
+ * to be seated at once, which measures how many tables the server can hold at the
+ * same time rather than how fast it plays them.
+ * </p>
+ *
+ * <p><strong>Command line:</strong></p>
+ * <pre>
+ * java -cp classes parade.net.LoopbackClient [--port N] [--clients C] [--think-ms T] [--seed S]
+ * </pre>
+ *
+ * @author G3T7
+ * @version 1.1
+ */
+public class LoopbackClient {
+
+    /** The port of the server. */
+    private final int port;
+
+    /** Pause before each answer, in milliseconds. */
+    private final long thinkMillis;
+
+    /** Number of clients in a game right now. */
+    private final AtomicInteger playing = new AtomicInteger();
+
+    /** Highest number of clients in a game at the same time. */
+    private final AtomicInteger peakPlaying = new AtomicInteger();
+
+    /** Number of games finished. */
+    private final LongAdder finished = new LongAdder();
+
+    /** Number of clients that failed. */
+    private final LongAdder failed = new LongAdder();
+
+    /**
+     * Constructs a load generator for a server on the loopback address.
+     *
+     * @param port        the port of the server
+     * @param thinkMillis the pause before each answer, in milliseconds
+     */
+    public LoopbackClient(int port, long thinkMillis) {
+        this.port = port;
+        this.thinkMillis = thinkMillis;
+    }
+
+    /**
+     * Runs the given number of clients to the end of their games.
+     *
+     * @param clients the number of clients
+     * @param random  the source of every client's choices
+     */
+    public void run(int clients, RandomSource random) {
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                int id = i;
+                RandomSource choices = random.derive(i);
+                threads.execute(() -> play(id, choices));
+            }
+        }
+    }
+
+    /**
+     * Plays one client's game.
+     *
+     * @param id      the client's number
+     * @param choices the source of the client's choices
+     */
+    private void play(int id, RandomSource choices) {
+        boolean started = false;
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+             ChannelInput connection = ChannelInput.open(channel)) {
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            connection.show(Protocol.JOIN + " Client" + id + "\n");
+            connection.flush();
+
+            String line;
+            while ((line = connection.readLine(InputSource.NO_DEADLINE)) != null) {
+                if (line.startsWith(Protocol.START)) {
+                    started = true;
+                    peakPlaying.accumulateAndGet(playing.incrementAndGet(), Math::max);
+                } else if (line.startsWith(Protocol.CHOOSE)) {
+                    int options = line.split(" ").length - 2;
+                    if (thinkMillis > 0) {
+                        Thread.sleep(thinkMillis);
+                    }
+                    connection.show((1 + choices.nextInt(options)) + "\n");
+                    connection.flush();
+                } else if (line.startsWith(Protocol.OVER)) {
+                    finished.increment();
+                    return;
+                }
+            }
+            failed.increment();
+        } catch (IOException e) {
+            failed.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (started) {
+                playing.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Connects the given number of clients to a local server and prints how it went.
+     *
+     * @param args {@code --port N}, {@code --clients C}, {@code --think-ms T} and {@code --seed S}, all optional
+     */
+    public static void main(String[] args) {
+        int port = Protocol.DEFAULT_PORT;
+        int clients = 1000;
+        long thinkMillis = 0;
+        long seed = new RandomSource().getSeed();
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(args[i + 1]);
+                case "--clients" -> clients = Integer.parseInt(args[i + 1]);
+                case "--think-ms" -> thinkMillis = Long.parseLong(args[i + 1]);
+                case "--seed" -> seed = Long.parseLong(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        LoopbackClient client = new LoopbackClient(port, thinkMillis);
+        long start = System.nanoTime();
+        client.run(clients, new RandomSource(seed));
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d games finished, %d clients failed, at most %d clients playing at once, in %.2fs%n",
+                client.finished.sum(), client.failed.sum(), client.peakPlaying.get(), seconds);
+    }
+}
@@ -0,0 +1,113 @@
+package parade.net;
+
+import parade.cards.Card;
+import util.ChannelInput;
+
+/**
+ * The text protocol spoken between the {@link GameServer} and its clients.
+ * <p>
+ * Every message is one line of ASCII text, made of a keyword and space-separated
+ * arguments. Cards are written as their colour followed by their number, such as
+ * {@code RED5} or {@code PURPLE10}, and players are referred to by their seat, their
+ * index in turn order.
+ * </p>
+ *
+ * <table>
+ *   <caption>Messages</caption>
+ *   <tr><th>From</th><th>Message</th><th>Meaning</th></tr>
+ *   <tr><td>client</td><td>{@code JOIN name}</td><td>first line: join the next table under this name</td></tr>
+ *   <tr><td>server</td><td>{@code START seat name0 name1 ...}</td><td>the game has started; your seat and every name in turn order</td></tr>
+ *   <tr><td>server</td><td>{@code HAND card ...}</td><td>your starting hand</td></tr>
+ *   <tr><td>server</td><td>{@code PARADE card ...}</td><td>the starting parade</td></tr>
+ *   <tr><td>server</td><td>{@code PLAY seat card}</td><td>a player played a card</td></tr>
+ *   <tr><td>server</td><td>{@code COLLECT seat card ...}</td><td>a player collected cards, possibly none</td></tr>
+ *   <tr><td>server</td><td>{@code DRAW card}</td><td>you drew a card</td></tr>
+ *   <tr><td>server</td><td>{@code FINAL seat reason}</td><td>the final round was triggered</td></tr>
+ *   <tr><td>server</td><td>{@code CHOOSE PLAY card ...} or {@code CHOOSE DISCARD card ...}</td><td>your move: answer with an option from 1</td></tr>
+ *   <tr><td>client</td><td>{@code 1} to {@code 5}</td><td>the option chosen</td></tr>
+ *   <tr><td>server</td><td>{@code ERROR text}</td><td>the answer was not valid; answer again</td></tr>
+ *   <tr><td>server</td><td>{@code OVER score0 score1 ...}</td><td>the final scores in turn order; the connection is then closed</td></tr>
+ * </table>
+ *
+ * @author G3T7
+ * @version 1.0
+ */
+public final class Protocol {
+
+    /** The port the server listens on by default. */
+    public static final int DEFAULT_PORT = 7102;
+
+    /** The longest line either side accepts, in bytes. */
+    public static final int MAX_LINE = ChannelInput.MAX_LINE;
+
+    /** Client: joins a table. */
+    public static final String JOIN = "JOIN";
+
+    /** Server: the game has started. */
+    public static final String START = "START";
+
+    /** Server: the player's starting hand. */
+    public static final String HAND = "HAND";
+
+    /** Server: the starting parade. */
+    public static final String PARADE = "PARADE";
+
+    /** Server: a card was played. */
+    public static final String PLAY = "PLAY";
+
+    /** Server: cards were collected. */
+    public static final String COLLECT = "COLLECT";
+
+    /** Server: the player drew a card. */
+    public static final String DRAW = "DRAW";
+
+    /** Server: the final round was triggered. */
+    public static final String FINAL = "FINAL";
+
+    /** Server: the player must choose a card. */
+    public static final String CHOOSE = "CHOOSE";
+
+    /** Server: the last answer was not valid. */
+    public static final String ERROR = "ERROR";
+
+    /** Server: the game is over. */
+    public static final String OVER = "OVER";
+
+    /** The wire name of every card, by index. */
+    private static final String[] CARD_NAMES = new String[Card.NUM_CARDS];
+
+    static {
+        for (int i = 0; i < Card.NUM_CARDS; i++) {
+            CARD_NAMES[i] = Card.colourOf(i).name() + Card.numberOf(i);
+        }
+    }
+
+    private Protocol() {
+    }
+
+    /**
+     * Returns the wire name of a card.
+     *
+     * @param card the card
+     * @return the card's colour followed by its number, such as {@code RED5}
+     */
+    public static String card(Card card) {
+        return CARD_NAMES[card.getIndex()];
+    }
+
+    /**
+     * Parses the wire name of a card.
+     *
+     * @param name the card's colour followed by its number
+     * @return the card
+     * @throws IllegalArgumentException if {@code name} is not a card
+     */
+    public static Card parseCard(String name) {
+        for (int i = 0; i < Card.NUM_CARDS; i++) {
+            if (CARD_NAMES[i].equals(name)) {
+                return Card.of(i);
+            }
+        }
+        throw new IllegalArgumentException("Not a card: " + name);
+    }
+}
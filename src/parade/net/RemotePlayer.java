@@ -0,0 +1,53 @@
+package parade.net;
+
+import java.util.List;
+
+import parade.cards.Card;
+import parade.players.HumanPlayer;
+import util.ChannelInput;
+
+/**
+ * A human player who chooses their cards from a client connected to the {@link GameServer}.
+ * <p>
+ * A remote player is a {@link HumanPlayer} whose input source is the client's
+ * {@link ChannelInput}. Only the wording changes: instead of a numbered list, the
+ * options are sent as one {@code CHOOSE} line with the cards in hand, and an answer
+ * that is not an option is met with an {@code ERROR} line. The client answers with
+ * the option number, as at the console.
+ * </p>
+ *
+ * @author G3T7
+ * @version 1.2
+ */
+public class RemotePlayer extends HumanPlayer {
+
+    /**
+     * Constructs a remote player.
+     *
+     * @param name  the player's name
+     * @param input the client's connection
+     */
+    public RemotePlayer(String name, ChannelInput input) {
+        super(name, input);
+    }
+
+    @Override
+    protected void showOptions(List<Card> hand) {
+        StringBuilder prompt = new StringBuilder(Protocol.MAX_LINE).append(Protocol.CHOOSE)
+                .append(getTable().isDiscardPhase() ? " DISCARD" : " PLAY");
+        for (Card c : hand) {
+            prompt.append(' ').append(Protocol.card(c));
+        }
+        getInput().show(prompt.append('\n').toString());
+    }
+
+    @Override
+    protected String selectionPrompt() {
+        return "";
+    }
+
+    @Override
+    protected String errorMessage() {
+        return Protocol.ERROR + " expected a number from %d to %d\n";
+    }
+}
@@ -0,0 +1,188 @@
+package parade.net;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import parade.cards.Card;
+import parade.game.EndGameReason;
+import parade.game.GameListener;
+import parade.game.GameResult;
+import parade.game.Parade;
+import parade.game.Table;
+import parade.game.TableScheduler;
+import parade.players.BotPlayer;
+import parade.players.Player;
+import parade.players.PlayerList;
+import util.RandomSource;
+
+/**
+ * One table of the {@link GameServer}: a {@link Table} whose events are sent to its clients.
+ * <p>
+ * The table is stepped by a {@link TableScheduler}, and is put aside whenever it
+ * waits for a client's answer. Every event of the game
+ * is turned into a {@link Protocol} line and queued on the input source of each remote
+ * player; private events, such as the cards drawn, only go to their owner. Queued
+ * lines leave when a player is asked for a card and when the game is over, so a turn
+ * costs each client a single write.
+ * </p>
+ *
+ * <p>
+ * A table holds nothing but its players, its game and a few small buffers per
+ * connection, so its memory stays the same however long it runs.
+ * </p>
+ *
+ * @author G3T7
+ * @version 1.3
+ */
+public class RemoteTable implements GameListener {
+
+    /** The remote players at the table. */
+    private final List<RemotePlayer> remotes;
+
+    /** The game being played, set by {@link #create(List, int, RandomSource)} once the table exists. */
+    private Table game;
+
+    /** The seed the game is dealt from. */
+    private long seed;
+
+    /** The players in turn order, once the game has started. */
+    private PlayerList players;
+
+    /** Reused to build each line. */
+    private final StringBuilder line = new StringBuilder(Protocol.MAX_LINE);
+
+    /**
+     * Constructs a table with no game yet.
+     *
+     * @param remotes the remote players
+     */
+    private RemoteTable(List<RemotePlayer> remotes) {
+        this.remotes = List.copyOf(remotes);
+    }
+
+    /**
+     * Seats remote players, and bots in the remaining seats, at a new table.
+     * <p>
+     * The game is built once the table exists, since the table listens to it.
+     * </p>
+     *
+     * @param remotes the remote players
+     * @param bots    the number of {@link BotPlayer}s to add
+     * @param random  the random source for the game and the bots
+     * @return the new table
+     */
+    public static RemoteTable create(List<RemotePlayer> remotes, int bots, RandomSource random) {
+        RemoteTable table = new RemoteTable(remotes);
+        ArrayList<Player> seats = new ArrayList<>(remotes);
+        for (int i = 0; i < bots; i++) {
+            seats.add(new BotPlayer("Bot " + (i + 1), random.derive(i)));
+        }
+        table.game = new Table(new PlayerList(seats, random), random, table);
+        table.seed = table.game.nextSeed();
+        return table;
+    }
+
+    /**
+     * Starts the game on a scheduler. Once it is over, the final scores are sent and
+     * every remote player's connection is closed.
+     *
+     * @param scheduler the scheduler to play on
+     * @return the result of the game, once it is over
+     */
+    public CompletableFuture<GameResult> start(TableScheduler scheduler) {
+        return scheduler.submit(game, seed).whenComplete((result, failure) -> {
+            for (RemotePlayer r : remotes) {
+                r.getInput().flush();
+                r.getInput().close();
+            }
+        });
+    }
+
+    @Override
+    public void onGameStart(PlayerList players, Parade parade) {
+        this.players = players;
+
+        line.setLength(0);
+        for (Player p : players.getPlayerList()) {
+            line.append(' ').append(p.getName().replace(' ', '_'));
+        }
+        String names = line.toString();
+
+        line.setLength(0);
+        line.append(Protocol.PARADE);
+        for (Card c : parade.getParade()) {
+            line.append(' ').append(Protocol.card(c));
+        }
+        String paradeLine = line.toString();
+
+        for (RemotePlayer r : remotes) {
+            send(r, Protocol.START + " " + r.getSeat() + names);
+            line.setLength(0);
+            line.append(Protocol.HAND);
+            for (Card card : r.getHand()) {
+                line.append(' ').append(Protocol.card(card));
+            }
+            send(r, line.toString());
+            send(r, paradeLine);
+        }
+    }
+
+    @Override
+    public void onCardPlayed(int turn, Player player, Card card) {
+        broadcast(Protocol.PLAY + " " + player.getSeat() + " " + Protocol.card(card));
+    }
+
+    @Override
+    public void onCardsCollected(int turn, Player player, List<Card> cards) {
+        line.setLength(0);
+        line.append(Protocol.COLLECT).append(' ').append(player.getSeat());
+        for (Card c : cards) {
+            line.append(' ').append(Protocol.card(c));
+        }
+        broadcast(line.toString());
+    }
+
+    @Override
+    public void onCardDrawn(int turn, Player player, Card card) {
+        if (player instanceof RemotePlayer r) {
+            send(r, Protocol.DRAW + " " + Protocol.card(card));
+        }
+    }
+
+    @Override
+    public void onFinalRound(int turn, Player player, EndGameReason reason) {
+        broadcast(Protocol.FINAL + " " + player.getSeat() + " " + reason);
+    }
+
+    @Override
+    public void onGameOver(GameResult result) {
+        line.setLength(0);
+        line.append(Protocol.OVER);
+        for (int i = 0; i < players.getNumberOfPlayers(); i++) {
+            line.append(' ').append(result.getScore(i));
+        }
+        broadcast(line.toString());
+    }
+
+    /**
+     * Queues a line for every remote player.
+     *
+     * @param message the line
+     */
+    private void broadcast(String message) {
+        for (RemotePlayer r : remotes) {
+            send(r, message);
+        }
+    }
+
+    /**
+     * Queues a line for one remote player.
+     *
+     * @param player  the player
+     * @param message the line, without a line ending
+     */
+    private static void send(RemotePlayer player, String message) {
+        player.getInput().show(message + "\n");
+    }
+}
@@ -0,0 +1,247 @@
+package parade.players;
+
+import java.util.List;
+
+import parade.cards.Card;
+import parade.cards.CardSet;
+import parade.game.GameListener;
+import parade.game.Parade;
+import parade.game.TableView;
+import util.RandomSource;
+
+/**
+ * Keeps track of the cards a player has not seen, as the game goes on.
+ * <p>
+ * Everything but the deck and the other players' hands is public: the parade, every
+ * collection and every card played. A card is <em>unseen</em> by a player until it
+ * shows up in one of these or in their own hand. The tracker starts each game with
+ * every card unseen except the parade and the player's hand, and crosses cards off as
+ * they are played, collected or drawn by the player, in constant time per card. It
+ * keeps the unseen cards as a {@link CardSet} and counts how many of each colour are
+ * left.
+ * </p>
+ *
+ * <p>
+ * Cards discarded at the end of the game are put aside face down, so another player's
+ * discards stay unseen. The cards they keep are collected in the open and are crossed
+ * off then.
+ * </p>
+ *
+ * <p>
+ * The tracker learns about the game as a {@link GameListener}; tables pass their
+ * events to any seated player who is one, and such a player passes them on. If it
+ * missed events, for example because its owner was asked for a card by something
+ * other than a table, {@link #sync(TableView)} rebuilds it from what is on the table.
+ * It is meant to be used from the table's thread only.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * tracker.sync(getTable());
+ * byte[] pool = new byte[tracker.getUnseenCount()];
+ * tracker.copyUnseen(pool);
+ * random.shuffle(pool, pool.length); // one sampled deal of the hidden cards
+ * }</pre>
+ *
+ * @author G3T7
+ * @version 1.0
+ * @see MctsBotPlayer
+ */
+public final class BeliefTracker implements GameListener {
+
+    /** The player whose view is tracked. */
+    private final Player owner;
+
+    /** The cards the owner has not seen. */
+    private final CardSet unseen = new CardSet();
+
+    /** The number of unseen cards of each colour. */
+    private final int[] remaining = new int[Card.NUM_COLOURS];
+
+    /** The number of cards the owner has discarded, which are seen but no longer on the table. */
+    private int ownDiscards;
+
+    /** The table of the game being tracked, or {@code null} before the first game. */
+    private TableView table;
+
+    /**
+     * Constructs a tracker for a player. It tracks nothing until a game starts or it is synced.
+     *
+     * @param owner the player whose view is tracked
+     */
+    public BeliefTracker(Player owner) {
+        this.owner = owner;
+    }
+
+    @Override
+    public void onGameStart(PlayerList players, Parade parade) {
+        reset();
+        table = owner.getTable();
+        for (int i = 0; i < parade.size(); i++) {
+            see(parade.getCard(i).getIndex());
+        }
+        seeHand();
+    }
+
+    @Override
+    public void onCardPlayed(int turn, Player player, Card card) {
+        // Only new if another player played it
+        see(card.getIndex());
+    }
+
+    @Override
+    public void onCardsCollected(int turn, Player player, List<Card> cards) {
+        // Only the hands collected at the end of the game are new
+        for (int i = 0; i < cards.size(); i++) {
+            see(cards.get(i).getIndex());
+        }
+    }
+
+    @Override
+    public void onCardDrawn(int turn, Player player, Card card) {
+        // Other players draw in secret
+        if (player == owner) {
+            see(card.getIndex());
+        }
+    }
+
+    @Override
+    public void onCardDiscarded(Player player, Card card) {
+        if (player == owner) {
+            ownDiscards++;
+        }
+    }
+
+    /**
+     * Makes sure the tracker matches the owner's table, rebuilding it if it missed events.
+     * <p>
+     * A tracker that followed the game through its events is left as it is; the check
+     * only counts the cards in view. A rebuilt tracker cannot know which cards the
+     * owner discarded already, and counts them as unseen.
+     * </p>
+     *
+     * @param table the table the owner is seated at
+     */
+    public void sync(TableView table) {
+        if (table == this.table && getUnseenCount() == Card.NUM_CARDS - countSeen(table)) {
+            return;
+        }
+
+        reset();
+        this.table = table;
+        Parade parade = table.getParade();
+        for (int i = 0; i < parade.size(); i++) {
+            see(parade.getCard(i).getIndex());
+        }
+        for (Player player : table.getPlayerList().getPlayerList()) {
+            CardSet collected = player.getCollectedSet();
+            for (int c = 0; c < Card.NUM_CARDS; c++) {
+                if (collected.contains(c)) {
+                    see(c);
+                }
+            }
+        }
+        seeHand();
+    }
+
+    /**
+     * Returns the number of cards the owner has not seen.
+     *
+     * @return the size of the unseen set
+     */
+    public int getUnseenCount() {
+        return unseen.size();
+    }
+
+    /**
+     * Returns the number of unseen cards of a colour.
+     *
+     * @param colour the {@link parade.cards.Colour#ordinal() ordinal} of the colour
+     * @return the unseen cards of that colour, from 0 to 11
+     */
+    public int getRemaining(int colour) {
+        return remaining[colour];
+    }
+
+    /**
+     * Checks whether the owner has not seen a card.
+     *
+     * @param card the card index
+     * @return {@code true} if the card is unseen
+     */
+    public boolean isUnseen(int card) {
+        return unseen.contains(card);
+    }
+
+    /**
+     * Writes the unseen cards, in order of their indices, to the start of an array.
+     * <p>
+     * Shuffling them with {@link RandomSource#shuffle(byte[], int)} and handing them
+     * to {@link parade.game.GameState#fillHidden(byte[])} deals one consistent sample
+     * of the hidden cards.
+     * </p>
+     *
+     * @param pool receives the card indices; must hold at least {@link #getUnseenCount()} of them
+     * @return the number of cards written
+     */
+    public int copyUnseen(byte[] pool) {
+        int k = 0;
+        for (int colour = 0; colour < Card.NUM_COLOURS; colour++) {
+            int first = colour * Card.NUMBERS_PER_COLOUR;
+            for (int lane = unseen.lane(colour); lane != 0; lane &= lane - 1) {
+                pool[k++] = (byte) (first + Integer.numberOfTrailingZeros(lane));
+            }
+        }
+        return k;
+    }
+
+    /**
+     * Marks every card as unseen.
+     */
+    private void reset() {
+        ownDiscards = 0;
+        unseen.clear();
+        for (int c = 0; c < Card.NUM_CARDS; c++) {
+            unseen.add(c);
+        }
+        for (int colour = 0; colour < Card.NUM_COLOURS; colour++) {
+            remaining[colour] = Card.NUMBERS_PER_COLOUR;
+        }
+    }
+
+    /**
+     * Crosses off the cards in the owner's hand.
+     */
+    private void seeHand() {
+        List<Card> hand = owner.getHand();
+        for (int i = 0; i < hand.size(); i++) {
+            see(hand.get(i).getIndex());
+        }
+    }
+
+    /**
+     * Crosses off a card, if it was still unseen.
+     *
+     * @param card the card index
+     */
+    private void see(int card) {
+        if (unseen.contains(card)) {
+            unseen.remove(card);
+            remaining[card / Card.NUMBERS_PER_COLOUR]--;
+        }
+    }
+
+    /**
+     * Counts the cards the owner has seen: the parade, every collection, their hand and their discards.
+     *
+     * @param table the table
+     * @return the number of cards in view
+     */
+    private int countSeen(TableView table) {
+        int seen = table.getParade().size() + owner.getHandSize() + ownDiscards;
+        for (Player player : table.getPlayerList().getPlayerList()) {
+            seen += player.getCollectedSet().size();
+        }
+        return seen;
+    }
+}
@@ -1,14 +1,15 @@
 package parade.players;
 
-import java.util.Random;
-
 import parade.cards.Card;
+import parade.game.TableView;
+import util.RandomSource;
 
 /**
  * Represents a bot player in the Parade game.
  * <p>
  * A {@code BotPlayer} is a non-human player that makes automated moves.
  * This bot uses a simple random selection strategy to choose cards from its hand.
+ * In the final discard phase it uses {@link DiscardSolver} to pick its discards exactly.
  * It inherits from the {@link Player} class and overrides the {@code chooseCard()} method.
  * </p>
  *
@@ -25,27 +26,45 @@ import parade.cards.Card;
  */
 public class BotPlayer extends Player {
 
+    /** The random source used for the bot's decisions. */
+    private final RandomSource random;
+
     /**
-     * Constructs a new {@code BotPlayer} with the specified name.
+     * Constructs a new {@code BotPlayer} with the specified name and a randomly seeded source.
      *
      * @param name the name of the bot player
      */
     public BotPlayer(String name) {
+        this(name, new RandomSource());
+    }
+
+    /**
+     * Constructs a new {@code BotPlayer} with the specified name and random source.
+     *
+     * @param name   the name of the bot player
+     * @param random the random source used for the bot's decisions
+     */
+    public BotPlayer(String name, RandomSource random) {
         super(name);
+        this.random = random;
     }
 
     /**
      * Selects a random card from the bot's hand.
      * <p>
      * The method randomly selects an index between 0 and the hand size,
-     * and returns the card at that index.
+     * and returns the card at that index. During the final discard phase,
+     * the best card to discard is chosen by {@link DiscardSolver} instead.
      * </p>
      *
-     * @return the randomly selected {@link Card} from the bot's hand
+     * @return the selected {@link Card} from the bot's hand
      */
     @Override
     public Card chooseCard() {
-        Random random = new Random();
+        TableView table = this.getTable();
+        if (table != null && table.isDiscardPhase()) {
+            return DiscardSolver.chooseDiscard(this, table);
+        }
         return this.getHand().get(random.nextInt(this.getHandSize()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,311 @@
+package parade.players;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import parade.cards.Card;
+import parade.game.ScoreBoard;
+import parade.game.ScoreCalculator;
+import parade.game.TableView;
+
+/**
+ * Solves the final discard phase exactly.
+ * <p>
+ * At the end of the game each player discards two cards and collects the rest of
+ * their hand. A hand of four cards leaves only six ways to choose the two cards that
+ * are kept, so the solver scores every one of them with the same rules as
+ * {@link ScoreCalculator}, including the two-player majority rule, and returns a
+ * card outside the best pair. Only the colours of the kept cards can change, so each
+ * choice starts from the scores on the table's {@link ScoreBoard} and re-scores those
+ * colours alone.
+ * </p>
+ *
+ * <p>
+ * A choice is better when it leaves the player with a smaller lead over the best of
+ * the other players, since the lowest score wins; on a tie, the lower score of the
+ * player is better. The collections of the other players are taken as they are now,
+ * so players who have not discarded yet are scored without their last cards.
+ * </p>
+ *
+ * <p>
+ * The choices are always tried in the same order and only a strictly better one
+ * replaces the best so far. The solver also remembers the other card of the chosen
+ * pair, and hands it out when the same player asks again for their second discard.
+ * If that card is not available, for example because the table moved to another
+ * thread, the position is solved again and the same pair is found.
+ * </p>
+ *
+ * @author G3T7
+ * @version 1.3
+ * @see BotPlayer
+ */
+public final class DiscardSolver {
+
+    /** Number of cards each player collects from their hand at the end of the game. */
+    public static final int KEPT_CARDS = 2;
+
+    /** Buffers reused by every call on the same thread, so that bots discard without allocating. */
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private DiscardSolver() {
+    }
+
+    /**
+     * Chooses the next card for a player to discard at the end of the game.
+     *
+     * @param me    the player who is discarding
+     * @param table the table the player is seated at
+     * @return the card from the player's hand to discard
+     */
+    public static Card chooseDiscard(Player me, TableView table) {
+        Scratch scratch = SCRATCH.get();
+        ArrayList<Card> hand = me.getHand();
+        Card next = scratch.next;
+        if (next != null && scratch.player == me && scratch.table == table && scratch.handSize == hand.size()) {
+            scratch.forget();
+            if (hand.contains(next)) {
+                return next;
+            }
+        }
+
+        ScoreBoard board = table.getScoreBoard();
+        int numPlayers = board.getNumberOfPlayers();
+        byte[] counts = scratch.counts = fit(scratch.counts, numPlayers * Card.NUM_COLOURS);
+        byte[] sums = scratch.sums = fit(scratch.sums, numPlayers * Card.NUM_COLOURS);
+        int[] scores = scratch.boardScores = fit(scratch.boardScores, numPlayers);
+        board.copyInto(counts, sums);
+        for (int p = 0; p < numPlayers; p++) {
+            scores[p] = board.getScore(p);
+        }
+
+        int[] cards = scratch.cards = fit(scratch.cards, hand.size());
+        for (int i = 0; i < hand.size(); i++) {
+            cards[i] = hand.get(i).getIndex();
+        }
+
+        int keep = bestKeep(counts, sums, scores, numPlayers, me.getSeat(), cards, hand.size());
+        int discards = ~keep & ((1 << hand.size()) - 1);
+        Card discard = hand.get(Integer.numberOfTrailingZeros(discards));
+        discards &= discards - 1;
+        if (discards != 0) {
+            scratch.player = me;
+            scratch.table = table;
+            scratch.handSize = hand.size() - 1;
+            scratch.next = hand.get(Integer.numberOfTrailingZeros(discards));
+        }
+        return discard;
+    }
+
+    /**
+     * Finds the best cards for a player to keep, from raw per-colour counts and sums.
+     * <p>
+     * The arrays follow the layout of
+     * {@link ScoreCalculator#calculateScores(byte[], byte[], int, int[])} and are
+     * left unchanged. {@code scores} must hold the scores those counts and sums give,
+     * as read from a {@link ScoreBoard}. Each choice only re-scores the colours of the
+     * kept cards and adjusts those scores by the difference. Kept cards of different
+     * colours change the scores independently, so the change for each card is worked out
+     * once and shared by every pair it is part of.
+     * If the hand holds {@link #KEPT_CARDS} cards or fewer, all of them are kept.
+     * </p>
+     *
+     * @param counts     the number of collected cards of each colour per player
+     * @param sums       the total of the collected card numbers of each colour per player
+     * @param scores     every player's score before the kept cards are collected
+     * @param numPlayers the number of players
+     * @param me         the index of the discarding player
+     * @param hand       the card indices in the player's hand
+     * @param handSize   the number of cards in the hand
+     * @return a bitmask with bit {@code i} set if {@code hand[i]} should be kept
+     */
+    public static int bestKeep(byte[] counts, byte[] sums, int[] scores, int numPlayers, int me,
+                               int[] hand, int handSize) {
+        int all = (1 << handSize) - 1;
+        if (handSize <= KEPT_CARDS) {
+            return all;
+        }
+
+        // What keeping each card alone changes in every player's score
+        Scratch scratch = SCRATCH.get();
+        int[] deltas = scratch.deltas = fit(scratch.deltas, handSize * numPlayers);
+        int[] trial = scratch.trialScores = fit(scratch.trialScores, numPlayers);
+        for (int i = 0; i < handSize; i++) {
+            colourDelta(counts, sums, numPlayers, me, hand[i], -1, deltas, i * numPlayers);
+        }
+
+        int bestMask = all;
+        int bestLead = Integer.MAX_VALUE;
+        int bestScore = Integer.MAX_VALUE;
+        // Pairs are tried in increasing order of their bitmask: (0, 1), (0, 2), (1, 2), (0, 3), ...
+        for (int j = 1; j < handSize; j++) {
+            for (int i = 0; i < j; i++) {
+                if (hand[i] / Card.NUMBERS_PER_COLOUR != hand[j] / Card.NUMBERS_PER_COLOUR) {
+                    // Different colours change independently
+                    for (int p = 0; p < numPlayers; p++) {
+                        trial[p] = scores[p] + deltas[i * numPlayers + p] + deltas[j * numPlayers + p];
+                    }
+                } else {
+                    colourDelta(counts, sums, numPlayers, me, hand[i], hand[j], trial, 0);
+                    for (int p = 0; p < numPlayers; p++) {
+                        trial[p] += scores[p];
+                    }
+                }
+
+                int bestOther = Integer.MAX_VALUE;
+                for (int p = 0; p < numPlayers; p++) {
+                    if (p != me) bestOther = Math.min(bestOther, trial[p]);
+                }
+                int myScore = trial[me];
+                int lead = myScore - bestOther;
+                if (lead < bestLead || (lead == bestLead && myScore < bestScore)) {
+                    bestLead = lead;
+                    bestScore = myScore;
+                    bestMask = (1 << i) | (1 << j);
+                }
+            }
+        }
+        return bestMask;
+    }
+
+    /**
+     * Works out how every player's score changes when a player collects one or two cards of the same colour.
+     * <p>
+     * With two players the cards are added to {@code counts} while the majority of
+     * their colour is found again, and taken back out before returning.
+     * </p>
+     *
+     * @param counts     the number of collected cards of each colour per player
+     * @param sums       the total of the collected card numbers of each colour per player
+     * @param numPlayers the number of players
+     * @param me         the index of the collecting player
+     * @param first      the {@link Card#getIndex() index} of the first card
+     * @param second     the index of a second card of the same colour, or {@code -1} for none
+     * @param out        receives the change in each player's score
+     * @param offset     the position in {@code out} of player 0's change
+     */
+    private static void colourDelta(byte[] counts, byte[] sums, int numPlayers, int me, int first, int second,
+                                    int[] out, int offset) {
+        int colour = first / Card.NUMBERS_PER_COLOUR;
+        int at = me * Card.NUM_COLOURS + colour;
+        int cards = second < 0 ? 1 : 2;
+        int added = Card.numberOf(first) + (second < 0 ? 0 : Card.numberOf(second));
+        int before;
+        int after;
+        if (numPlayers > 2) {
+            // The other players' counts do not change, so their most cards are found once
+            int othersMax = 0;
+            for (int p = 0; p < numPlayers; p++) {
+                if (p != me) othersMax = Math.max(othersMax, counts[p * Card.NUM_COLOURS + colour]);
+            }
+            int others = 0;
+            for (int p = 0; p < numPlayers; p++) {
+                if (p != me) others |= (counts[p * Card.NUM_COLOURS + colour] == othersMax ? 1 : 0) << p;
+            }
+            if (othersMax == 0) others = 0;
+            before = majority(others, othersMax, me, counts[at]);
+            after = majority(others, othersMax, me, counts[at] + cards);
+        } else {
+            before = ScoreCalculator.findMaxPlayers(counts, colour, numPlayers);
+            counts[at] += (byte) cards;
+            after = ScoreCalculator.findMaxPlayers(counts, colour, numPlayers);
+            counts[at] -= (byte) cards;
+        }
+
+        // The collecting player's own score changes, but the others only change if they gain or lose the majority
+        int oldScore = ((before >>> me) & 1) != 0 ? counts[at] : sums[at];
+        int newScore = ((after >>> me) & 1) != 0 ? counts[at] + cards : sums[at] + added;
+        Arrays.fill(out, offset, offset + numPlayers, 0);
+        out[offset + me] = newScore - oldScore;
+        for (int flipped = (before ^ after) & ~(1 << me); flipped != 0; flipped &= flipped - 1) {
+            int p = Integer.numberOfTrailingZeros(flipped);
+            int i = p * Card.NUM_COLOURS + colour;
+            int difference = sums[i] - counts[i];
+            out[offset + p] = ((before >>> p) & 1) != 0 ? difference : -difference;
+        }
+    }
+
+    /**
+     * Finds the players with the most cards of a colour in games of three or more players, as
+     * {@link ScoreCalculator#findMaxPlayers(byte[], int, int)} would.
+     *
+     * @param others    a bitmask of the other players with the most cards of the colour
+     * @param othersMax the number of cards those players have, or {@code 0} if none do
+     * @param me        the index of the collecting player
+     * @param mine      the number of cards of the colour the collecting player has
+     * @return a bitmask with bit {@code p} set for each player {@code p} with the most cards
+     */
+    private static int majority(int others, int othersMax, int me, int mine) {
+        if (mine > othersMax) return 1 << me;
+        if (mine == othersMax && mine != 0) return others | 1 << me;
+        return others;
+    }
+
+    /**
+     * Returns an array of at least the given length, reusing the given one if it is long enough.
+     *
+     * @param array  the array to reuse
+     * @param length the length needed
+     * @return {@code array}, or a new array if it is too short
+     */
+    private static byte[] fit(byte[] array, int length) {
+        return array.length >= length ? array : new byte[length];
+    }
+
+    /**
+     * Returns an array of at least the given length, reusing the given one if it is long enough.
+     *
+     * @param array  the array to reuse
+     * @param length the length needed
+     * @return {@code array}, or a new array if it is too short
+     */
+    private static int[] fit(int[] array, int length) {
+        return array.length >= length ? array : new int[length];
+    }
+
+    /**
+     * The buffers of one thread, and the second discard it has planned. The scratch
+     * space of {@link #chooseDiscard(Player, TableView)} is kept apart from that of
+     * {@link #bestKeep(byte[], byte[], int[], int, int, int[], int)}, since the first
+     * passes its buffers to the second.
+     */
+    private static final class Scratch {
+        /** The counts copied from the score board. */
+        byte[] counts = new byte[0];
+
+        /** The sums copied from the score board. */
+        byte[] sums = new byte[0];
+
+        /** The scores read from the score board. */
+        int[] boardScores = new int[0];
+
+        /** The indices of the cards in the hand. */
+        int[] cards = new int[0];
+
+        /** What keeping each card alone changes in every player's score. */
+        int[] deltas = new int[0];
+
+        /** Every player's score after a pair is kept. */
+        int[] trialScores = new int[0];
+
+        /** The player whose second discard is planned, or {@code null} if none is. */
+        Player player;
+
+        /** The table that player is seated at. */
+        TableView table;
+
+        /** The size of the player's hand when they ask for the second discard. */
+        int handSize;
+
+        /** The card to discard second. */
+        Card next;
+
+        /**
+         * Drops the planned discard, so that the player and table are not kept alive.
+         */
+        void forget() {
+            player = null;
+            table = null;
+            next = null;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package parade.players;
+
+import java.util.ArrayList;
+
+import parade.cards.Card;
+import parade.game.Parade;
+import parade.game.ScoreBoard;
+import parade.game.ScoreCalculator;
+import parade.game.TableView;
+import util.RandomSource;
+
+/**
+ * Represents a bot player that plays the card with the lowest weighted cost.
+ * <p>
+ * For every card in its hand, the bot works out which cards of the parade it would
+ * collect, using {@link Parade#collectMask(Card)}, and rescores every player's
+ * collection as if it had collected them, with the same rules as
+ * {@link ScoreCalculator}. From this it measures a few {@link #FEATURES features} of
+ * the move, each a cost where lower is better:
+ * </p>
+ * <ol>
+ *     <li>{@code score}: how much its own score would go up;</li>
+ *     <li>{@code cards}: how many cards it would collect;</li>
+ *     <li>{@code rival-colours}: how many of them are of colours in which another
+ *         player has the most cards, as found by
+ *         {@link ScoreCalculator#findMaxPlayers(byte[], int, int)};</li>
+ *     <li>{@code lead}: how much its lead over the best of the other players would
+ *         grow, which also counts majorities taken from them;</li>
+ *     <li>{@code number}: the number of the card played, since high cards protect more
+ *         of the parade when kept for later.</li>
+ * </ol>
+ * <p>
+ * The cost of a card is the sum of its features, each multiplied by its weight, and
+ * ties are broken at random. The default weights only look at the bot's own score, a
+ * plain greedy strategy; {@link parade.sim.ParameterSearch} tunes them. In the final
+ * discard phase the bot uses {@link DiscardSolver} like every other bot.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * double[] weights = HeuristicBotPlayer.defaultWeights();
+ * weights[2] = 0.5; // also avoid colours another player dominates
+ * HeuristicBotPlayer bot = new HeuristicBotPlayer("Bot 1", new RandomSource(42), weights);
+ * }</pre>
+ *
+ * @author G3T7
+ * @version 1.0
+ * @see BotPlayer
+ */
+public class HeuristicBotPlayer extends Player {
+
+    /** The names of the features, in the order of the weights. */
+    public static final String[] FEATURES = {"score", "cards", "rival-colours", "lead", "number"};
+
+    /** The number of features, and of weights. */
+    public static final int NUM_FEATURES = FEATURES.length;
+
+    /** The default weights: only the bot's own score counts. */
+    private static final double[] DEFAULT_WEIGHTS = {1.0, 0.0, 0.0, 0.0, 0.0};
+
+    /** The random source used to break ties. */
+    private final RandomSource random;
+
+    /** The weight of each feature. */
+    private final double[] weights;
+
+    /** The features of the card being weighed. */
+    private final double[] features = new double[NUM_FEATURES];
+
+    /** Number of collected cards per seat and colour, as on the table's score board. */
+    private byte[] counts = new byte[0];
+
+    /** Sum of the collected card numbers per seat and colour, as on the table's score board. */
+    private byte[] sums = new byte[0];
+
+    /** The counts after a move is tried. */
+    private byte[] trialCounts = new byte[0];
+
+    /** The sums after a move is tried. */
+    private byte[] trialSums = new byte[0];
+
+    /** Every player's score before a move is tried. */
+    private int[] scores = new int[0];
+
+    /** Every player's score after a move is tried. */
+    private int[] trialScores = new int[0];
+
+    /**
+     * Constructs a new {@code HeuristicBotPlayer} with the default weights.
+     *
+     * @param name   the name of the bot player
+     * @param random the random source used to break ties
+     */
+    public HeuristicBotPlayer(String name, RandomSource random) {
+        this(name, random, DEFAULT_WEIGHTS);
+    }
+
+    /**
+     * Constructs a new {@code HeuristicBotPlayer} with the given weights.
+     *
+     * @param name    the name of the bot player
+     * @param random  the random source used to break ties
+     * @param weights the weight of each feature, in the order of {@link #FEATURES}; copied
+     * @throws IllegalArgumentException if there is not one weight per feature
+     */
+    public HeuristicBotPlayer(String name, RandomSource random, double[] weights) {
+        super(name);
+        if (weights.length != NUM_FEATURES) {
+            throw new IllegalArgumentException("Expected " + NUM_FEATURES + " weights, got " + weights.length + ".");
+        }
+        this.random = random;
+        this.weights = weights.clone();
+    }
+
+    /**
+     * Returns a copy of the default weights.
+     *
+     * @return the weights of a greedy bot
+     */
+    public static double[] defaultWeights() {
+        return DEFAULT_WEIGHTS.clone();
+    }
+
+    /**
+     * Returns a copy of this bot's weights.
+     *
+     * @return the weight of each feature
+     */
+    public double[] getWeights() {
+        return weights.clone();
+    }
+
+    /**
+     * Selects the card with the lowest weighted cost.
+     * <p>
+     * During the final discard phase, the best card to discard is chosen by
+     * {@link DiscardSolver} instead.
+     * </p>
+     *
+     * @return the selected {@link Card} from the bot's hand
+     */
+    @Override
+    public Card chooseCard() {
+        TableView table = this.getTable();
+        ArrayList<Card> hand = this.getHand();
+        if (table == null) {
+            return hand.get(random.nextInt(hand.size()));
+        }
+        if (table.isDiscardPhase()) {
+            return DiscardSolver.chooseDiscard(this, table);
+        }
+
+        loadBoard(table.getScoreBoard());
+        Card best = null;
+        double bestCost = Double.POSITIVE_INFINITY;
+        int ties = 0;
+        for (int i = 0; i < hand.size(); i++) {
+            Card card = hand.get(i);
+            measure(card, table);
+            double cost = 0.0;
+            for (int f = 0; f < NUM_FEATURES; f++) {
+                cost += weights[f] * features[f];
+            }
+            if (cost < bestCost) {
+                best = card;
+                bestCost = cost;
+                ties = 1;
+            } else if (cost == bestCost && random.nextInt(++ties) == 0) {
+                best = card;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Copies the score board and the scores it gives into the bot's buffers.
+     *
+     * @param board the table's score board
+     */
+    private void loadBoard(ScoreBoard board) {
+        int numPlayers = board.getNumberOfPlayers();
+        int cells = numPlayers * Card.NUM_COLOURS;
+        if (counts.length != cells) {
+            counts = new byte[cells];
+            sums = new byte[cells];
+            trialCounts = new byte[cells];
+            trialSums = new byte[cells];
+            scores = new int[numPlayers];
+            trialScores = new int[numPlayers];
+        }
+        board.copyInto(counts, sums);
+        ScoreCalculator.calculateScores(counts, sums, numPlayers, scores);
+    }
+
+    /**
+     * Measures the features of playing a card, from the board loaded by {@link #loadBoard(ScoreBoard)}.
+     *
+     * @param card  the card from the bot's hand
+     * @param table the table the bot is seated at
+     */
+    private void measure(Card card, TableView table) {
+        int numPlayers = scores.length;
+        int me = getSeat();
+        Parade parade = table.getParade();
+        System.arraycopy(counts, 0, trialCounts, 0, counts.length);
+        System.arraycopy(sums, 0, trialSums, 0, sums.length);
+
+        int collected = 0;
+        int rivalColours = 0;
+        for (long taken = parade.collectMask(card); taken != 0; taken &= taken - 1) {
+            int index = parade.getCard(Long.numberOfTrailingZeros(taken)).getIndex();
+            int colour = index / Card.NUMBERS_PER_COLOUR;
+            int leaders = ScoreCalculator.findMaxPlayers(counts, colour, numPlayers);
+            if ((leaders & ~(1 << me)) != 0) {
+                rivalColours++;
+            }
+            int cell = me * Card.NUM_COLOURS + colour;
+            trialCounts[cell]++;
+            trialSums[cell] += (byte) Card.numberOf(index);
+            collected++;
+        }
+        ScoreCalculator.calculateScores(trialCounts, trialSums, numPlayers, trialScores);
+
+        features[0] = trialScores[me] - scores[me];
+        features[1] = collected;
+        features[2] = rivalColours;
+        features[3] = lead(trialScores, me) - lead(scores, me);
+        features[4] = card.getCardNum();
+    }
+
+    /**
+     * Returns how far a player is ahead of the best of the others; since the lowest score wins, smaller is better.
+     *
+     * @param scores every player's score
+     * @param me     the player's seat
+     * @return the player's score minus the lowest score of the others
+     */
+    private static int lead(int[] scores, int me) {
+        int best = Integer.MAX_VALUE;
+        for (int p = 0; p < scores.length; p++) {
+            if (p != me) {
+                best = Math.min(best, scores[p]);
+            }
+        }
+        return scores[me] - best;
+    }
+}
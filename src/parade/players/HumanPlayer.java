@@ -1,13 +1,34 @@
 package parade.players;
 
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.List;
+
 import parade.cards.Card;
+import util.InputSource;
+import util.InputTimeoutException;
 import util.UserInput;
 
 /**
  * Represents a human player in the Parade game.
  * <p>
  * This class extends {@link Player} and allows a human user to
- * manually select a card from their hand based on console input.
+ * manually select a card from their hand. Each human player owns the
+ * {@link InputSource} their options are shown on and their answers are read
+ * from: the console by default, or a script or a network channel.
+ * </p>
+ *
+ * <p>
+ * A move can be given a time limit with {@link #setTimeoutMillis(long)}. If the
+ * player does not answer in time, or their input ends, the first card in their
+ * hand is played for them, now and for the rest of the game, so the table can
+ * carry on without them.
+ * </p>
+ *
+ * <p>
+ * At a table stepped by a {@link parade.game.TableScheduler}, the player is asked
+ * with {@link #pollCard(Runnable)}: the options are shown once, and the table is put
+ * aside until an answer or the time limit arrives, so no thread waits for the player.
  * </p>
  *
  * <p><strong>Example usage:</strong></p>
@@ -17,44 +38,202 @@ import util.UserInput;
  * }</pre>
  *
  * @author G3T7
- * @version 1.0
+ * @version 1.2
  */
 public class HumanPlayer extends Player {
 
+    /** Where the options are shown and the answers are read from. */
+    private final InputSource input;
+
+    /** Time allowed for each move in milliseconds, or 0 for no limit. */
+    private long timeoutMillis;
+
+    /** Whether the player stopped answering, so their moves are made for them. */
+    private boolean lost;
+
+    /** Whether the options of the current move have been shown to a polling table. */
+    private boolean asked;
+
+    /** When the current move times out, once it has been asked for by a polling table. */
+    private long moveDeadline;
+
     /**
-     * Constructs a human player with the given name.
+     * Constructs a human player with the given name, reading from the same source
+     * as {@link UserInput}.
      *
      * @param name the name of the player
      */
     public HumanPlayer(String name) {
+        this(name, UserInput.getSource());
+    }
+
+    /**
+     * Constructs a human player with the given name and input source.
+     *
+     * @param name  the name of the player
+     * @param input where the player's options are shown and answers are read from
+     */
+    public HumanPlayer(String name, InputSource input) {
         super(name);
+        this.input = input;
+    }
+
+    /**
+     * Returns the player's input source.
+     *
+     * @return the input source
+     */
+    public InputSource getInput() {
+        return input;
+    }
+
+    /**
+     * Limits the time the player has for each move.
+     *
+     * @param timeoutMillis the time allowed in milliseconds, or 0 for no limit
+     */
+    public void setTimeoutMillis(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Checks whether the player has stopped answering and their moves are made for them.
+     *
+     * @return {@code true} if an answer timed out or the player's input ended
+     */
+    public boolean isLost() {
+        return lost;
     }
 
     /**
      * Prompts the player to select a card from their hand.
      * <p>
-     * Displays a numbered list of card options in the console and retrieves a valid selection
-     * from the user based on numeric input.
+     * Displays a numbered list of card options and retrieves a valid selection
+     * based on numeric input.
      * </p>
      *
      * @return the {@link Card} selected by the player
      */
     @Override
     public Card chooseCard() {
+        List<Card> hand = super.getHand();
+        if (lost) {
+            return hand.get(0);
+        }
+
+        try {
+            showOptions(hand);
+            int selectedNum = input.readInt(selectionPrompt(), 1, hand.size(), errorMessage(),
+                    InputSource.deadlineIn(timeoutMillis));
+            return hand.get(selectedNum - 1);
+        } catch (IOException e) {
+            lost = true;
+            return hand.get(0);
+        }
+    }
+
+    /**
+     * Returns the selected card if the player has answered, without waiting.
+     * <p>
+     * The first call of a move shows the options and the prompt. Every call then
+     * reads the answers that have arrived, showing the error message and the prompt
+     * again after each invalid one, and returns {@code null} if there is no valid
+     * answer yet, after arranging for {@code wakeUp} to run when the next one
+     * arrives or the move times out.
+     * </p>
+     *
+     * @param wakeUp run when an answer may have arrived
+     * @return the {@link Card} selected by the player, or {@code null} if they have not answered yet
+     */
+    @Override
+    public Card pollCard(Runnable wakeUp) {
+        List<Card> hand = super.getHand();
+        if (lost) {
+            return hand.get(0);
+        }
+
+        try {
+            if (!asked) {
+                showOptions(hand);
+                input.show(String.format(selectionPrompt(), 1, hand.size()));
+                moveDeadline = InputSource.deadlineIn(timeoutMillis);
+                asked = true;
+            }
+            while (input.isReady()) {
+                String answer = input.readLine(InputSource.NO_DEADLINE);
+                if (answer == null) {
+                    throw new EOFException("Input ended while waiting for a number.");
+                }
+                int selectedNum = parseOption(answer, hand.size());
+                if (selectedNum > 0) {
+                    asked = false;
+                    return hand.get(selectedNum - 1);
+                }
+                input.show(String.format(errorMessage(), 1, hand.size()));
+                input.show(String.format(selectionPrompt(), 1, hand.size()));
+            }
+            if (InputSource.nanosLeft(moveDeadline) == 0) {
+                throw new InputTimeoutException("No answer in time.");
+            }
+            input.flush();
+            input.whenReady(wakeUp, moveDeadline);
+            return null;
+        } catch (IOException e) {
+            asked = false;
+            lost = true;
+            return hand.get(0);
+        }
+    }
+
+    /**
+     * Reads an option number, as {@link InputSource#readInt} would.
+     *
+     * @param answer  the line entered
+     * @param options the number of options
+     * @return the option number, or 0 if the answer is not one
+     */
+    private static int parseOption(String answer, int options) {
+        try {
+            int value = Integer.parseInt(answer.trim());
+            return value >= 1 && value <= options ? value : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Shows the cards the player can choose from.
+     *
+     * @param hand the cards in the player's hand
+     */
+    protected void showOptions(List<Card> hand) {
         // To render emojis correctly
         System.setProperty("file.encoding", "UTF-8");
 
-        System.out.println("PICK A CARD");
-        System.out.println("-----------");
-
+        StringBuilder options = new StringBuilder("PICK A CARD\n-----------\n");
         int i = 1;
-        for (Card c : super.getHand()) {
-            System.out.println("Option " + i + ": " + c);
+        for (Card c : hand) {
+            options.append("Option ").append(i).append(": ").append(c).append('\n');
             i++;
         }
-        
-        int selectedNum = UserInput.getUserInt("Selection: Option ", 1, super.getHandSize());
+        input.show(options.toString());
+    }
 
-        return super.getHand().get(selectedNum - 1);
+    /**
+     * Returns the prompt shown before each answer, formatted with the first and last option.
+     *
+     * @return the selection prompt
+     */
+    protected String selectionPrompt() {
+        return "Selection: Option ";
+    }
+
+    /**
+     * Returns the message shown after an invalid answer, formatted with the first and last option.
+     *
+     * @return the error message
+     */
+    protected String errorMessage() {
+        return "Invalid Input! Please enter a number between %d and %d!%n";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,368 @@
+package parade.players;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+import parade.cards.Card;
+import parade.game.GameListener;
+import parade.game.GameState;
+import parade.game.Parade;
+import parade.game.TableView;
+import util.RandomSource;
+
+/**
+ * A bot player that chooses its cards with information-set Monte Carlo tree search.
+ * <p>
+ * The deck and the other players' hands are hidden, so for every iteration the bot
+ * deals the cards it cannot see at random (a <em>determinization</em>) and walks a
+ * single search tree shared by all determinizations, only following moves that are
+ * legal in the current deal. From the new leaf it plays the rest of the game out
+ * with random moves, scores it and updates the statistics along the path. Every
+ * player in the tree plays to minimise their own score relative to the best of
+ * the others.
+ * </p>
+ *
+ * <p>
+ * The search stops when either the playout limit or the time budget is reached.
+ * With more than one thread, each thread grows its own tree from a separate random
+ * stream (root parallelism), and the visit counts of the first moves are added up
+ * before choosing the most visited card.
+ * </p>
+ *
+ * <p>
+ * The cards the bot cannot see are kept by a {@link BeliefTracker}, which follows
+ * the table's events, so they are at hand on every move. Each determinization is a
+ * fresh shuffle of them with {@link RandomSource#shuffle(byte[], int)}.
+ * </p>
+ *
+ * <p>
+ * The bot needs to be seated at a table to search; otherwise it plays randomly.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * // Up to 20 000 playouts or 200 ms per move, on 4 threads
+ * MctsBotPlayer bot = new MctsBotPlayer("Bot 1", new RandomSource(), 20_000, 200, 4);
+ * }</pre>
+ *
+ * @author G3T7
+ * @version 1.1
+ * @see Player
+ */
+public final class MctsBotPlayer extends Player implements GameListener {
+
+    /** Exploration constant of the UCB1 formula. */
+    private static final double EXPLORATION = 0.7;
+
+    /** Score margin that maps to a reward of 0 or 1; larger margins are clamped. */
+    private static final double REWARD_SCALE = 40.0;
+
+    /** How many iterations to run between checks of the clock. */
+    private static final int CLOCK_CHECK_INTERVAL = 64;
+
+    /** The random source for determinizations, playouts and fallback moves. */
+    private final RandomSource random;
+
+    /** Maximum number of playouts per move, over all threads. */
+    private final int maxPlayouts;
+
+    /** Maximum time per move, in milliseconds. */
+    private final long budgetMillis;
+
+    /** Number of independent search trees grown in parallel. */
+    private final int threads;
+
+    /** The cards this bot has not seen, kept up to date by the table's events. */
+    private final BeliefTracker tracker;
+
+    /**
+     * Constructs a new single-threaded {@code MctsBotPlayer}.
+     *
+     * @param name         the name of the bot player
+     * @param random       the random source used for the search
+     * @param maxPlayouts  the maximum number of playouts per move
+     * @param budgetMillis the maximum time per move, in milliseconds
+     */
+    public MctsBotPlayer(String name, RandomSource random, int maxPlayouts, long budgetMillis) {
+        this(name, random, maxPlayouts, budgetMillis, 1);
+    }
+
+    /**
+     * Constructs a new {@code MctsBotPlayer}.
+     *
+     * @param name         the name of the bot player
+     * @param random       the random source used for the search
+     * @param maxPlayouts  the maximum number of playouts per move, over all threads
+     * @param budgetMillis the maximum time per move, in milliseconds
+     * @param threads      the number of search trees to grow in parallel
+     */
+    public MctsBotPlayer(String name, RandomSource random, int maxPlayouts, long budgetMillis, int threads) {
+        super(name);
+        this.random = random;
+        this.maxPlayouts = maxPlayouts;
+        this.budgetMillis = budgetMillis;
+        this.threads = Math.max(1, threads);
+        this.tracker = new BeliefTracker(this);
+    }
+
+    @Override
+    public void onGameStart(PlayerList players, Parade parade) {
+        tracker.onGameStart(players, parade);
+    }
+
+    @Override
+    public void onCardPlayed(int turn, Player player, Card card) {
+        tracker.onCardPlayed(turn, player, card);
+    }
+
+    @Override
+    public void onCardsCollected(int turn, Player player, List<Card> cards) {
+        tracker.onCardsCollected(turn, player, cards);
+    }
+
+    @Override
+    public void onCardDrawn(int turn, Player player, Card card) {
+        tracker.onCardDrawn(turn, player, card);
+    }
+
+    @Override
+    public void onCardDiscarded(Player player, Card card) {
+        tracker.onCardDiscarded(player, card);
+    }
+
+    /**
+     * Chooses the card to play (or discard) by searching the rest of the game.
+     *
+     * @return the card with the most visits at the root of the search
+     */
+    @Override
+    public Card chooseCard() {
+        ArrayList<Card> hand = getHand();
+        TableView table = getTable();
+        if (table == null) {
+            return hand.get(random.nextInt(hand.size()));
+        }
+        if (hand.size() == 1) {
+            return hand.get(0);
+        }
+
+        Observation obs = observe(table);
+        long deadline = System.nanoTime() + budgetMillis * 1_000_000L;
+        int[] visits = new int[Card.NUM_CARDS];
+
+        if (threads == 1) {
+            new Search(obs, random, maxPlayouts, deadline).run(visits);
+        } else {
+            List<CompletableFuture<int[]>> searches = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Search search = new Search(obs, random.split(), maxPlayouts / threads, deadline);
+                searches.add(CompletableFuture.supplyAsync(() -> {
+                    int[] v = new int[Card.NUM_CARDS];
+                    search.run(v);
+                    return v;
+                }, ForkJoinPool.commonPool()));
+            }
+            for (CompletableFuture<int[]> f : searches) {
+                int[] v = f.join();
+                for (int i = 0; i < Card.NUM_CARDS; i++) {
+                    visits[i] += v[i];
+                }
+            }
+        }
+
+        Card best = hand.get(0);
+        for (Card c : hand) {
+            if (visits[c.getIndex()] > visits[best.getIndex()]) {
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Records everything this bot can see about the table, with the unseen cards kept by its tracker.
+     *
+     * @param table the table the bot is seated at
+     * @return the known part of the game state and the pool of unseen cards
+     */
+    private Observation observe(TableView table) {
+        GameState known = GameState.observe(table, this);
+        tracker.sync(table);
+        byte[] unseen = new byte[tracker.getUnseenCount()];
+        tracker.copyUnseen(unseen);
+        return new Observation(known, unseen);
+    }
+
+    /**
+     * The public information available to the bot when it has to move.
+     *
+     * @param known  the known state, with the cards the bot cannot see hidden
+     * @param unseen every card the bot cannot see
+     */
+    private record Observation(GameState known, byte[] unseen) {}
+
+    /**
+     * A node of the search tree: the state reached after a player made a move.
+     */
+    private static final class Node {
+        final int move;
+        final int player;
+        final Node parent;
+        final ArrayList<Node> children = new ArrayList<>(4);
+        int visits;
+        int availability;
+        double reward;
+
+        Node(int move, int player, Node parent) {
+            this.move = move;
+            this.player = player;
+            this.parent = parent;
+        }
+
+        Node child(int move) {
+            for (Node child : children) {
+                if (child.move == move) {
+                    return child;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * One search tree, grown by a single thread.
+     */
+    private static final class Search {
+        private final Observation obs;
+        private final RandomSource random;
+        private final int maxPlayouts;
+        private final long deadline;
+        private final GameState state;
+        private final byte[] pool;
+        private final int[] scores;
+        private final double[] rewards;
+        private final int[] legal = new int[GameState.HAND_SIZE];
+
+        Search(Observation obs, RandomSource random, int maxPlayouts, long deadline) {
+            this.obs = obs;
+            this.random = random;
+            this.maxPlayouts = Math.max(1, maxPlayouts);
+            this.deadline = deadline;
+            this.state = new GameState(obs.known().getNumberOfPlayers());
+            this.pool = obs.unseen().clone();
+            this.scores = new int[state.getNumberOfPlayers()];
+            this.rewards = new double[state.getNumberOfPlayers()];
+        }
+
+        /**
+         * Grows the tree until the budget runs out and adds the root visit counts to {@code visits}.
+         *
+         * @param visits visit counts indexed by card
+         */
+        void run(int[] visits) {
+            Node root = new Node(-1, -1, null);
+            for (int i = 0; i < maxPlayouts; i++) {
+                if (i % CLOCK_CHECK_INTERVAL == 0 && i > 0 && System.nanoTime() > deadline) {
+                    break;
+                }
+                determinize();
+                iterate(root);
+            }
+            for (Node child : root.children) {
+                visits[child.move] += child.visits;
+            }
+        }
+
+        /**
+         * Deals the unseen cards at random into the other players' hands and the deck.
+         */
+        private void determinize() {
+            state.copyFrom(obs.known());
+            random.shuffle(pool, pool.length);
+            state.fillHidden(pool);
+        }
+
+        /**
+         * Runs one selection, expansion, playout and backpropagation step.
+         *
+         * @param root the root of the tree
+         */
+        private void iterate(Node root) {
+            Node node = root;
+
+            // Selection and expansion
+            while (!state.isOver()) {
+                int player = state.currentPlayer();
+                int numLegal = state.handSize(player);
+                int untried = 0;
+                for (int i = 0; i < numLegal; i++) {
+                    int move = state.handCard(player, i);
+                    Node child = node.child(move);
+                    if (child == null) {
+                        legal[untried++] = move;
+                    } else {
+                        child.availability++;
+                    }
+                }
+
+                if (untried > 0) {
+                    int move = legal[random.nextInt(untried)];
+                    Node child = new Node(move, player, node);
+                    node.children.add(child);
+                    state.apply(move);
+                    node = child;
+                    break;
+                }
+
+                node = selectChild(node, player, numLegal);
+                state.apply(node.move);
+            }
+
+            // Random playout to the end of the game
+            while (!state.isOver()) {
+                int player = state.currentPlayer();
+                state.apply(state.handCard(player, random.nextInt(state.handSize(player))));
+            }
+
+            // Backpropagation
+            state.scores(scores);
+            for (int p = 0; p < state.getNumberOfPlayers(); p++) {
+                int bestOther = Integer.MAX_VALUE;
+                for (int q = 0; q < state.getNumberOfPlayers(); q++) {
+                    if (q != p) bestOther = Math.min(bestOther, scores[q]);
+                }
+                double margin = (bestOther - scores[p]) / REWARD_SCALE;
+                rewards[p] = Math.max(0.0, Math.min(1.0, 0.5 + margin));
+            }
+            for (Node n = node; n.parent != null; n = n.parent) {
+                n.visits++;
+                n.reward += rewards[n.player];
+            }
+        }
+
+        /**
+         * Picks the child with the highest UCB1 value among the moves legal in this determinization.
+         *
+         * @param node     the current node
+         * @param player   the player to move
+         * @param numLegal the number of cards in that player's hand
+         * @return the selected child
+         */
+        private Node selectChild(Node node, int player, int numLegal) {
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < numLegal; i++) {
+                Node child = node.child(state.handCard(player, i));
+                double value = child.reward / child.visits
+                        + EXPLORATION * Math.sqrt(Math.log(child.availability) / child.visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+    }
+}
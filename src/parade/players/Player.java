@@ -1,8 +1,11 @@
 package parade.players;
 
 import parade.cards.Card;
+import parade.cards.CardSet;
 import parade.cards.Colour;
-import util.EndGameException;
+import parade.game.EndGameReason;
+import parade.game.ScoreBoard;
+import parade.game.TableView;
 
 import java.util.ArrayList;
 import java.util.EnumMap;
@@ -17,7 +20,7 @@ import java.util.EnumMap;
  * </p>
  * 
  * @author G3T7
- * @version 1.0
+ * @version 1.2
  */
 public abstract class Player {
 
@@ -27,11 +30,20 @@ public abstract class Player {
     /** The collection of cards the player has acquired, grouped by colour. */
     private EnumMap<Colour, ArrayList<Card>> collectedCards;
 
+    /** The same collection as {@link #collectedCards}, as a bitboard used for counting and scoring. */
+    private CardSet collectedSet;
+
     /** The player's name. */
     private String name;
 
     /** Number of wins accumulated across multiple games. */
     private int wins = 0;
+
+    /** The table the player is currently seated at, or {@code null} if not seated. */
+    private TableView table;
+
+    /** The player's index in turn order at the current table. */
+    private int seat;
     /**
      * Constructs a player with an empty hand and collection.
      *
@@ -40,6 +52,7 @@ public abstract class Player {
     public Player(String name) {
         this.hand = new ArrayList<>();
         this.collectedCards = new EnumMap<>(Colour.class);
+        this.collectedSet = new CardSet();
         this.name = name;
     }
 
@@ -88,6 +101,18 @@ public abstract class Player {
         return this.collectedCards;
     }
 
+    /**
+     * Retrieves the cards the player has collected as a bitboard.
+     * <p>
+     * This is the fastest way to count or sum the collected cards of a colour.
+     * </p>
+     *
+     * @return The collected cards as a {@link CardSet}.
+     */
+    public CardSet getCollectedSet() {
+        return this.collectedSet;
+    }
+
     /**
      * Retrieves the collected cards of a specific colour.
      *
@@ -98,6 +123,39 @@ public abstract class Player {
         return collectedCards.getOrDefault(colour, null);
     }
 
+    /**
+     * Seats the player at a table, giving them a view of the public game state.
+     * <p>
+     * Called by the game before the cards are dealt. From then on, every collected
+     * card is also recorded on the table's {@link parade.game.ScoreBoard}.
+     * </p>
+     *
+     * @param table The table the player is joining.
+     * @param seat  The player's index in turn order at that table.
+     */
+    public void joinTable(TableView table, int seat) {
+        this.table = table;
+        this.seat = seat;
+    }
+
+    /**
+     * Retrieves the table the player is seated at.
+     *
+     * @return The current table, or {@code null} if the player has not been seated.
+     */
+    public TableView getTable() {
+        return this.table;
+    }
+
+    /**
+     * Retrieves the player's index in turn order at the current table.
+     *
+     * @return The seat index, only meaningful once the player has been seated.
+     */
+    public int getSeat() {
+        return this.seat;
+    }
+
     /**
      * Abstract method to choose a card from the player's hand.
      * <p>
@@ -107,6 +165,23 @@ public abstract class Player {
      */
     public abstract Card chooseCard();
 
+    /**
+     * Chooses a card from the player's hand if the choice can be made straight away.
+     * <p>
+     * Used by tables that are stepped by a {@link parade.game.TableScheduler}, which
+     * must not wait. A player who would have to wait for their answer returns
+     * {@code null} instead, and runs {@code wakeUp} once it may be ready; the table then
+     * asks again. By default the player is asked with {@link #chooseCard()}, which suits
+     * every player who decides without outside input.
+     * </p>
+     *
+     * @param wakeUp run when the answer may be ready, if {@code null} is returned
+     * @return the chosen card, or {@code null} if the answer is not ready yet
+     */
+    public Card pollCard(Runnable wakeUp) {
+        return chooseCard();
+    }
+
     /**
      * Removes a card from the player's hand and returns it.
      *
@@ -122,37 +197,43 @@ public abstract class Player {
      * Adds a card to the player's hand.
      *
      * @param c The card to add.
-     * @throws EndGameException If the card is null and the game has not entered the end phase.
+     * @return {@link EndGameReason#DECK_EXHAUSTED} if the card is null, or {@code null} otherwise.
      */
-    public void addCard(Card c) throws EndGameException {
-        addCard(c, false); // Default to non-endgame mode
+    public EndGameReason addCard(Card c) {
+        return addCard(c, false); // Default to non-endgame mode
     }
 
     /**
      * Adds a card to the player's hand, with logic for endgame mode.
+     * <p>
+     * During the final round no card is added, and an empty deck triggers nothing.
+     * </p>
      *
      * @param c       The card to add.
      * @param endGame Whether the game is in endgame mode.
-     * @throws EndGameException If {@code c} is null and {@code endGame} is false.
+     * @return {@link EndGameReason#DECK_EXHAUSTED} if {@code c} is null and {@code endGame}
+     *         is false, or {@code null} if the game goes on as before.
      */
-    public void addCard(Card c, Boolean endGame) throws EndGameException {
-        if (c == null && !endGame) {
-            throw new EndGameException("There are no more cards in the deck.");
+    public EndGameReason addCard(Card c, boolean endGame) {
+        if (endGame) {
+            return null;
         }
-
-        if (c != null && !endGame) {
-            this.hand.add(c);
+        if (c == null) {
+            return EndGameReason.DECK_EXHAUSTED;
         }
+        this.hand.add(c);
+        return null;
     }
 
     /**
      * Adds a set of cards to the player's collection.
      *
      * @param cards The cards to collect.
-     * @throws EndGameException If this collection results in the player owning all six colours.
+     * @return {@link EndGameReason#ALL_COLOURS_COLLECTED} if the player now owns all six colours,
+     *         or {@code null} otherwise.
      */
-    public void collectCard(ArrayList<Card> cards) throws EndGameException {
-        collectCard(cards, false);
+    public EndGameReason collectCard(ArrayList<Card> cards) {
+        return collectCard(cards, false);
     }
 
     /**
@@ -160,43 +241,30 @@ public abstract class Player {
      *
      * @param cards   The cards to collect.
      * @param endGame Whether the game is in endgame mode.
-     * @throws EndGameException If the player collects all six colours before endgame.
+     * @return {@link EndGameReason#ALL_COLOURS_COLLECTED} if the player owns all six colours
+     *         before endgame, or {@code null} if the game goes on as before.
      */
-    public void collectCard(ArrayList<Card> cards, boolean endGame) throws EndGameException {
-        for (Card c : cards) {
+    public EndGameReason collectCard(ArrayList<Card> cards, boolean endGame) {
+        ScoreBoard board = (table == null) ? null : table.getScoreBoard();
+        for (int i = 0; i < cards.size(); i++) {
+            Card c = cards.get(i);
             Colour curColour = c.getCardColour();
-            collectedCards.putIfAbsent(curColour, new ArrayList<>());
-            collectedCards.get(curColour).add(c);
-        }
-
-        if (!endGame && collectedCards.size() == 6) {
-            throw new EndGameException("\n🎨 " + this.name + " has collected all 6 colours!");
+            ArrayList<Card> cardsOfColour = collectedCards.get(curColour);
+            if (cardsOfColour == null) {
+                cardsOfColour = new ArrayList<>();
+                collectedCards.put(curColour, cardsOfColour);
+            }
+            cardsOfColour.add(c);
+            collectedSet.add(c);
+            if (board != null) {
+                board.collect(seat, c);
+            }
         }
-    }
 
-    /**
-     * Prints the player's collected cards, grouped by colour.
-     *
-     * @param forFinalDisplay Whether this is for the final summary (affects label formatting).
-     */
-    public void printCollectedCards(boolean forFinalDisplay) {
-        String label = "Collection:";
-        String indent = " ".repeat(label.length() + 1); // Align subsequent lines
-    
-        boolean firstLine = true;
-        for (Colour c : Colour.values()) {
-            ArrayList<Card> cardsOfColour = collectedCards.get(c);
-            if (cardsOfColour != null && !cardsOfColour.isEmpty()) {
-                // Print label on the first line, indent on the rest
-                System.out.print(firstLine ? label + " " : indent);
-                firstLine = false;
-    
-                for (Card card : cardsOfColour) {
-                    System.out.print(card + " ");
-                }
-                System.out.println();
-            }
+        if (!endGame && collectedSet.hasAllColours()) {
+            return EndGameReason.ALL_COLOURS_COLLECTED;
         }
+        return null;
     }
 
     /**
@@ -211,6 +279,7 @@ public abstract class Player {
      */
     public void clearCollectedCards() {
         collectedCards.clear();
+        collectedSet.clear();
     }
 
     /**
@@ -3,6 +3,7 @@ package parade.players;
 import java.util.*;
 
 import parade.game.Game;
+import util.RandomSource;
 import util.UserInput;
 
 /**
@@ -82,10 +83,50 @@ public class PlayerList {
         this.playerList = players;
 
         // Shuffle the player order before starting the game
-        Collections.shuffle(players);
+        shuffleOrder(new RandomSource());
 
     }
-    
+
+    /**
+     * Constructs a {@code PlayerList} from already created players, without prompting.
+     * <p>
+     * Used for bot-only games where no user input is available.
+     * The player order is shuffled, just as for interactive setup.
+     * </p>
+     *
+     * @param players The players taking part (between 2 and {@value #MAX_PLAYER_NUM}).
+     * @throws IllegalArgumentException If the number of players is out of range.
+     */
+    public PlayerList(ArrayList<Player> players) {
+        this(players, new RandomSource());
+    }
+
+    /**
+     * Constructs a {@code PlayerList} from already created players, shuffling them with the given source.
+     *
+     * @param players The players taking part (between 2 and {@value #MAX_PLAYER_NUM}).
+     * @param random  The random source used to shuffle the player order.
+     * @throws IllegalArgumentException If the number of players is out of range.
+     */
+    public PlayerList(ArrayList<Player> players, RandomSource random) {
+        if (players.size() < 2 || players.size() > MAX_PLAYER_NUM) {
+            throw new IllegalArgumentException("A game needs between 2 and " + MAX_PLAYER_NUM + " players.");
+        }
+        this.playerList = new ArrayList<>(players);
+
+        // Shuffle the player order before starting the game
+        shuffleOrder(random);
+    }
+
+    /**
+     * Shuffles the turn order of the players.
+     *
+     * @param random The random source used for the shuffle.
+     */
+    public final void shuffleOrder(RandomSource random) {
+        random.shuffle(playerList);
+    }
+
     /**
      * Retrieves the list of all players.
      *
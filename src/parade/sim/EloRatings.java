@@ -0,0 +1,279 @@
+package parade.sim;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Elo ratings of a fixed list of entrants, updated one game at a time from any thread.
+ * <p>
+ * A game of more than two players counts as a match between every pair of them:
+ * the player with the lower score wins the pair, and equal scores are a draw. Each
+ * player's rating moves by the sum of its pairwise Elo updates, with the K-factor
+ * shared out over its {@code n - 1} opponents, so a game moves a rating by at most
+ * K points whatever the number of players. Every player of a game is updated from
+ * the ratings before that game.
+ * </p>
+ *
+ * <p>
+ * All methods are synchronized, so workers can record their games while others read
+ * the table. Only totals are kept, never the games themselves. The ratings can be
+ * saved to a small CSV file and restored from it by entrant name, which is how a
+ * {@link Ladder} checkpoints its progress.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * EloRatings ratings = new EloRatings(List.of("random", "mcts"), EloRatings.DEFAULT_K);
+ * ratings.record(new int[] {0, 1}, new int[] {31, 12}, 0, 2); // mcts won
+ * ratings.save(Path.of("ladder.csv"));
+ * }</pre>
+ *
+ * @author G3T7
+ * @version 1.0
+ * @see Ladder
+ */
+public class EloRatings {
+
+    /** The rating every entrant starts with. */
+    public static final double INITIAL_RATING = 1500.0;
+
+    /** The default K-factor: the most points one game can move a rating. */
+    public static final double DEFAULT_K = 16.0;
+
+    /** The first line of a saved file. */
+    private static final String HEADER = "name,rating,games,wins";
+
+    /** Marks the line of a saved file that holds the total number of games. */
+    private static final String GAMES_PREFIX = "# games ";
+
+    /** The names of the entrants, by index. */
+    private final String[] names;
+
+    /** The K-factor. */
+    private final double k;
+
+    /** The current rating of each entrant. */
+    private final double[] ratings;
+
+    /** The number of games each entrant has played. */
+    private final long[] games;
+
+    /** The number of games each entrant has won, ties included. */
+    private final long[] wins;
+
+    /** The number of games recorded. */
+    private long totalGames;
+
+    /** The rating change of each player of the game being recorded; a game never has more players than entrants. */
+    private final double[] deltas;
+
+    /**
+     * Constructs a table with every entrant at {@link #INITIAL_RATING}.
+     *
+     * @param names the unique names of the entrants, by index
+     * @param k     the K-factor
+     * @throws IllegalArgumentException if a name is repeated, or has a comma or line break, or starts with {@code #}
+     */
+    public EloRatings(List<String> names, double k) {
+        for (String name : names) {
+            if (name.contains(",") || name.contains("\n") || name.contains("\r") || name.startsWith("#")) {
+                throw new IllegalArgumentException("Entrant name cannot be saved: " + name);
+            }
+        }
+        if (names.stream().distinct().count() != names.size()) {
+            throw new IllegalArgumentException("Entrant names must be unique.");
+        }
+        this.names = names.toArray(new String[0]);
+        this.k = k;
+        this.ratings = new double[this.names.length];
+        this.games = new long[this.names.length];
+        this.wins = new long[this.names.length];
+        this.deltas = new double[this.names.length];
+        Arrays.fill(ratings, INITIAL_RATING);
+    }
+
+    /**
+     * Records the outcome of one game.
+     *
+     * @param entrants   the entrant index of each player, from {@code offset} on
+     * @param scores     the score of each player, in the same order; lower is better
+     * @param offset     where the game starts in both arrays
+     * @param numPlayers the number of players in the game
+     */
+    public synchronized void record(int[] entrants, int[] scores, int offset, int numPlayers) {
+        double share = k / (numPlayers - 1);
+        int minScore = Integer.MAX_VALUE;
+        for (int i = 0; i < numPlayers; i++) {
+            deltas[i] = 0.0;
+            minScore = Math.min(minScore, scores[offset + i]);
+        }
+        for (int i = 0; i < numPlayers; i++) {
+            double ri = ratings[entrants[offset + i]];
+            for (int j = i + 1; j < numPlayers; j++) {
+                double expected = 1.0 / (1.0 + Math.pow(10.0, (ratings[entrants[offset + j]] - ri) / 400.0));
+                int a = scores[offset + i];
+                int b = scores[offset + j];
+                double actual = a < b ? 1.0 : a == b ? 0.5 : 0.0;
+                deltas[i] += share * (actual - expected);
+                deltas[j] -= share * (actual - expected);
+            }
+        }
+        for (int i = 0; i < numPlayers; i++) {
+            int e = entrants[offset + i];
+            ratings[e] += deltas[i];
+            games[e]++;
+            if (scores[offset + i] == minScore) {
+                wins[e]++;
+            }
+        }
+        totalGames++;
+    }
+
+    /**
+     * Records a batch of games, in order, holding the lock only once.
+     *
+     * @param entrants   the entrant index of each player, game after game
+     * @param scores     the score of each player, in the same order
+     * @param numPlayers the number of players in every game
+     * @param numGames   the number of games in the batch
+     */
+    public synchronized void recordAll(int[] entrants, int[] scores, int numPlayers, int numGames) {
+        for (int g = 0; g < numGames; g++) {
+            record(entrants, scores, g * numPlayers, numPlayers);
+        }
+    }
+
+    /**
+     * Returns the number of entrants.
+     *
+     * @return the size of the table
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Returns the name of an entrant.
+     *
+     * @param entrant the entrant index
+     * @return the name
+     */
+    public String getName(int entrant) {
+        return names[entrant];
+    }
+
+    /**
+     * Returns the current rating of an entrant.
+     *
+     * @param entrant the entrant index
+     * @return the rating
+     */
+    public synchronized double getRating(int entrant) {
+        return ratings[entrant];
+    }
+
+    /**
+     * Returns the number of games an entrant has played.
+     *
+     * @param entrant the entrant index
+     * @return the games played
+     */
+    public synchronized long getGames(int entrant) {
+        return games[entrant];
+    }
+
+    /**
+     * Returns the number of games an entrant has won, counting ties for the lowest score as wins.
+     *
+     * @param entrant the entrant index
+     * @return the games won
+     */
+    public synchronized long getWins(int entrant) {
+        return wins[entrant];
+    }
+
+    /**
+     * Returns the number of games recorded.
+     *
+     * @return the total number of games
+     */
+    public synchronized long getTotalGames() {
+        return totalGames;
+    }
+
+    /**
+     * Returns the entrants from the highest rating to the lowest.
+     *
+     * @return the entrant indices, best first
+     */
+    public synchronized int[] ranking() {
+        double[] snapshot = ratings.clone();
+        return IntStream.range(0, names.length).boxed()
+                .sorted(Comparator.comparingDouble((Integer e) -> -snapshot[e]).thenComparingInt(e -> e))
+                .mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Writes the table to a CSV file, replacing it in one step so a crash never leaves half a file.
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void save(Path file) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(tmp)) {
+            out.write(GAMES_PREFIX + totalGames);
+            out.newLine();
+            out.write(HEADER);
+            out.newLine();
+            for (int e = 0; e < names.length; e++) {
+                out.write(names[e] + "," + ratings[e] + "," + games[e] + "," + wins[e]);
+                out.newLine();
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Restores the table from a file written by {@link #save(Path)}.
+     * <p>
+     * Entrants are matched by name. Entrants missing from the file keep their current
+     * values, and entries for unknown names are ignored, so a ladder can gain or lose
+     * entrants between runs.
+     * </p>
+     *
+     * @param file the file to read
+     * @throws IOException if the file cannot be read or is not a saved table
+     */
+    public synchronized void restore(Path file) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(file)) {
+            String first = in.readLine();
+            if (first == null || !first.startsWith(GAMES_PREFIX) || !HEADER.equals(in.readLine())) {
+                throw new IOException("Not a ratings file: " + file);
+            }
+            try {
+                totalGames = Long.parseLong(first.substring(GAMES_PREFIX.length()).trim());
+                for (String line = in.readLine(); line != null; line = in.readLine()) {
+                    String[] fields = line.split(",");
+                    int e = Arrays.asList(names).indexOf(fields[0]);
+                    if (fields.length != 4 || e < 0) {
+                        continue;
+                    }
+                    ratings[e] = Double.parseDouble(fields[1]);
+                    games[e] = Long.parseLong(fields[2]);
+                    wins[e] = Long.parseLong(fields[3]);
+                }
+            } catch (NumberFormatException e) {
+                throw new IOException("Not a ratings file: " + file, e);
+            }
+        }
+    }
+}
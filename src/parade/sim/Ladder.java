@@ -0,0 +1,447 @@
+package parade.sim;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import parade.game.GameListener;
+import parade.game.GameResult;
+import parade.game.HeadlessGame;
+import parade.players.BotPlayer;
+import parade.players.HeuristicBotPlayer;
+import parade.players.MctsBotPlayer;
+import parade.players.Player;
+import parade.players.PlayerList;
+import util.RandomSource;
+
+/**
+ * Ranks bot strategies by Elo rating, from bot-only games played across all available cores.
+ * <p>
+ * Every game seats some of the entrants, chosen by the {@link Pairing}: a round robin
+ * goes through every group of entrants in turn, while a Swiss ladder seats entrants
+ * next to each other in the current ranking, so that games are played between bots
+ * of similar strength. As in a {@link Tournament}, the games are split into chunks
+ * that are played on a {@link ForkJoinPool}, each with its own players and tables.
+ * Each chunk keeps the outcomes of its last {@value #GAMES_PER_UPDATE} games in two
+ * small arrays and records them in the shared {@link EloRatings} together, so the
+ * ratings move while the run goes on and no game is kept once it is rated.
+ * </p>
+ *
+ * <p>
+ * With {@link #setCheckpoint(Path, long)}, the ratings are saved to a file every so
+ * often and at the end of each run, and a ladder started on an existing file carries
+ * on from it. Chunk {@code i} of a run draws its randomness from stream {@code i} of
+ * the master seed, offset by the number of games already rated, so a resumed ladder
+ * plays new games rather than the ones it has already seen. A round robin plays the
+ * same games from the same seed whatever the number of workers, but since Elo
+ * ratings depend on the order of the games, the final ratings can differ slightly
+ * from one run to the next; the pairings of a Swiss ladder depend on the ratings, so
+ * its games can differ too.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * List<Ladder.Entrant> entrants = List.of(
+ *         new Ladder.Entrant("random", (seat, random) -> new BotPlayer("random", random)),
+ *         new Ladder.Entrant("mcts", (seat, random) -> new MctsBotPlayer("mcts", random, 200, 1000)));
+ * Ladder ladder = new Ladder(entrants, 2, Ladder.Pairing.ROUND_ROBIN, 42L, 8);
+ * ladder.run(100_000);
+ * double rating = ladder.getRatings().getRating(1);
+ * }</pre>
+ *
+ * <p><strong>Command line:</strong></p>
+ * <pre>
+ * java -cp classes parade.sim.Ladder [--entrants random,greedy,mcts:200,...] [--games N] [--players P]
+ *                                    [--pairing round-robin|swiss] [--workers W] [--seed S] [--k K]
+ *                                    [--checkpoint FILE] [--checkpoint-s T]
+ * </pre>
+ *
+ * @author G3T7
+ * @version 1.1
+ * @see EloRatings
+ */
+public class Ladder {
+
+    /**
+     * How the entrants of each game are chosen.
+     */
+    public enum Pairing {
+        /** Every group of entrants plays in turn, so all entrants play equally often. */
+        ROUND_ROBIN,
+        /** Entrants play those next to them in the current ranking. */
+        SWISS
+    }
+
+    /**
+     * A strategy taking part in the ladder.
+     *
+     * @param name    the name shown in the ratings, unique in the ladder
+     * @param factory creates a player of this strategy; given the entrant's index and a random source
+     */
+    public record Entrant(String name, Tournament.SeatFactory factory) {}
+
+    /** Number of games played by each chunk (the last chunk may be smaller). */
+    private static final int GAMES_PER_CHUNK = 4096;
+
+    /** Number of games a chunk plays before recording them in the ratings. */
+    private static final int GAMES_PER_UPDATE = 64;
+
+    /** The most groups of entrants a round robin goes through. */
+    private static final int MAX_ROUND_ROBIN_GROUPS = 1 << 20;
+
+    /** The strategies taking part. */
+    private final List<Entrant> entrants;
+
+    /** The number of players at every table. */
+    private final int numPlayers;
+
+    /** How the players of each game are chosen. */
+    private final Pairing pairing;
+
+    /** The master seed every chunk's random stream is derived from. */
+    private final RandomSource master;
+
+    /** The number of worker threads. */
+    private final int workers;
+
+    /** The ratings, shared by every worker. */
+    private final EloRatings ratings;
+
+    /** For a round robin, every group of entrants as a bitmask of entrant indices; otherwise {@code null}. */
+    private final long[] groups;
+
+    /** The file the ratings are saved to, or {@code null} to not save them. */
+    private Path checkpoint;
+
+    /** The time between two saves, in nanoseconds. */
+    private long checkpointNanos;
+
+    /** When the ratings were last saved, as a {@link System#nanoTime()} value. */
+    private long lastCheckpoint;
+
+    /**
+     * Constructs a ladder with every entrant at the initial rating and the {@link EloRatings#DEFAULT_K default K-factor}.
+     *
+     * @param entrants   the strategies taking part, at most 64
+     * @param numPlayers the number of players at every table (2 to 6), at most the number of entrants
+     * @param pairing    how the players of each game are chosen
+     * @param seed       the master seed of the ladder
+     * @param workers    the number of worker threads to use
+     * @throws IllegalArgumentException if the numbers do not fit, or the names are not unique
+     */
+    public Ladder(List<Entrant> entrants, int numPlayers, Pairing pairing, long seed, int workers) {
+        this(entrants, numPlayers, pairing, seed, workers, EloRatings.DEFAULT_K);
+    }
+
+    /**
+     * Constructs a ladder with every entrant at the initial rating.
+     *
+     * @param entrants   the strategies taking part, at most 64
+     * @param numPlayers the number of players at every table (2 to 6), at most the number of entrants
+     * @param pairing    how the players of each game are chosen
+     * @param seed       the master seed of the ladder
+     * @param workers    the number of worker threads to use
+     * @param k          the K-factor of the ratings
+     * @throws IllegalArgumentException if the numbers do not fit, or the names are not unique
+     */
+    public Ladder(List<Entrant> entrants, int numPlayers, Pairing pairing, long seed, int workers, double k) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("There must be at least one worker.");
+        }
+        if (entrants.size() > Long.SIZE || numPlayers < 2 || numPlayers > entrants.size()) {
+            throw new IllegalArgumentException("A ladder needs between 2 and 64 entrants, and at least as many as the players at a table.");
+        }
+        this.entrants = List.copyOf(entrants);
+        this.numPlayers = numPlayers;
+        this.pairing = pairing;
+        this.master = new RandomSource(seed);
+        this.workers = workers;
+        this.ratings = new EloRatings(this.entrants.stream().map(Entrant::name).toList(), k);
+        this.groups = pairing == Pairing.ROUND_ROBIN ? allGroups(entrants.size(), numPlayers) : null;
+    }
+
+    /**
+     * Saves the ratings to a file during and after every run, first restoring them from it if it exists.
+     *
+     * @param file           the file to save to
+     * @param intervalMillis the time between two saves during a run, in milliseconds
+     * @throws IOException if the file exists but cannot be read as ratings
+     */
+    public void setCheckpoint(Path file, long intervalMillis) throws IOException {
+        if (Files.exists(file)) {
+            ratings.restore(file);
+        }
+        this.checkpoint = file;
+        this.checkpointNanos = intervalMillis * 1_000_000L;
+        this.lastCheckpoint = System.nanoTime();
+    }
+
+    /**
+     * Returns the ratings, which may be read at any time, even during a run.
+     *
+     * @return the ratings, indexed like the entrants
+     */
+    public EloRatings getRatings() {
+        return ratings;
+    }
+
+    /**
+     * Plays the given number of games and records them in the ratings.
+     * <p>
+     * A round robin carries on from the group after the last game already rated, so
+     * a resumed ladder keeps going through the groups rather than starting over.
+     * </p>
+     *
+     * @param games the number of games to play
+     * @throws InterruptedException if the calling thread is interrupted; the games not
+     *                              started yet are cancelled, and the ratings so far are
+     *                              saved before this is thrown
+     * @throws UncheckedIOException if the ratings cannot be saved
+     */
+    public void run(long games) throws InterruptedException {
+        long rated = ratings.getTotalGames();
+        RandomSource runRandom = master.derive(rated);
+        List<Callable<Void>> chunks = new ArrayList<>();
+        for (long first = 0; first < games; first += GAMES_PER_CHUNK) {
+            long chunkFirst = rated + first;
+            RandomSource chunkRandom = runRandom.derive(first / GAMES_PER_CHUNK);
+            long chunkGames = Math.min(GAMES_PER_CHUNK, games - first);
+            chunks.add(() -> {
+                playChunk(chunkFirst, chunkGames, chunkRandom);
+                return null;
+            });
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(workers);
+        try {
+            for (Future<Void> f : pool.invokeAll(chunks)) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            saveCheckpoint(true);
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A ladder worker failed.", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        saveCheckpoint(true);
+    }
+
+    /**
+     * Plays a chunk of games with players and tables owned by the calling thread.
+     * <p>
+     * Each entrant has one player for the whole chunk, who sits at whichever table it
+     * is needed at, and each group of entrants keeps its own table.
+     * </p>
+     *
+     * @param first  the number of the chunk's first game, counting every game rated before this run
+     * @param games  the number of games to play
+     * @param random the random stream of this chunk
+     */
+    private void playChunk(long first, long games, RandomSource random) {
+        Player[] players = new Player[entrants.size()];
+        for (int e = 0; e < players.length; e++) {
+            players[e] = entrants.get(e).factory().create(e, random.derive(e));
+        }
+        Map<Long, HeadlessGame> tables = new HashMap<>();
+        int[] seated = new int[GAMES_PER_UPDATE * numPlayers];
+        int[] scores = new int[GAMES_PER_UPDATE * numPlayers];
+        int[] ranking = pairing == Pairing.SWISS ? ratings.ranking() : null;
+
+        int pending = 0;
+        for (long g = 0; g < games; g++) {
+            long group = groups != null ? groups[(int) ((first + g) % groups.length)] : swissGroup(ranking, random);
+            HeadlessGame table = tables.get(group);
+            if (table == null) {
+                ArrayList<Player> seats = new ArrayList<>();
+                for (long m = group; m != 0; m &= m - 1) {
+                    seats.add(players[Long.numberOfTrailingZeros(m)]);
+                }
+                table = new HeadlessGame(new PlayerList(seats, random), random, GameListener.NONE);
+                tables.put(group, table);
+            }
+
+            GameResult result = table.play(random.nextLong());
+            int at = pending * numPlayers;
+            for (long m = group; m != 0; m &= m - 1) {
+                int e = Long.numberOfTrailingZeros(m);
+                seated[at] = e;
+                scores[at++] = result.getScore(players[e]);
+            }
+            if (++pending == GAMES_PER_UPDATE) {
+                ratings.recordAll(seated, scores, numPlayers, pending);
+                pending = 0;
+                if (ranking != null) {
+                    ranking = ratings.ranking();
+                }
+                saveCheckpoint(false);
+            }
+        }
+        ratings.recordAll(seated, scores, numPlayers, pending);
+    }
+
+    /**
+     * Picks the entrants of a Swiss game: a random entrant and its neighbours in the ranking.
+     *
+     * @param ranking the entrants, best first
+     * @param random  the random source of the chunk
+     * @return the entrants, as a bitmask of entrant indices
+     */
+    private long swissGroup(int[] ranking, RandomSource random) {
+        int start = Math.max(0, Math.min(random.nextInt(ranking.length) - numPlayers / 2, ranking.length - numPlayers));
+        long group = 0;
+        for (int i = start; i < start + numPlayers; i++) {
+            group |= 1L << ranking[i];
+        }
+        return group;
+    }
+
+    /**
+     * Lists every group of a given size drawn from the entrants, in increasing order of their bitmasks.
+     *
+     * @param n    the number of entrants
+     * @param size the number of entrants in a group
+     * @return the groups, as bitmasks of entrant indices
+     * @throws IllegalArgumentException if there are too many groups for a round robin
+     */
+    private static long[] allGroups(int n, int size) {
+        long count = 1;
+        for (int i = 0; i < size; i++) {
+            count = count * (n - i) / (i + 1);
+        }
+        if (count > MAX_ROUND_ROBIN_GROUPS) {
+            throw new IllegalArgumentException("Too many groups for a round robin (" + count + "); use a Swiss ladder.");
+        }
+        long[] groups = new long[(int) count];
+        // Gosper's hack: the next larger bitmask with the same number of bits set
+        long group = (1L << size) - 1;
+        for (int i = 0; i < groups.length; i++) {
+            groups[i] = group;
+            long low = group & -group;
+            long ripple = group + low;
+            group = (((ripple ^ group) >>> 2) / low) | ripple;
+        }
+        return groups;
+    }
+
+    /**
+     * Saves the ratings if a checkpoint is due, or straight away if {@code force} is set.
+     *
+     * @param force whether to save even if the last save was recent
+     * @throws UncheckedIOException if the ratings cannot be saved
+     */
+    private synchronized void saveCheckpoint(boolean force) {
+        if (checkpoint == null || (!force && System.nanoTime() - lastCheckpoint < checkpointNanos)) {
+            return;
+        }
+        try {
+            ratings.save(checkpoint);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        lastCheckpoint = System.nanoTime();
+    }
+
+    /**
+     * Creates the entrants described on the command line.
+     * <p>
+     * Each entry is {@code random} for a {@link BotPlayer}, {@code greedy} for a
+     * {@link HeuristicBotPlayer} with the default weights, or {@code mcts:X} for an
+     * {@link MctsBotPlayer} limited to {@code X} playouts per move. Repeated entries
+     * get a number after their name.
+     * </p>
+     *
+     * @param spec the entries, separated by commas
+     * @return the entrants
+     * @throws IllegalArgumentException if an entry is not understood
+     */
+    static List<Entrant> parseEntrants(String spec) {
+        List<Entrant> list = new ArrayList<>();
+        Map<String, Integer> seen = new HashMap<>();
+        for (String entry : spec.split(",")) {
+            String kind = entry.trim();
+            int copy = seen.merge(kind, 1, Integer::sum);
+            String name = copy == 1 ? kind : kind + " #" + copy;
+            if (kind.equals("random")) {
+                list.add(new Entrant(name, (seat, random) -> new BotPlayer(name, random)));
+            } else if (kind.equals("greedy")) {
+                list.add(new Entrant(name, (seat, random) -> new HeuristicBotPlayer(name, random)));
+            } else if (kind.startsWith("mcts:")) {
+                int playouts = Integer.parseInt(kind.substring("mcts:".length()));
+                // A generous time limit, so the playouts alone decide and games stay reproducible
+                list.add(new Entrant(name, (seat, random) -> new MctsBotPlayer(name, random, playouts, 60_000)));
+            } else {
+                throw new IllegalArgumentException("Unknown entrant: " + kind);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Runs a ladder from the command line and prints the ratings, best first.
+     *
+     * @param args {@code --entrants LIST}, {@code --games N}, {@code --players P}, {@code --pairing round-robin|swiss},
+     *             {@code --workers W}, {@code --seed S}, {@code --k K}, {@code --checkpoint FILE} and
+     *             {@code --checkpoint-s T}, all optional
+     * @throws IOException          if the checkpoint file exists but cannot be read
+     * @throws InterruptedException if the ladder is interrupted
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String spec = "random,mcts:50,mcts:200";
+        long games = 10_000;
+        int players = 2;
+        Pairing pairing = Pairing.ROUND_ROBIN;
+        int workers = Runtime.getRuntime().availableProcessors();
+        long seed = new RandomSource().getSeed();
+        double k = EloRatings.DEFAULT_K;
+        Path checkpoint = null;
+        long checkpointSeconds = 60;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--entrants" -> spec = args[i + 1];
+                case "--games" -> games = Long.parseLong(args[i + 1]);
+                case "--players" -> players = Integer.parseInt(args[i + 1]);
+                case "--pairing" -> pairing = Pairing.valueOf(args[i + 1].toUpperCase().replace('-', '_'));
+                case "--workers" -> workers = Integer.parseInt(args[i + 1]);
+                case "--seed" -> seed = Long.parseLong(args[i + 1]);
+                case "--k" -> k = Double.parseDouble(args[i + 1]);
+                case "--checkpoint" -> checkpoint = Path.of(args[i + 1]);
+                case "--checkpoint-s" -> checkpointSeconds = Long.parseLong(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        Ladder ladder = new Ladder(parseEntrants(spec), players, pairing, seed, workers, k);
+        if (checkpoint != null) {
+            ladder.setCheckpoint(checkpoint, checkpointSeconds * 1000);
+        }
+        long start = System.nanoTime();
+        ladder.run(games);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        EloRatings ratings = ladder.getRatings();
+        System.out.println("=== Ratings ===");
+        System.out.printf("%4s  %7s  %10s  %6s  %s%n", "Rank", "Rating", "Games", "Win %", "Entrant");
+        int[] ranking = ratings.ranking();
+        for (int r = 0; r < ranking.length; r++) {
+            int e = ranking[r];
+            long played = ratings.getGames(e);
+            System.out.printf("%4d  %7.1f  %10d  %6.2f  %s%n", r + 1, ratings.getRating(e), played,
+                    played == 0 ? 0.0 : 100.0 * ratings.getWins(e) / played, ratings.getName(e));
+        }
+        System.out.printf("%d games on %d workers in %.2fs (%.0f games/s), %d rated in total, seed %d%n",
+                games, workers, seconds, games / seconds, ratings.getTotalGames(), seed);
+    }
+}
@@ -0,0 +1,474 @@
+package parade.sim;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import parade.game.GameListener;
+import parade.game.GameResult;
+import parade.game.HeadlessGame;
+import parade.players.BotPlayer;
+import parade.players.HeuristicBotPlayer;
+import parade.players.MctsBotPlayer;
+import parade.players.Player;
+import parade.players.PlayerList;
+import util.RandomSource;
+
+/**
+ * Tunes the weights of a {@link HeuristicBotPlayer} by playing bot-only games across all available cores.
+ * <p>
+ * The search runs in generations. Each generation draws {@code lambda} new weight
+ * vectors and plays every one of them, and the current best, against the same
+ * opponents for the same number of games. A candidate's <em>lead</em> is its score
+ * minus the lowest score of its opponents, averaged over its games; the lowest score
+ * wins, so a smaller lead is better. A new candidate replaces the best only if its
+ * lead is smaller on the games of that generation.
+ * </p>
+ *
+ * <p>
+ * Two ways of drawing candidates are offered. {@link Method#EVOLUTION} is a
+ * (1+&lambda;) evolution strategy: candidates are the best weights plus Gaussian
+ * noise, and the step size grows after a generation that found better weights and
+ * shrinks after one that did not, following the one-fifth success rule.
+ * {@link Method#RANDOM} draws candidates uniformly from a box around the starting
+ * weights, whatever was found so far. Since only the ratios of the weights change
+ * how the bot plays, every candidate is scaled to unit length.
+ * </p>
+ *
+ * <p>
+ * Every candidate of a generation is played on <em>common random numbers</em>: the
+ * games are split into chunks, and chunk {@code k} of every candidate deals the
+ * same cards from the same seeds and gives its opponents the same random streams.
+ * The differences between candidates then come from their play rather than from
+ * their luck, which needs far fewer games than independent samples. All chunks of
+ * all candidates of a generation are played on one {@link ForkJoinPool}, so even a
+ * short evaluation keeps every core busy, and the results are added up in a fixed
+ * order, so a search is reproducible from its seed whatever the number of workers.
+ * </p>
+ *
+ * <p>
+ * After every generation, one row is written to the convergence log, if one is set:
+ * the generation, the games played so far, the step size, the lead and win rate of
+ * the best weights and the lead of the best new candidate, and the best weights.
+ * The same rows can be followed as they come with {@link #setProgress(Consumer)}.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * ParameterSearch search = new ParameterSearch(3,
+ *         (seat, random) -> new HeuristicBotPlayer("Greedy " + seat, random),
+ *         ParameterSearch.Method.EVOLUTION, 8, 2000, 42L, 8);
+ * search.setConvergenceLog(Path.of("search.csv"));
+ * double[] weights = search.run(HeuristicBotPlayer.defaultWeights(), 50);
+ * }</pre>
+ *
+ * <p><strong>Command line:</strong></p>
+ * <pre>
+ * java -cp classes parade.sim.ParameterSearch [--method evolution|random] [--generations G] [--lambda L]
+ *                                             [--games N] [--players P] [--opponent greedy|random|mcts:X]
+ *                                             [--sigma S] [--start W,W,...] [--workers W] [--seed S] [--csv FILE]
+ * </pre>
+ *
+ * @author G3T7
+ * @version 1.0
+ * @see HeuristicBotPlayer
+ */
+public class ParameterSearch {
+
+    /**
+     * How the candidates of each generation are drawn.
+     */
+    public enum Method {
+        /** A (1+&lambda;) evolution strategy around the best weights so far. */
+        EVOLUTION,
+        /** Uniform samples from a box around the starting weights. */
+        RANDOM
+    }
+
+    /** Number of games played by each chunk (the last chunk of a candidate may be smaller). */
+    private static final int GAMES_PER_CHUNK = 256;
+
+    /** The factor the step size grows by after a successful generation. */
+    private static final double STEP_UP = 1.5;
+
+    /** The factor the step size shrinks by after an unsuccessful one, so that it holds steady at one success in five. */
+    private static final double STEP_DOWN = Math.pow(STEP_UP, -0.25);
+
+    /** The smallest step size, below which the search could no longer tell candidates apart. */
+    private static final double MIN_STEP = 1e-3;
+
+    /** The largest step size; weights have unit length, so larger steps are no better than random ones. */
+    private static final double MAX_STEP = 1.0;
+
+    /** The header of the convergence log. */
+    private static final String HEADER;
+
+    static {
+        StringBuilder header = new StringBuilder("generation,games,step,lead,win_rate,best_candidate_lead");
+        for (String feature : HeuristicBotPlayer.FEATURES) {
+            header.append(",w_").append(feature.replace('-', '_'));
+        }
+        HEADER = header.toString();
+    }
+
+    /** The number of players at every table, the candidate included. */
+    private final int numPlayers;
+
+    /** Creates the opponents, given seats 1 and up; the candidate sits in seat 0. */
+    private final Tournament.SeatFactory opponents;
+
+    /** How candidates are drawn. */
+    private final Method method;
+
+    /** The number of new candidates per generation. */
+    private final int lambda;
+
+    /** The number of games each candidate plays per generation. */
+    private final long games;
+
+    /** The master seed every generation's random streams are derived from. */
+    private final RandomSource master;
+
+    /** The number of worker threads. */
+    private final int workers;
+
+    /** The starting step size, or the half-width of the box for a random search. */
+    private double step = 0.5;
+
+    /** The file the convergence curve is written to, or {@code null} for none. */
+    private Path convergenceLog;
+
+    /** Receives each row of the convergence curve as it is made. */
+    private Consumer<String> progress = row -> {};
+
+    /**
+     * Constructs a search.
+     *
+     * @param numPlayers the number of players at every table (2 to 6), the candidate included
+     * @param opponents  creates the opponents, given seats 1 to {@code numPlayers - 1}
+     * @param method     how candidates are drawn
+     * @param lambda     the number of new candidates per generation
+     * @param games      the number of games each candidate plays per generation
+     * @param seed       the master seed of the search
+     * @param workers    the number of worker threads to use
+     * @throws IllegalArgumentException if a number is out of range
+     */
+    public ParameterSearch(int numPlayers, Tournament.SeatFactory opponents, Method method,
+                           int lambda, long games, long seed, int workers) {
+        if (numPlayers < 2 || lambda < 1 || games < 1 || workers < 1) {
+            throw new IllegalArgumentException("A search needs 2 or more players, and at least one candidate, game and worker.");
+        }
+        this.numPlayers = numPlayers;
+        this.opponents = opponents;
+        this.method = method;
+        this.lambda = lambda;
+        this.games = games;
+        this.master = new RandomSource(seed);
+        this.workers = workers;
+    }
+
+    /**
+     * Sets the starting step size of an evolution strategy, or the half-width of the box of a random search.
+     * <p>
+     * Weights are scaled to unit length, so steps between about 0.05 and 1 make sense.
+     * The default is 0.5.
+     * </p>
+     *
+     * @param step the step size
+     */
+    public void setStepSize(double step) {
+        this.step = step;
+    }
+
+    /**
+     * Writes the convergence curve to a CSV file, one row per generation.
+     *
+     * @param file the file to write, replaced if it exists
+     */
+    public void setConvergenceLog(Path file) {
+        this.convergenceLog = file;
+    }
+
+    /**
+     * Reports the convergence curve as the search runs, one CSV row per generation, in
+     * the format of the convergence log. Nothing is reported by default.
+     *
+     * @param progress receives each row, on the thread running the search
+     */
+    public void setProgress(Consumer<String> progress) {
+        this.progress = progress;
+    }
+
+    /**
+     * Returns the header of the convergence curve, naming its columns.
+     *
+     * @return the first line of the convergence log
+     */
+    public static String getHeader() {
+        return HEADER;
+    }
+
+    /**
+     * Runs the search and returns the best weights found.
+     *
+     * @param start       the starting weights, one per {@link HeuristicBotPlayer#FEATURES feature}
+     * @param generations the number of generations to run
+     * @return the best weights, scaled to unit length
+     * @throws IOException if the convergence log cannot be written
+     */
+    public double[] run(double[] start, int generations) throws IOException {
+        double[] origin = normalise(start.clone());
+        double[] best = origin.clone();
+        double sigma = step;
+
+        BufferedWriter log = convergenceLog == null ? null : Files.newBufferedWriter(convergenceLog);
+        try {
+            if (log != null) {
+                log.write(HEADER);
+                log.newLine();
+            }
+            for (int g = 0; g < generations; g++) {
+                RandomSource generation = master.derive(g);
+                RandomSource mutation = generation.derive(0);
+
+                List<double[]> candidates = new ArrayList<>();
+                candidates.add(best);
+                for (int i = 0; i < lambda; i++) {
+                    double[] w = new double[best.length];
+                    for (int f = 0; f < w.length; f++) {
+                        w[f] = method == Method.EVOLUTION
+                                ? best[f] + sigma * mutation.nextGaussian()
+                                : origin[f] + step * (2.0 * mutation.nextDouble() - 1.0);
+                    }
+                    candidates.add(normalise(w));
+                }
+
+                long[][] totals = evaluate(candidates, generation.derive(1));
+                int bestChild = 1;
+                for (int c = 2; c < candidates.size(); c++) {
+                    if (totals[c][0] < totals[bestChild][0]) {
+                        bestChild = c;
+                    }
+                }
+                boolean improved = totals[bestChild][0] < totals[0][0];
+                int winner = improved ? bestChild : 0;
+                if (method == Method.EVOLUTION) {
+                    sigma = Math.min(MAX_STEP, Math.max(MIN_STEP, sigma * (improved ? STEP_UP : STEP_DOWN)));
+                }
+                best = candidates.get(winner);
+
+                String row = String.format(Locale.ROOT, "%d,%d,%.4f,%.4f,%.4f,%.4f", g + 1,
+                        (g + 1) * games * candidates.size(), method == Method.EVOLUTION ? sigma : step,
+                        (double) totals[winner][0] / games, (double) totals[winner][1] / games,
+                        (double) totals[bestChild][0] / games);
+                StringBuilder line = new StringBuilder(row);
+                for (double w : best) {
+                    line.append(String.format(Locale.ROOT, ",%.4f", w));
+                }
+                progress.accept(line.toString());
+                if (log != null) {
+                    log.write(line.toString());
+                    log.newLine();
+                    log.flush();
+                }
+            }
+        } finally {
+            if (log != null) {
+                log.close();
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Plays every candidate on the same games and adds up how each did.
+     * <p>
+     * Chunk {@code k} of every candidate draws its randomness from stream {@code k} of
+     * {@code random}, so all candidates are dealt the same games.
+     * </p>
+     *
+     * @param candidates the weights of each candidate
+     * @param random     the random source of this evaluation
+     * @return for each candidate, the sum of its leads over all its games and its number of wins
+     */
+    long[][] evaluate(List<double[]> candidates, RandomSource random) {
+        List<Callable<long[]>> chunks = new ArrayList<>();
+        for (double[] weights : candidates) {
+            for (long first = 0; first < games; first += GAMES_PER_CHUNK) {
+                RandomSource chunkRandom = random.derive(first / GAMES_PER_CHUNK);
+                long chunkGames = Math.min(GAMES_PER_CHUNK, games - first);
+                chunks.add(() -> playChunk(weights, chunkGames, chunkRandom));
+            }
+        }
+
+        long[][] totals = new long[candidates.size()][2];
+        int chunksPerCandidate = chunks.size() / candidates.size();
+        ForkJoinPool pool = new ForkJoinPool(workers);
+        try {
+            List<Future<long[]>> results = pool.invokeAll(chunks);
+            for (int i = 0; i < results.size(); i++) {
+                long[] chunk = results.get(i).get();
+                long[] total = totals[i / chunksPerCandidate];
+                total[0] += chunk[0];
+                total[1] += chunk[1];
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The search was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A search worker failed.", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return totals;
+    }
+
+    /**
+     * Plays a chunk of games between one candidate and its opponents, on a table owned by the calling thread.
+     *
+     * @param weights the candidate's weights
+     * @param games   the number of games to play
+     * @param random  the random stream of this chunk, the same for every candidate
+     * @return the sum of the candidate's leads and its number of wins
+     */
+    private long[] playChunk(double[] weights, long games, RandomSource random) {
+        ArrayList<Player> seats = new ArrayList<>();
+        Player candidate = new HeuristicBotPlayer("Candidate", random.derive(0), weights);
+        seats.add(candidate);
+        for (int i = 1; i < numPlayers; i++) {
+            seats.add(opponents.create(i, random.derive(i)));
+        }
+        // The deals come from their own stream, so that no player's choices can shift them
+        RandomSource deals = random.derive(numPlayers);
+        HeadlessGame game = new HeadlessGame(new PlayerList(seats, deals), deals, GameListener.NONE);
+
+        long lead = 0;
+        long wins = 0;
+        for (long g = 0; g < games; g++) {
+            GameResult result = game.play(deals.nextLong());
+            int score = result.getScore(candidate);
+            int bestOther = Integer.MAX_VALUE;
+            for (int i = 1; i < numPlayers; i++) {
+                bestOther = Math.min(bestOther, result.getScore(seats.get(i)));
+            }
+            lead += score - bestOther;
+            if (score <= bestOther) {
+                wins++;
+            }
+        }
+        return new long[] {lead, wins};
+    }
+
+    /**
+     * Scales weights to unit length, in place, leaving all-zero weights as they are.
+     *
+     * @param weights the weights
+     * @return the same array
+     */
+    private static double[] normalise(double[] weights) {
+        double norm = 0.0;
+        for (double w : weights) {
+            norm += w * w;
+        }
+        if (norm > 0.0) {
+            norm = Math.sqrt(norm);
+            for (int f = 0; f < weights.length; f++) {
+                weights[f] /= norm;
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * Runs a search from the command line and prints the convergence curve and the best weights.
+     * <p>
+     * The opponents are greedy {@link HeuristicBotPlayer}s with the default weights,
+     * random {@link BotPlayer}s, or {@link MctsBotPlayer}s limited to {@code X}
+     * playouts per move.
+     * </p>
+     *
+     * @param args {@code --method evolution|random}, {@code --generations G}, {@code --lambda L},
+     *             {@code --games N}, {@code --players P}, {@code --opponent greedy|random|mcts:X},
+     *             {@code --sigma S}, {@code --start W,W,...}, {@code --workers W}, {@code --seed S}
+     *             and {@code --csv FILE}, all optional
+     * @throws IOException if the convergence log cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Method method = Method.EVOLUTION;
+        int generations = 30;
+        int lambda = 8;
+        long games = 2000;
+        int players = 3;
+        String opponent = "greedy";
+        double sigma = 0.5;
+        double[] start = HeuristicBotPlayer.defaultWeights();
+        int workers = Runtime.getRuntime().availableProcessors();
+        long seed = new RandomSource().getSeed();
+        Path csv = null;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--method" -> method = Method.valueOf(args[i + 1].toUpperCase());
+                case "--generations" -> generations = Integer.parseInt(args[i + 1]);
+                case "--lambda" -> lambda = Integer.parseInt(args[i + 1]);
+                case "--games" -> games = Long.parseLong(args[i + 1]);
+                case "--players" -> players = Integer.parseInt(args[i + 1]);
+                case "--opponent" -> opponent = args[i + 1];
+                case "--sigma" -> sigma = Double.parseDouble(args[i + 1]);
+                case "--start" -> {
+                    String[] fields = args[i + 1].split(",");
+                    start = new double[fields.length];
+                    for (int f = 0; f < fields.length; f++) {
+                        start[f] = Double.parseDouble(fields[f].trim());
+                    }
+                }
+                case "--workers" -> workers = Integer.parseInt(args[i + 1]);
+                case "--seed" -> seed = Long.parseLong(args[i + 1]);
+                case "--csv" -> csv = Path.of(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (start.length != HeuristicBotPlayer.NUM_FEATURES) {
+            throw new IllegalArgumentException("--start needs " + HeuristicBotPlayer.NUM_FEATURES + " weights.");
+        }
+
+        Tournament.SeatFactory factory;
+        if (opponent.equals("greedy")) {
+            factory = (seat, random) -> new HeuristicBotPlayer("Bot " + seat, random);
+        } else if (opponent.equals("random")) {
+            factory = (seat, random) -> new BotPlayer("Bot " + seat, random);
+        } else if (opponent.startsWith("mcts:")) {
+            int playouts = Integer.parseInt(opponent.substring("mcts:".length()));
+            // A generous time limit, so the playouts alone decide and games stay reproducible
+            factory = (seat, random) -> new MctsBotPlayer("Bot " + seat, random, playouts, 60_000);
+        } else {
+            throw new IllegalArgumentException("Unknown opponent: " + opponent);
+        }
+
+        ParameterSearch search = new ParameterSearch(players, factory, method, lambda, games, seed, workers);
+        search.setStepSize(sigma);
+        search.setConvergenceLog(csv);
+        search.setProgress(System.out::println);
+        long begin = System.nanoTime();
+        System.out.println(getHeader());
+        double[] best = search.run(start, generations);
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        System.out.println("=== Best weights ===");
+        for (int f = 0; f < best.length; f++) {
+            System.out.printf(Locale.ROOT, "%-14s %8.4f%n", HeuristicBotPlayer.FEATURES[f], best[f]);
+        }
+        long played = generations * games * (lambda + 1L);
+        System.out.printf("%d games on %d workers in %.2fs (%.0f games/s), seed %d%n",
+                played, workers, seconds, played / seconds, seed);
+    }
+}
@@ -0,0 +1,344 @@
+package parade.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import parade.cards.Card;
+import parade.cards.CardSet;
+import parade.cards.Colour;
+import parade.game.EndGameReason;
+import parade.game.GameListener;
+import parade.game.GameResult;
+import parade.game.HeadlessGame;
+import parade.game.Parade;
+import parade.game.TerminalScreen;
+import parade.players.BotPlayer;
+import parade.players.Player;
+import parade.players.PlayerList;
+import util.RandomSource;
+
+/**
+ * Shows headless games live in the terminal, redrawing only what each turn changes.
+ * <p>
+ * The spectator listens to a {@link HeadlessGame} and keeps a fixed layout on a
+ * {@link TerminalScreen}: the game, the turn and deck count, the parade, and one row
+ * per player with their collection grouped by colour, marking the player to move.
+ * The winner is shown below once the game is over. Cards and counts are padded to a
+ * fixed width, so that they can be redrawn in place.
+ * </p>
+ *
+ * <p>
+ * A frame is drawn once per turn and once per player in the discard phase. Since a
+ * turn only changes the parade, one collection row, the marker and the counts, a
+ * frame is about a hundred bytes instead of the whole table, so even games played
+ * at full speed stay readable.
+ * </p>
+ *
+ * <p>
+ * Collected cards are reported before they reach the player's collection, so the
+ * spectator adds them to the row itself.
+ * </p>
+ *
+ * <p><strong>Command line:</strong></p>
+ * <pre>
+ * java -cp classes parade.sim.Spectator [--games N] [--players P] [--seed S] [--delay-ms D]
+ * </pre>
+ *
+ * @author G3T7
+ * @version 1.0
+ */
+public class Spectator implements GameListener {
+
+    /** Resets the colours of the terminal. */
+    private static final String RESET = "\u001B[0m";
+
+    /** Rows above the player rows: turn, deck, parade and a blank line. */
+    private static final int PLAYER_ROW = 4;
+
+    /** Columns taken by each card cell, enough for the widest card and a space. */
+    private static final int CARD_WIDTH = 10;
+
+    /** The cell of each card, padded to {@link #CARD_WIDTH} so that cards can be redrawn in place. */
+    private static final String[] CARD_CELLS = new String[Card.NUM_CARDS];
+
+    static {
+        for (int i = 0; i < Card.NUM_CARDS; i++) {
+            int width = Card.colourOf(i).toString().length() + 1 + Integer.toString(Card.numberOf(i)).length();
+            CARD_CELLS[i] = Card.toString(i) + " ".repeat(CARD_WIDTH - width);
+        }
+    }
+
+    /** The screen the games are drawn on. */
+    private final TerminalScreen screen;
+
+    /** Pause after each frame, in milliseconds. */
+    private final long delayMillis;
+
+    /** The text of each colour cell, by colour and lane, built when first shown. */
+    private final String[][] laneCells = new String[Card.NUM_COLOURS][1 << Card.NUMBERS_PER_COLOUR];
+
+    /** Reused to build the cells of the parade row. */
+    private final List<String> paradeCells = new ArrayList<>();
+
+    /** The players of the current game, in turn order. */
+    private PlayerList players;
+
+    /** The parade of the current game. */
+    private Parade parade;
+
+    /** The name column of the player rows, padded to the same width. */
+    private String[] names;
+
+    /** The cells of each player row, starting with the marker of the player to move. */
+    private String[][] playerCells;
+
+    /** The player whose turn it is, or -1 for none. */
+    private int active;
+
+    /** The label of the current phase. */
+    private String phase;
+
+    /** The number of games shown so far. */
+    private int games;
+
+    /**
+     * Constructs a spectator drawing on the console.
+     *
+     * @param numPlayers  the number of players in each game
+     * @param delayMillis the pause after each frame, in milliseconds
+     */
+    public Spectator(int numPlayers, long delayMillis) {
+        this.screen = new TerminalScreen(PLAYER_ROW + numPlayers + 2);
+        this.delayMillis = delayMillis;
+    }
+
+    /**
+     * Returns the screen the games are drawn on.
+     *
+     * @return the screen
+     */
+    public TerminalScreen getScreen() {
+        return screen;
+    }
+
+    @Override
+    public void onGameStart(PlayerList players, Parade parade) {
+        this.players = players;
+        this.parade = parade;
+        this.phase = "";
+        games++;
+
+        int n = players.getNumberOfPlayers();
+        int width = 0;
+        for (Player p : players.getPlayerList()) {
+            width = Math.max(width, p.getName().length());
+        }
+        names = new String[n];
+        playerCells = new String[n][Card.NUM_COLOURS + 3];
+        active = -1;
+        for (int i = 0; i < n; i++) {
+            Player p = players.getPlayer(i);
+            names[i] = p.getName() + " ".repeat(width - p.getName().length() + 2);
+            showPlayer(i, p.getCollectedSet(), List.of(), null);
+        }
+
+        showTable(0);
+        screen.setRow(PLAYER_ROW + n + 1);
+        draw();
+    }
+
+    @Override
+    public void onCardPlayed(int turn, Player player, Card card) {
+        setActive(player.getSeat());
+    }
+
+    @Override
+    public void onCardsCollected(int turn, Player player, List<Card> cards) {
+        showPlayer(player.getSeat(), player.getCollectedSet(), cards, null);
+        showTable(turn + 1);
+        draw();
+    }
+
+    @Override
+    public void onFinalRound(int turn, Player player, EndGameReason reason) {
+        phase = reason == EndGameReason.DECK_EXHAUSTED ? "  (final round: deck exhausted)"
+                : "  (final round: " + player.getName() + " has all colours)";
+    }
+
+    @Override
+    public void onCardDiscarded(Player player, Card card) {
+        phase = "  (discarding)";
+        setActive(player.getSeat());
+    }
+
+    @Override
+    public void onGameOver(GameResult result) {
+        List<Player> order = result.getPlayers();
+        setActive(-1);
+        for (int i = 0; i < order.size(); i++) {
+            Player p = order.get(i);
+            showPlayer(i, p.getCollectedSet(), List.of(), "score " + result.getScore(i) + "  ");
+        }
+
+        StringBuilder winners = new StringBuilder("Winner: ");
+        for (Player p : result.getWinners()) {
+            winners.append(p.getName()).append(' ');
+        }
+        phase = "  (game over)";
+        screen.setRow(0, "Game " + games + phase);
+        screen.setRow(1, "Turn ", pad(result.getTurns()), "  Deck: ", "-  ");
+        screen.setRow(PLAYER_ROW + order.size() + 1, winners.append("with ").append(result.getMinScore()).toString());
+        draw();
+    }
+
+    /**
+     * Sets the turn, deck and parade rows.
+     *
+     * @param turns the number of turns played
+     */
+    private void showTable(int turns) {
+        screen.setRow(0, "Game " + games + phase);
+        screen.setRow(1, "Turn ", pad(turns), "  Deck: ", pad(players.getPlayer(0).getTable().getDeckSize()));
+
+        paradeCells.clear();
+        paradeCells.add("Parade: ");
+        for (int i = 0; i < parade.size(); i++) {
+            paradeCells.add(CARD_CELLS[parade.getCard(i).getIndex()]);
+        }
+        screen.setRow(2, paradeCells);
+    }
+
+    /**
+     * Sets a player's row: their name, optionally a score, then their cards by colour.
+     *
+     * @param seat      the player's index in turn order
+     * @param collected the cards the player has collected
+     * @param pending   cards being collected that are not in {@code collected} yet
+     * @param score     the score cell, or {@code null} for none
+     */
+    private void showPlayer(int seat, CardSet collected, List<Card> pending, String score) {
+        int[] lanes = new int[Card.NUM_COLOURS];
+        for (int c = 0; c < lanes.length; c++) {
+            lanes[c] = collected.lane(c);
+        }
+        for (Card card : pending) {
+            lanes[card.getCardColour().ordinal()] |= 1 << card.getCardNum();
+        }
+
+        String[] cells = playerCells[seat];
+        cells[0] = seat == active ? "> " : "  ";
+        cells[1] = names[seat];
+        cells[2] = score == null ? "" : score;
+        for (int c = 0; c < lanes.length; c++) {
+            cells[c + 3] = laneCell(c, lanes[c]);
+        }
+        screen.setRow(PLAYER_ROW + seat, cells);
+    }
+
+    /**
+     * Moves the marker of the player to move.
+     *
+     * @param seat the index in turn order of the player to move, or -1 for none
+     */
+    private void setActive(int seat) {
+        if (seat == active) {
+            return;
+        }
+        if (active >= 0) {
+            playerCells[active][0] = "  ";
+            screen.setRow(PLAYER_ROW + active, playerCells[active]);
+        }
+        active = seat;
+        if (active >= 0) {
+            playerCells[active][0] = "> ";
+            screen.setRow(PLAYER_ROW + active, playerCells[active]);
+        }
+    }
+
+    /**
+     * Returns the cell showing the cards of one colour, such as {@code "RED 1 4 9"}.
+     *
+     * @param colour the ordinal of the colour
+     * @param lane   the numbers held in that colour, as a {@link CardSet#lane(int) lane}
+     * @return the coloured text of the cell, empty if the lane is empty
+     */
+    private String laneCell(int colour, int lane) {
+        String cell = laneCells[colour][lane];
+        if (cell == null) {
+            if (lane == 0) {
+                cell = "";
+            } else {
+                Colour c = Colour.values()[colour];
+                StringBuilder text = new StringBuilder(c.getColourCode()).append(c);
+                for (int bits = lane; bits != 0; bits &= bits - 1) {
+                    text.append(' ').append(Integer.numberOfTrailingZeros(bits));
+                }
+                cell = text.append(RESET).append("  ").toString();
+            }
+            laneCells[colour][lane] = cell;
+        }
+        return cell;
+    }
+
+    /**
+     * Pads a number to three columns, so that counting down redraws it in place.
+     *
+     * @param value the number
+     * @return the padded number
+     */
+    private static String pad(int value) {
+        String text = Integer.toString(value);
+        return text.length() >= 3 ? text : text + " ".repeat(3 - text.length());
+    }
+
+    /**
+     * Draws the next frame and waits for the configured delay.
+     */
+    private void draw() {
+        screen.render();
+        if (delayMillis > 0) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Plays bot-only games and shows them in the terminal.
+     *
+     * @param args {@code --games N}, {@code --players P}, {@code --seed S} and
+     *             {@code --delay-ms D}, all optional
+     */
+    public static void main(String[] args) {
+        int games = 1;
+        int players = 4;
+        long seed = new RandomSource().getSeed();
+        long delayMillis = 150;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--games" -> games = Integer.parseInt(args[i + 1]);
+                case "--players" -> players = Integer.parseInt(args[i + 1]);
+                case "--seed" -> seed = Long.parseLong(args[i + 1]);
+                case "--delay-ms" -> delayMillis = Long.parseLong(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        RandomSource random = new RandomSource(seed);
+        ArrayList<Player> seats = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            seats.add(new BotPlayer("Bot " + (i + 1), random.derive(i)));
+        }
+        Spectator spectator = new Spectator(players, delayMillis);
+        HeadlessGame game = new HeadlessGame(new PlayerList(seats, random), random, spectator);
+        for (int i = 0; i < games; i++) {
+            game.play();
+        }
+
+        TerminalScreen screen = spectator.getScreen();
+        System.out.printf("%d games, %d bytes drawn, seed %d%n", games, screen.getBytesWritten(), seed);
+    }
+}
@@ -0,0 +1,286 @@
+package parade.sim;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import parade.game.GameListener;
+import parade.game.GameResult;
+import parade.game.HeadlessGame;
+import parade.log.EventLogWriter;
+import parade.players.BotPlayer;
+import parade.players.MctsBotPlayer;
+import parade.players.Player;
+import parade.players.PlayerList;
+import util.RandomSource;
+
+/**
+ * Plays a large batch of bot-only Parade games across all available cores.
+ * <p>
+ * The batch is split into fixed-size chunks that are run on a {@link ForkJoinPool}.
+ * Each chunk builds its own players, deck, parade and {@link PlayerList}
+ * through a {@link HeadlessGame}, so nothing is shared between threads while
+ * games are being played. Wins are counted locally per chunk and only merged
+ * into shared {@link LongAdder} counters once the chunk is done.
+ * </p>
+ *
+ * <p>
+ * Players are identified by their <em>seat</em>, the index passed to the seat
+ * factory. Since the turn order is shuffled for every game, a seat is not
+ * the same as a turn-order position.
+ * </p>
+ *
+ * <p>
+ * Chunk {@code i} draws all of its randomness from stream {@code i} of the
+ * master seed, and each seat gets its own stream from that. Since chunks are
+ * always the same size, a run is reproducible from its seed no matter how
+ * many workers play it.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * Tournament t = new Tournament(4, (seat, random) -> new BotPlayer("Bot " + (seat + 1), random), 42L, 8);
+ * long[] wins = t.run(1_000_000);
+ * }</pre>
+ *
+ * <p><strong>Command line:</strong></p>
+ * <pre>
+ * java -cp classes parade.sim.Tournament [--games N] [--players P] [--workers W] [--seed S]
+ *                                        [--mcts K] [--playouts X] [--budget-ms T] [--log DIR]
+ * </pre>
+ *
+ * @author G3T7
+ * @version 1.0
+ */
+public class Tournament {
+
+    /**
+     * Creates the player sitting in a seat.
+     */
+    @FunctionalInterface
+    public interface SeatFactory {
+
+        /**
+         * Creates a fresh player for a seat.
+         *
+         * @param seat   the seat index
+         * @param random the random source the player should use for its decisions
+         * @return the new player
+         */
+        Player create(int seat, RandomSource random);
+    }
+
+    /** Number of games played by each chunk (the last chunk may be smaller). */
+    private static final int GAMES_PER_CHUNK = 4096;
+
+    /** The number of players at every table. */
+    private final int numPlayers;
+
+    /** Creates the player for a given seat; called once per seat per chunk. */
+    private final SeatFactory seatFactory;
+
+    /** The master seed every chunk's random stream is derived from. */
+    private final RandomSource master;
+
+    /** The number of worker threads. */
+    private final int workers;
+
+    /** Total wins per seat, merged from every chunk. */
+    private final LongAdder[] wins;
+
+    /** The directory event logs are written to, or {@code null} to not log games. */
+    private Path logDirectory;
+
+    /**
+     * Constructs a new {@code Tournament}.
+     *
+     * @param numPlayers  the number of players at every table (2 to 6)
+     * @param seatFactory creates a fresh player for the given seat index
+     * @param seed        the master seed of the run
+     * @param workers     the number of worker threads to use
+     * @throws IllegalArgumentException if {@code workers} is less than 1
+     */
+    public Tournament(int numPlayers, SeatFactory seatFactory, long seed, int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("There must be at least one worker.");
+        }
+        this.numPlayers = numPlayers;
+        this.seatFactory = seatFactory;
+        this.master = new RandomSource(seed);
+        this.workers = workers;
+        this.wins = new LongAdder[numPlayers];
+        for (int i = 0; i < numPlayers; i++) {
+            wins[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Logs every game of future runs to the given directory.
+     * <p>
+     * Each chunk appends its games to its own {@link EventLogWriter} file,
+     * {@code chunk-NNNNNN.plog}, so workers never share a file.
+     * </p>
+     *
+     * @param logDirectory the directory to write the logs to, or {@code null} to stop logging
+     */
+    public void setLogDirectory(Path logDirectory) {
+        this.logDirectory = logDirectory;
+    }
+
+    /**
+     * Plays the given number of games and returns the total wins per seat.
+     * <p>
+     * Tied winners each count as a win, just as in {@link parade.game.Game}.
+     * Calling this method again adds to the totals of previous runs, but replays
+     * the same random streams.
+     * </p>
+     *
+     * @param games the number of games to play
+     * @return the number of wins of each seat
+     * @throws InterruptedException if the calling thread is interrupted; the chunks not
+     *                              started yet are cancelled, and {@link #getWins()} holds
+     *                              the wins of the chunks that finished
+     */
+    public long[] run(long games) throws InterruptedException {
+        List<Callable<Void>> chunks = new ArrayList<>();
+        for (long first = 0; first < games; first += GAMES_PER_CHUNK) {
+            long chunkIndex = first / GAMES_PER_CHUNK;
+            RandomSource chunkRandom = master.derive(chunkIndex);
+            long chunkGames = Math.min(GAMES_PER_CHUNK, games - first);
+            chunks.add(() -> {
+                if (logDirectory == null) {
+                    playChunk(chunkGames, chunkRandom, GameListener.NONE);
+                } else {
+                    Path file = logDirectory.resolve(String.format("chunk-%06d.plog", chunkIndex));
+                    try (EventLogWriter log = new EventLogWriter(file)) {
+                        playChunk(chunkGames, chunkRandom, log);
+                    }
+                }
+                return null;
+            });
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(workers);
+        try {
+            for (Future<Void> f : pool.invokeAll(chunks)) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A tournament worker failed.", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return getWins();
+    }
+
+    /**
+     * Plays a chunk of games on a table owned by the calling thread.
+     *
+     * @param games    the number of games to play
+     * @param random   the random stream of this chunk
+     * @param listener the listener receiving the events of every game
+     */
+    private void playChunk(long games, RandomSource random, GameListener listener) {
+        ArrayList<Player> seats = new ArrayList<>();
+        for (int i = 0; i < numPlayers; i++) {
+            seats.add(seatFactory.create(i, random.derive(i)));
+        }
+        HeadlessGame game = new HeadlessGame(new PlayerList(seats, random), random, listener);
+
+        long[] localWins = new long[numPlayers];
+        for (long g = 0; g < games; g++) {
+            GameResult result = game.play();
+            int minScore = result.getMinScore();
+            for (int i = 0; i < numPlayers; i++) {
+                if (result.getScore(seats.get(i)) == minScore) {
+                    localWins[i]++;
+                }
+            }
+        }
+
+        for (int i = 0; i < numPlayers; i++) {
+            wins[i].add(localWins[i]);
+        }
+    }
+
+    /**
+     * Returns the total wins per seat so far.
+     *
+     * @return the number of wins of each seat
+     */
+    public long[] getWins() {
+        long[] totals = new long[numPlayers];
+        for (int i = 0; i < numPlayers; i++) {
+            totals[i] = wins[i].sum();
+        }
+        return totals;
+    }
+
+    /**
+     * Runs a bot-only tournament from the command line and prints the win tally.
+     *
+     * The first {@code --mcts} seats are taken by {@link MctsBotPlayer}s limited to
+     * {@code --playouts} playouts or {@code --budget-ms} milliseconds per move;
+     * the other seats are random {@link BotPlayer}s. With {@code --log DIR}, every
+     * game is written to binary event logs in that directory.
+     *
+     * @param args {@code --games N}, {@code --players P}, {@code --workers W}, {@code --seed S},
+     *             {@code --mcts K}, {@code --playouts X}, {@code --budget-ms T} and
+     *             {@code --log DIR}, all optional
+     * @throws IOException          if the log directory cannot be created
+     * @throws InterruptedException if the tournament is interrupted
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        long games = 100_000;
+        long seed = new RandomSource().getSeed();
+        int mctsSeats = 0;
+        int playouts = 1000;
+        long budgetMillis = 100;
+        int players = 4;
+        int workers = Runtime.getRuntime().availableProcessors();
+        Path logDirectory = null;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--games" -> games = Long.parseLong(args[i + 1]);
+                case "--players" -> players = Integer.parseInt(args[i + 1]);
+                case "--workers" -> workers = Integer.parseInt(args[i + 1]);
+                case "--seed" -> seed = Long.parseLong(args[i + 1]);
+                case "--mcts" -> mctsSeats = Integer.parseInt(args[i + 1]);
+                case "--playouts" -> playouts = Integer.parseInt(args[i + 1]);
+                case "--budget-ms" -> budgetMillis = Long.parseLong(args[i + 1]);
+                case "--log" -> logDirectory = Path.of(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        int numMcts = mctsSeats;
+        int maxPlayouts = playouts;
+        long budget = budgetMillis;
+        Tournament tournament = new Tournament(players, (seat, random) -> seat < numMcts
+                ? new MctsBotPlayer("Bot " + (seat + 1), random, maxPlayouts, budget)
+                : new BotPlayer("Bot " + (seat + 1), random), seed, workers);
+        if (logDirectory != null) {
+            tournament.setLogDirectory(Files.createDirectories(logDirectory));
+        }
+        long start = System.nanoTime();
+        long[] wins = tournament.run(games);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println("=== Total WINS ===");
+        for (int i = 0; i < players; i++) {
+            System.out.println("Bot " + (i + 1) + " has " + wins[i] + (wins[i] == 1 ? " win." : " wins."));
+        }
+        System.out.printf("%d games on %d workers in %.2fs (%.0f games/s), seed %d%n", games, workers, seconds, games / seconds, seed);
+    }
+}
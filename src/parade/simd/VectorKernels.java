@@ -0,0 +1,146 @@
+package parade.simd;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import parade.cards.Card;
+import parade.game.Kernels;
+
+/**
+ * The {@link Kernels} written with the incubating Vector API, so that whole rows of cards or games are handled at once.
+ * <p>
+ * The parade is matched against a played card as one vector of card indices, or
+ * two on machines with 256-bit vectors, and the comparisons of every card are turned
+ * into the bitmask in one step. A batch of games is scored eight games at a time,
+ * one game per lane, with the same majority rules as the scalar loops, including
+ * the two-player rule.
+ * </p>
+ *
+ * <p>
+ * This class needs {@code --add-modules jdk.incubator.vector} to compile and to run.
+ * It is loaded by {@link Kernels#get()} when it can be, and never referred to directly.
+ * </p>
+ *
+ * @author G3T7
+ * @version 1.0
+ */
+public final class VectorKernels extends Kernels {
+
+    /** Lanes for the parade: the widest the machine has, but no more than the 64 bits of a mask. */
+    private static final VectorSpecies<Byte> PARADE = ByteVector.SPECIES_PREFERRED.vectorBitSize() > 512
+            ? ByteVector.SPECIES_512 : ByteVector.SPECIES_PREFERRED;
+
+    /** Lanes for the counts and sums of a batch, one game each. */
+    private static final VectorSpecies<Byte> COUNTS = ByteVector.SPECIES_64;
+
+    /** Lanes for the scores of a batch, as many as {@link #COUNTS}. */
+    private static final VectorSpecies<Integer> SCORES = IntVector.SPECIES_256;
+
+    /**
+     * Constructs the kernels; called by {@link Kernels#get()}.
+     */
+    public VectorKernels() {
+    }
+
+    @Override
+    public String getName() {
+        return "vector";
+    }
+
+    @Override
+    public long matchMask(byte[] parade, int length, int card) {
+        int num = Card.numberOf(card);
+        int first = card - num;
+        long mask = 0L;
+        for (int i = 0; i < length; i += PARADE.length()) {
+            VectorMask<Byte> live = PARADE.indexInRange(i, length);
+            ByteVector cards = i + PARADE.length() <= parade.length
+                    ? ByteVector.fromArray(PARADE, parade, i)
+                    : ByteVector.fromArray(PARADE, parade, i, live);
+
+            // A card's number is its index less 11 for every colour before its own
+            ByteVector numbers = cards;
+            for (int c = 1; c < Card.NUM_COLOURS; c++) {
+                numbers = numbers.sub((byte) Card.NUMBERS_PER_COLOUR,
+                        cards.compare(VectorOperators.GE, (byte) (c * Card.NUMBERS_PER_COLOUR)));
+            }
+            VectorMask<Byte> sameColour = cards.compare(VectorOperators.GE, (byte) first)
+                    .and(cards.compare(VectorOperators.LT, (byte) (first + Card.NUMBERS_PER_COLOUR)));
+            VectorMask<Byte> collected = sameColour.or(numbers.compare(VectorOperators.LE, (byte) num)).and(live);
+            mask |= collected.toLong() << i;
+        }
+        return mask;
+    }
+
+    @Override
+    public void scoreBatch(byte[] counts, byte[] sums, int numPlayers, int games, int[] scores) {
+        int numColours = Card.NUM_COLOURS;
+        int stride = numColours * games;
+        for (int g = 0; g < games; g += COUNTS.length()) {
+            boolean full = g + COUNTS.length() <= games;
+            VectorMask<Byte> live = COUNTS.indexInRange(g, games);
+            VectorMask<Integer> liveScores = SCORES.indexInRange(g, games);
+            for (int p = 0; p < numPlayers; p++) {
+                IntVector.zero(SCORES).intoArray(scores, p * games + g, liveScores);
+            }
+            for (int at = g; at < stride; at += games) {
+                if (numPlayers > 2) {
+                    // Every player tied for the most cards has the majority
+                    ByteVector max = ByteVector.zero(COUNTS);
+                    for (int p = 0; p < numPlayers; p++) {
+                        max = max.max(load(counts, at + p * stride, full, live));
+                    }
+                    for (int p = 0; p < numPlayers; p++) {
+                        ByteVector count = load(counts, at + p * stride, full, live);
+                        VectorMask<Byte> majority = count.compare(VectorOperators.EQ, max)
+                                .and(count.compare(VectorOperators.GT, (byte) 0));
+                        add(scores, p * games + g, load(sums, at + p * stride, full, live).blend(count, majority),
+                                liveScores);
+                    }
+                } else {
+                    // A later player with two more cards takes the majority over, and one with one more clears it
+                    ByteVector first = load(counts, at, full, live);
+                    VectorMask<Byte> firstMajority = first.compare(VectorOperators.GT, (byte) 1);
+                    if (numPlayers == 2) {
+                        ByteVector second = load(counts, at + stride, full, live);
+                        ByteVector needed = ByteVector.zero(COUNTS).blend(first, firstMajority).add((byte) 1);
+                        VectorMask<Byte> takesOver = second.compare(VectorOperators.GT, needed);
+                        firstMajority = firstMajority.andNot(takesOver.or(second.compare(VectorOperators.EQ, needed)));
+                        add(scores, games + g, load(sums, at + stride, full, live).blend(second, takesOver),
+                                liveScores);
+                    }
+                    add(scores, g, load(sums, at, full, live).blend(first, firstMajority), liveScores);
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads the bytes of up to eight games, leaving out the lanes past the end of the batch.
+     *
+     * @param array  the counts or sums of the batch
+     * @param offset the position of the first game's byte
+     * @param full   whether all eight games are in the batch, so no mask is needed
+     * @param live   the lanes of the games in the batch, used when {@code full} is not set
+     * @return the bytes, one game per lane, with zero in the lanes left out
+     */
+    private static ByteVector load(byte[] array, int offset, boolean full, VectorMask<Byte> live) {
+        return full ? ByteVector.fromArray(COUNTS, array, offset) : ByteVector.fromArray(COUNTS, array, offset, live);
+    }
+
+    /**
+     * Adds points to the scores of up to eight games.
+     *
+     * @param scores the scores of the batch
+     * @param offset the position of the first game's score
+     * @param points the points to add, one game per lane
+     * @param live   the lanes of the games in the batch; the others are left alone
+     */
+    private static void add(int[] scores, int offset, ByteVector points, VectorMask<Integer> live) {
+        IntVector wide = (IntVector) points.convertShape(VectorOperators.B2I, SCORES, 0);
+        IntVector.fromArray(SCORES, scores, offset, live).add(wide).intoArray(scores, offset, live);
+    }
+}
@@ -0,0 +1,406 @@
+package util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A socket channel as an {@link InputSource}, read by one thread shared by every channel.
+ * <p>
+ * All channel inputs are registered with a single {@link Selector}, served by one
+ * background thread. That thread reads whatever each client sends, splits it into
+ * lines and queues them; {@link #readLine(long)} only waits for the next queued line,
+ * up to its deadline. However many players are connected, no thread is ever blocked
+ * on a socket, and a player waiting for an answer costs a parked thread at most,
+ * or nothing at all when the caller uses {@link #whenReady(Runnable, long)} rather
+ * than waiting.
+ * </p>
+ *
+ * <p>
+ * Text passed to {@link #show(String)} is held until the next read or
+ * {@link #flush()} and then written at once. If the client is slow to take it, the
+ * rest is written by the shared thread when the socket is ready again; a client that
+ * falls more than {@link #MAX_PENDING} bytes behind is disconnected, so every
+ * connection uses a bounded amount of memory. Lines are plain ASCII and at most
+ * {@link #MAX_LINE} bytes long.
+ * </p>
+ *
+ * @author G3T7
+ * @version 1.2
+ */
+public class ChannelInput implements InputSource {
+
+    /** The longest line accepted, in bytes. */
+    public static final int MAX_LINE = 256;
+
+    /** The most output held for a slow client, in bytes. */
+    public static final int MAX_PENDING = 64 * 1024;
+
+    /** The thread serving every channel, started with the first one. */
+    private static Poller poller;
+
+    /** The connected channel. */
+    private final SocketChannel channel;
+
+    /** The channel's registration with the shared selector, set by {@link #open(SocketChannel)}. */
+    private SelectionKey key;
+
+    /** Bytes received and not split into lines yet; used by the shared thread only. */
+    private final ByteBuffer in = ByteBuffer.allocate(MAX_LINE);
+
+    /** Guards {@link #lines}, {@link #ended}, {@link #unsent}, {@link #waiter} and {@link #timeout}. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Signalled when a line arrives or the input ends. */
+    private final Condition arrived = lock.newCondition();
+
+    /** Lines received and not read yet. */
+    private final ArrayDeque<String> lines = new ArrayDeque<>(2);
+
+    /** Whether the client has closed the connection or it has failed. */
+    private boolean ended;
+
+    /** Run when the next line arrives or the input ends, if someone is waiting without a thread. */
+    private Runnable waiter;
+
+    /** Runs {@link #waiter} at its deadline, unless a line arrives first; {@code null} without a deadline. */
+    private ScheduledFuture<?> timeout;
+
+    /** Output accepted by the channel only in part, waiting for the socket to be ready. */
+    private ByteBuffer unsent;
+
+    /** Text shown and not sent yet. */
+    private final StringBuilder pending = new StringBuilder(MAX_LINE);
+
+    /**
+     * Wraps a connected socket channel, without serving it yet.
+     *
+     * @param channel the connected channel
+     * @throws IOException if the channel cannot be switched to non-blocking mode
+     */
+    private ChannelInput(SocketChannel channel) throws IOException {
+        this.channel = channel;
+        channel.configureBlocking(false);
+    }
+
+    /**
+     * Wraps a connected socket channel and starts serving it.
+     * <p>
+     * The channel is switched to non-blocking mode and must not be read or written
+     * other than through the returned object. It is registered with the shared thread
+     * only once the object is fully built.
+     * </p>
+     *
+     * @param channel the connected channel
+     * @return the input source of the channel
+     * @throws IOException if the channel cannot be registered
+     */
+    public static ChannelInput open(SocketChannel channel) throws IOException {
+        ChannelInput input = new ChannelInput(channel);
+        input.key = poller().register(input);
+        return input;
+    }
+
+    /**
+     * Returns the shared thread, starting it the first time.
+     *
+     * @return the poller
+     * @throws IOException if the selector cannot be opened
+     */
+    private static synchronized Poller poller() throws IOException {
+        if (poller == null) {
+            poller = new Poller();
+        }
+        return poller;
+    }
+
+    @Override
+    public void show(String text) {
+        pending.append(text);
+    }
+
+    /**
+     * Writes everything shown so far. Output for a closed connection is dropped.
+     */
+    @Override
+    public void flush() {
+        if (pending.length() == 0) {
+            return;
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(pending.toString().getBytes(StandardCharsets.US_ASCII));
+        pending.setLength(0);
+
+        lock.lock();
+        try {
+            if (ended) {
+                return;
+            }
+            if (unsent != null) {
+                // Keep the order: queue behind what is already waiting
+                if (unsent.remaining() + bytes.remaining() > MAX_PENDING) {
+                    fail();
+                    return;
+                }
+                ByteBuffer joined = ByteBuffer.allocate(unsent.remaining() + bytes.remaining());
+                unsent = joined.put(unsent).put(bytes).flip();
+                return;
+            }
+            channel.write(bytes);
+            if (bytes.hasRemaining()) {
+                unsent = bytes;
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                key.selector().wakeup();
+            }
+        } catch (IOException | CancelledKeyException e) {
+            fail();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String readLine(long deadline) throws IOException {
+        flush();
+        lock.lock();
+        try {
+            while (lines.isEmpty() && !ended) {
+                if (deadline == NO_DEADLINE) {
+                    arrived.await();
+                } else {
+                    long left = InputSource.nanosLeft(deadline);
+                    if (left == 0) {
+                        throw new InputTimeoutException("No answer in time.");
+                    }
+                    arrived.awaitNanos(left);
+                }
+            }
+            return lines.poll();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for input.");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        lock.lock();
+        try {
+            return !lines.isEmpty() || ended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs a callback once a line has arrived or the input has ended, or the deadline
+     * has passed. The callback runs on the thread shared by every channel, or on a
+     * timer thread, and must return quickly. Only the latest callback is kept.
+     */
+    @Override
+    public void whenReady(Runnable callback, long deadline) {
+        flush();
+        lock.lock();
+        try {
+            if (lines.isEmpty() && !ended) {
+                waiter = callback;
+                cancelTimeout();
+                if (deadline != NO_DEADLINE) {
+                    timeout = Timers.at(deadline, callback);
+                }
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        callback.run();
+    }
+
+    /**
+     * Checks whether the connection has ended, so nothing more can be read or sent.
+     *
+     * @return {@code true} if the client closed the connection or it failed
+     */
+    public boolean isEnded() {
+        lock.lock();
+        try {
+            return ended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the connection.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            fail();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ends the input and closes the channel; the lock must be held.
+     */
+    private void fail() {
+        ended = true;
+        arrived.signalAll();
+        wakeWaiter();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // nothing left to release
+        }
+    }
+
+    /**
+     * Runs the waiting callback, if there is one; the lock must be held.
+     */
+    private void wakeWaiter() {
+        Runnable w = waiter;
+        waiter = null;
+        cancelTimeout();
+        if (w != null) {
+            w.run();
+        }
+    }
+
+    /**
+     * Cancels the deadline of the waiting callback, if it has one; the lock must be held.
+     */
+    private void cancelTimeout() {
+        if (timeout != null) {
+            timeout.cancel(false);
+            timeout = null;
+        }
+    }
+
+    /**
+     * Reads what has arrived and queues every complete line; called by the shared thread.
+     *
+     * @throws IOException if the channel cannot be read
+     */
+    private void onReadable() throws IOException {
+        int read = channel.read(in);
+        lock.lock();
+        try {
+            int start = 0;
+            for (int i = 0; i < in.position(); i++) {
+                if (in.get(i) == '\n') {
+                    int end = i > start && in.get(i - 1) == '\r' ? i - 1 : i;
+                    lines.add(new String(in.array(), start, end - start, StandardCharsets.US_ASCII));
+                    start = i + 1;
+                }
+            }
+            if (start > 0) {
+                in.flip().position(start);
+                in.compact();
+                arrived.signalAll();
+                wakeWaiter();
+            }
+            if (read < 0 || !in.hasRemaining()) {
+                // Closed by the client, or a line longer than allowed
+                fail();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes output the channel did not take earlier; called by the shared thread.
+     *
+     * @throws IOException if the channel cannot be written
+     */
+    private void onWritable() throws IOException {
+        lock.lock();
+        try {
+            if (unsent == null) {
+                return;
+            }
+            channel.write(unsent);
+            if (!unsent.hasRemaining()) {
+                unsent = null;
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The thread and selector shared by every channel input.
+     */
+    private static final class Poller implements Runnable {
+
+        /** The selector every channel is registered with. */
+        private final Selector selector;
+
+        /**
+         * Opens the selector and starts the thread.
+         *
+         * @throws IOException if the selector cannot be opened
+         */
+        Poller() throws IOException {
+            this.selector = Selector.open();
+            Thread thread = new Thread(this, "channel-input");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        /**
+         * Registers a channel input for reading.
+         *
+         * @param input the channel input
+         * @return the registration
+         * @throws IOException if the channel cannot be registered
+         */
+        SelectionKey register(ChannelInput input) throws IOException {
+            SelectionKey key = input.channel.register(selector, SelectionKey.OP_READ, input);
+            selector.wakeup();
+            return key;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                try {
+                    selector.select();
+                } catch (IOException e) {
+                    continue;
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    ChannelInput input = (ChannelInput) key.attachment();
+                    try {
+                        if (key.isValid() && key.isReadable()) {
+                            input.onReadable();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            input.onWritable();
+                        }
+                    } catch (IOException | CancelledKeyException e) {
+                        input.close();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The console as an {@link InputSource}: prompts go to {@code System.out} and answers come from {@code System.in}.
+ * <p>
+ * Reading {@code System.in} cannot be given a timeout, so a single background
+ * thread reads it line by line into a queue, and {@link #readLine(long)} waits on
+ * that queue until its deadline. There is only one console, so there is only one
+ * instance, returned by {@link #get()}; everything that reads the console, including
+ * {@link UserInput}, goes through it so that no line is read twice.
+ * </p>
+ *
+ * @author G3T7
+ * @version 1.1
+ */
+public final class ConsoleInput implements InputSource {
+
+    /** The only instance. */
+    private static final ConsoleInput INSTANCE = new ConsoleInput();
+
+    /** Queued in place of a line once {@code System.in} has ended. */
+    private static final String END = new String("");
+
+    /** Lines read from the console and not taken yet. */
+    private final LinkedBlockingQueue<String> lines = new LinkedBlockingQueue<>();
+
+    /** Run when the next line arrives, if someone is waiting without a thread. */
+    private final AtomicReference<Runnable> waiter = new AtomicReference<>();
+
+    /** Runs the waiting callback at its deadline, unless a line arrives first. */
+    private final AtomicReference<ScheduledFuture<?>> timeout = new AtomicReference<>();
+
+    /** Whether the reader thread has been started. */
+    private boolean started;
+
+    /** Whether the console input has ended. */
+    private volatile boolean ended;
+
+    private ConsoleInput() {
+    }
+
+    /**
+     * Returns the console.
+     *
+     * @return the console input source
+     */
+    public static ConsoleInput get() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void show(String text) {
+        System.out.print(text);
+        System.out.flush();
+    }
+
+    @Override
+    public String readLine(long deadline) throws IOException {
+        startReader();
+        if (ended && lines.isEmpty()) {
+            return null;
+        }
+        try {
+            String line = deadline == NO_DEADLINE ? lines.take()
+                    : lines.poll(InputSource.nanosLeft(deadline), TimeUnit.NANOSECONDS);
+            if (line == null) {
+                throw new InputTimeoutException("No answer in time.");
+            }
+            if (line == END) {
+                lines.add(END); // every later read sees the end too
+                return null;
+            }
+            return line;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for input.");
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        startReader();
+        return !lines.isEmpty();
+    }
+
+    /**
+     * Runs a callback once a line has been typed or the console has ended, or the
+     * deadline has passed. Only the latest callback is kept.
+     */
+    @Override
+    public void whenReady(Runnable callback, long deadline) {
+        waiter.set(callback);
+        cancel(timeout.getAndSet(deadline == NO_DEADLINE ? null : Timers.at(deadline, callback)));
+        // A line may have arrived before the callback was set
+        if (isReady()) {
+            wakeWaiter();
+        }
+    }
+
+    /**
+     * Runs the waiting callback, if there is one.
+     */
+    private void wakeWaiter() {
+        Runnable w = waiter.getAndSet(null);
+        cancel(timeout.getAndSet(null));
+        if (w != null) {
+            w.run();
+        }
+    }
+
+    /**
+     * Cancels a deadline that is no longer needed.
+     *
+     * @param task the scheduled deadline, or {@code null}
+     */
+    private static void cancel(ScheduledFuture<?> task) {
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
+    /**
+     * Starts the thread reading {@code System.in}, the first time input is needed.
+     */
+    private synchronized void startReader() {
+        if (started) {
+            return;
+        }
+        started = true;
+        Thread reader = new Thread(() -> {
+            BufferedReader in = new BufferedReader(new InputStreamReader(System.in));
+            try {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    lines.add(line);
+                    wakeWaiter();
+                }
+            } catch (IOException e) {
+                // treated as the end of input
+            }
+            ended = true;
+            lines.add(END);
+            wakeWaiter();
+        }, "console-input");
+        reader.setDaemon(true);
+        reader.start();
+    }
+}
@@ -0,0 +1,176 @@
+package util;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+
+/**
+ * A place where a player's prompts are shown and their answers are read from.
+ * <p>
+ * The console is one such place, but not the only one: a script of answers lets the
+ * human code paths run unattended, and a network channel lets a player sit at a
+ * table on a server. Every read takes a <em>deadline</em>, a {@link System#nanoTime()}
+ * value after which the read gives up with an {@link InputTimeoutException}, or
+ * {@link #NO_DEADLINE} to wait as long as it takes.
+ * </p>
+ *
+ * <p>
+ * Text passed to {@link #show(String)} may be held back until the next read or
+ * {@link #flush()}, so a prompt and its question can leave together.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * InputSource input = ConsoleInput.get();
+ * int n = input.readInt("Pick a number (%d - %d): ", 1, 5, "Try again!%n", InputSource.deadlineIn(30_000));
+ * }</pre>
+ *
+ * @author G3T7
+ * @version 1.0
+ * @see ConsoleInput
+ * @see ScriptedInput
+ * @see ChannelInput
+ */
+public interface InputSource extends Closeable {
+
+    /** A deadline that never passes. */
+    long NO_DEADLINE = Long.MAX_VALUE;
+
+    /**
+     * Returns the deadline a given time from now.
+     *
+     * @param millis the time allowed, in milliseconds; 0 or less for no deadline
+     * @return the deadline, as a {@link System#nanoTime()} value or {@link #NO_DEADLINE}
+     */
+    static long deadlineIn(long millis) {
+        return millis <= 0 ? NO_DEADLINE : System.nanoTime() + millis * 1_000_000L;
+    }
+
+    /**
+     * Returns the time left until a deadline.
+     *
+     * @param deadline the deadline, as a {@link System#nanoTime()} value
+     * @return the nanoseconds left, 0 once the deadline has passed
+     */
+    static long nanosLeft(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    /**
+     * Shows text to the player, without adding a line ending.
+     *
+     * @param text the text to show
+     */
+    void show(String text);
+
+    /**
+     * Sends any text held back by {@link #show(String)}.
+     */
+    default void flush() {}
+
+    /**
+     * Reads the next line of input, without its line ending.
+     *
+     * @param deadline when to give up, as a {@link System#nanoTime()} value, or {@link #NO_DEADLINE}
+     * @return the line, or {@code null} once the input has ended
+     * @throws InputTimeoutException if no line arrived before the deadline
+     * @throws IOException           if the input cannot be read
+     */
+    String readLine(long deadline) throws IOException;
+
+    /**
+     * Checks whether {@link #readLine(long)} would return without waiting.
+     * <p>
+     * By default it always would, which suits sources whose lines are all at hand.
+     * </p>
+     *
+     * @return {@code true} if a line is waiting or the input has ended
+     */
+    default boolean isReady() {
+        return true;
+    }
+
+    /**
+     * Runs a callback once a line is ready to be read, or the deadline has passed.
+     * <p>
+     * The callback runs at most once for each line or deadline, on whichever thread
+     * notices it, and may run even though another reader took the line first, so it
+     * should only arrange for {@link #isReady()} to be checked again. It runs straight
+     * away if the source is ready already. By default it always runs straight away.
+     * </p>
+     *
+     * @param callback what to run
+     * @param deadline when to run it anyway, as a {@link System#nanoTime()} value, or {@link #NO_DEADLINE}
+     */
+    default void whenReady(Runnable callback, long deadline) {
+        callback.run();
+    }
+
+    /**
+     * Prompts for an integer within a range until a valid one is entered.
+     * <p>
+     * As with {@link UserInput#getUserInt(String, int, int, String)}, the message and
+     * the error message are formatted with {@code min} and {@code max}.
+     * </p>
+     *
+     * @param message      the prompt shown before every attempt
+     * @param min          the minimum valid value (inclusive)
+     * @param max          the maximum valid value (inclusive)
+     * @param errorMessage the message shown after an invalid answer
+     * @param deadline     when to give up, for all attempts together
+     * @return the integer entered
+     * @throws EOFException          if the input ended first
+     * @throws InputTimeoutException if no valid answer arrived before the deadline
+     * @throws IOException           if the input cannot be read
+     */
+    default int readInt(String message, int min, int max, String errorMessage, long deadline) throws IOException {
+        while (true) {
+            show(String.format(message, min, max));
+            String input = readLine(deadline);
+            if (input == null) {
+                throw new EOFException("Input ended while waiting for a number.");
+            }
+            try {
+                int value = Integer.parseInt(input.trim());
+                if (value >= min && value <= max) {
+                    return value;
+                }
+            } catch (NumberFormatException e) {
+                // shown below
+            }
+            show(String.format(errorMessage, min, max));
+        }
+    }
+
+    /**
+     * Prompts for a line of text until a non-empty one is entered.
+     *
+     * @param message      the prompt shown before every attempt
+     * @param errorMessage the message shown after an empty answer
+     * @param deadline     when to give up, for all attempts together
+     * @return the text entered, trimmed
+     * @throws EOFException          if the input ended first
+     * @throws InputTimeoutException if no answer arrived before the deadline
+     * @throws IOException           if the input cannot be read
+     */
+    default String readString(String message, String errorMessage, long deadline) throws IOException {
+        while (true) {
+            show(message);
+            String input = readLine(deadline);
+            if (input == null) {
+                throw new EOFException("Input ended while waiting for text.");
+            }
+            input = input.trim();
+            if (!input.isEmpty()) {
+                return input;
+            }
+            show(errorMessage);
+        }
+    }
+
+    /**
+     * Releases the source. By default there is nothing to release.
+     */
+    @Override
+    default void close() {}
+}
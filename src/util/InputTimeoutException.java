@@ -0,0 +1,25 @@
+package util;
+
+import java.io.IOException;
+
+/**
+ * Signals that no input arrived from an {@link InputSource} before the deadline.
+ *
+ * @see InputSource#readLine(long)
+ * @author G3T7
+ * @version 1.0
+ */
+public class InputTimeoutException extends IOException {
+
+    /** Version of the serialized form. */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new {@code InputTimeoutException} with the specified detail message.
+     *
+     * @param s the message describing the timeout
+     */
+    public InputTimeoutException(String s) {
+        super(s);
+    }
+}
@@ -0,0 +1,194 @@
+package util;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Provides seedable, independent streams of random numbers for the Parade game.
+ * <p>
+ * Every source of randomness in the game (deck shuffles, player order and bot
+ * decisions) draws from a {@code RandomSource} instead of a shared global generator.
+ * A source is built on {@link SplittableRandom}, so it is cheap to create and
+ * is never shared between threads.
+ * </p>
+ *
+ * <p>
+ * Sources can be derived from each other in two ways:
+ * <ul>
+ *   <li>{@link #derive(long)} gives the stream with a given number. It depends only on
+ *       this source's seed and the stream number, so worker {@code i} of a batch always
+ *       gets the same stream regardless of scheduling.</li>
+ *   <li>{@link #split()} gives the next child stream, consuming one value from this source.</li>
+ * </ul>
+ * Together with a master seed, this makes whole simulation runs reproducible.
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * RandomSource master = new RandomSource(42);
+ * RandomSource table = master.derive(0);
+ * Deck deck = new Deck(table);
+ * BotPlayer bot = new BotPlayer("Bot 1", table.split());
+ * }</pre>
+ *
+ * @author G3T7
+ * @version 1.1
+ */
+public class RandomSource {
+
+    /** Odd constant used to spread stream numbers apart (the 64-bit golden ratio). */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /** The seed this source was created with. */
+    private final long seed;
+
+    /** The underlying generator. */
+    private final SplittableRandom random;
+
+    /**
+     * Constructs a new {@code RandomSource} with a random seed.
+     */
+    public RandomSource() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructs a new {@code RandomSource} with the given seed.
+     *
+     * @param seed the seed; equal seeds give equal sequences
+     */
+    public RandomSource(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Returns the seed this source was created with.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Returns the independent stream with the given number.
+     * <p>
+     * The result only depends on this source's seed and {@code stream}, not on how many
+     * numbers have already been drawn from this source.
+     * </p>
+     *
+     * @param stream the stream number
+     * @return a new source for that stream
+     */
+    public RandomSource derive(long stream) {
+        return new RandomSource(mix(seed + GOLDEN_GAMMA * (stream + 1)));
+    }
+
+    /**
+     * Returns a new independent source seeded from the next value of this one.
+     *
+     * @return a new child source
+     */
+    public RandomSource split() {
+        return new RandomSource(random.nextLong());
+    }
+
+    /**
+     * Returns a random integer between 0 (inclusive) and {@code bound} (exclusive).
+     *
+     * @param bound the upper bound, which must be positive
+     * @return a random integer in range
+     */
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    /**
+     * Returns a random {@code long}.
+     *
+     * @return a random long
+     */
+    public long nextLong() {
+        return random.nextLong();
+    }
+
+    /**
+     * Returns a random {@code double} between 0 (inclusive) and 1 (exclusive).
+     *
+     * @return a random double
+     */
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    /**
+     * Returns a normally distributed {@code double} with mean 0 and standard deviation 1.
+     *
+     * @return a random gaussian value
+     */
+    public double nextGaussian() {
+        return random.nextGaussian();
+    }
+
+    /**
+     * Shuffles a list in place using the Fisher–Yates algorithm.
+     *
+     * @param <T>  the element type
+     * @param list the list to shuffle
+     */
+    public <T> void shuffle(List<T> list) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            list.set(i, list.set(j, list.get(i)));
+        }
+    }
+
+    /**
+     * Shuffles the first {@code length} bytes of an array in place.
+     * <p>
+     * This is the shuffle for hot loops, such as the deals sampled by search bots. It is
+     * the same Fisher–Yates shuffle as {@link #shuffle(List)}, but each swap uses 32
+     * random bits, two from every {@code long} drawn, and maps them onto the range with
+     * a multiplication instead of a division (Lemire's method), rejecting the few
+     * values that would bias it. It draws from the stream differently from
+     * {@link #shuffle(List)}, so the two give different orders for the same seed.
+     * </p>
+     *
+     * @param array  the array to shuffle
+     * @param length the number of bytes to shuffle, from the start of the array
+     */
+    public void shuffle(byte[] array, int length) {
+        long bits = 0;
+        boolean spare = false;
+        for (int i = length - 1; i > 0; i--) {
+            long bound = i + 1;
+            long m;
+            do {
+                if (spare) {
+                    m = (bits >>> 32) * bound;
+                } else {
+                    bits = random.nextLong();
+                    m = (bits & 0xFFFFFFFFL) * bound;
+                }
+                spare = !spare;
+                // Values below 2^32 mod bound would make the smallest results more likely
+            } while ((m & 0xFFFFFFFFL) < bound && (m & 0xFFFFFFFFL) < (1L << 32) % bound);
+            int j = (int) (m >>> 32);
+            byte tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+
+    /**
+     * Scrambles a 64-bit value (the SplitMix64 finalizer).
+     *
+     * @param z the value to scramble
+     * @return the scrambled value
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
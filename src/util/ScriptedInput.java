@@ -0,0 +1,97 @@
+package util;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * An {@link InputSource} that answers from a fixed script instead of a person.
+ * <p>
+ * Every read returns the next line of the script at once, so deadlines never pass,
+ * and the input ends with the script. Prompts, and the answers given to them, can be
+ * echoed to a stream to make a transcript of the session; otherwise they are dropped.
+ * This lets the human code paths, such as {@link parade.players.HumanPlayer} and the
+ * setup questions of {@link UserInput}, run unattended and at full speed.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * UserInput.setSource(new ScriptedInput(Path.of("tests/two-humans.txt"), System.out));
+ * new Game();
+ * }</pre>
+ *
+ * @author G3T7
+ * @version 1.0
+ */
+public class ScriptedInput implements InputSource {
+
+    /** The lines of the script. */
+    private final List<String> lines;
+
+    /** Where prompts and answers are echoed, or {@code null} to drop them. */
+    private final PrintStream echo;
+
+    /** Index of the next line to read. */
+    private int next;
+
+    /**
+     * Constructs a source answering with the given lines, without echo.
+     *
+     * @param lines the answers, in order
+     */
+    public ScriptedInput(List<String> lines) {
+        this(lines, null);
+    }
+
+    /**
+     * Constructs a source answering with the given lines.
+     *
+     * @param lines the answers, in order
+     * @param echo  where to echo prompts and answers, or {@code null} to drop them
+     */
+    public ScriptedInput(List<String> lines, PrintStream echo) {
+        this.lines = List.copyOf(lines);
+        this.echo = echo;
+    }
+
+    /**
+     * Constructs a source answering with the lines of a file.
+     *
+     * @param script the file holding one answer per line
+     * @param echo   where to echo prompts and answers, or {@code null} to drop them
+     * @throws IOException if the file cannot be read
+     */
+    public ScriptedInput(Path script, PrintStream echo) throws IOException {
+        this(Files.readAllLines(script), echo);
+    }
+
+    @Override
+    public void show(String text) {
+        if (echo != null) {
+            echo.print(text);
+        }
+    }
+
+    @Override
+    public String readLine(long deadline) {
+        if (next == lines.size()) {
+            return null;
+        }
+        String line = lines.get(next++);
+        if (echo != null) {
+            echo.println(line);
+        }
+        return line;
+    }
+
+    /**
+     * Returns the number of lines of the script not read yet.
+     *
+     * @return the lines left
+     */
+    public int remaining() {
+        return lines.size() - next;
+    }
+}
@@ -0,0 +1,45 @@
+package util;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The timer thread shared by the input sources, for callers who wait for input without a thread.
+ * <p>
+ * An {@link InputSource#whenReady(Runnable, long)} callback must still run once its
+ * deadline passes. The source schedules it here and cancels it as soon as input
+ * arrives; cancelled tasks are dropped from the queue straight away, so a source that
+ * is polled on every turn does not pile up timers that will never matter.
+ * </p>
+ *
+ * @author G3T7
+ * @version 1.0
+ */
+final class Timers {
+
+    /** The single timer thread, a daemon so that it never keeps the program alive. */
+    private static final ScheduledThreadPoolExecutor TIMER = new ScheduledThreadPoolExecutor(1, task -> {
+        Thread thread = new Thread(task, "input-deadlines");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        TIMER.setRemoveOnCancelPolicy(true);
+    }
+
+    private Timers() {
+    }
+
+    /**
+     * Runs a task once a deadline has passed, unless it is cancelled first.
+     *
+     * @param deadline the deadline, as a {@link System#nanoTime()} value
+     * @param task     what to run
+     * @return the scheduled task, to cancel once it is no longer needed
+     */
+    static ScheduledFuture<?> at(long deadline, Runnable task) {
+        return TIMER.schedule(task, InputSource.nanosLeft(deadline), TimeUnit.NANOSECONDS);
+    }
+}
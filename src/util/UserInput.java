@@ -1,14 +1,15 @@
 package util;
 
-import java.util.Scanner;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 /**
  * Provides utility methods for handling user input in the Parade game.
  * <p>
- * This class contains only static methods and maintains a single {@link Scanner} instance 
- * for the entire game session. It offers controlled methods for validating and retrieving 
- * user inputs, ensuring that numeric inputs fall within a specified range and that string 
- * inputs are properly trimmed.
+ * This class contains only static methods and reads every answer from a single
+ * {@link InputSource}, the console unless {@link #setSource(InputSource)} says otherwise.
+ * It offers controlled methods for validating and retrieving user inputs, ensuring that
+ * numeric inputs fall within a specified range and that string inputs are properly trimmed.
  * </p>
  *
  * <p>
@@ -18,24 +19,43 @@ import java.util.Scanner;
  * String name = UserInput.getUserString("Enter your name: ");
  * </pre>
  *
- * At the end of the game, close the scanner to release system resources:
+ * At the end of the game, close the source to release system resources:
  * <pre>
  * UserInput.close();
  * </pre>
  *
  * @author G3T7
- * @version 1.1
+ * @version 1.2
  */
 public class UserInput {
 
-    /** Scanner object used for reading user input from the console. */
-    private static final Scanner sc = new Scanner (System.in);
+    /** Where prompts are shown and answers are read from. */
+    private static InputSource source = ConsoleInput.get();
 
     /** Default constructor for UserInput used to call from other classes */
     public UserInput () {
 
     }
 
+    /**
+     * Replaces the source of every answer, for example with a {@link ScriptedInput}
+     * to run the game's questions unattended.
+     *
+     * @param input The new source.
+     */
+    public static void setSource(InputSource input) {
+        source = input;
+    }
+
+    /**
+     * Returns the source of every answer.
+     *
+     * @return The current source, the console by default.
+     */
+    public static InputSource getSource() {
+        return source;
+    }
+
     /**
      * Prompts the user for an integer within a specified range.
      * <p>
@@ -64,30 +84,13 @@ public class UserInput {
      * @param max          Maximum valid value (inclusive).
      * @param errorMessage The custom error message displayed on invalid input.
      * @return The validated integer entered by the user.
+     * @throws UncheckedIOException If the input ends or fails before a valid integer is entered.
      */
     public static int getUserInt(String message, int min, int max, String errorMessage) {
-        int userInt;
-    
-        while (true) {
-            System.out.printf(message, min, max);
-            String input = sc.nextLine().trim();
-    
-            if (input.isEmpty()) {
-                System.out.printf(errorMessage, min, max);
-                continue;
-            }
-    
-            try {
-                userInt = Integer.parseInt(input);
-    
-                if (userInt >= min && userInt <= max) {
-                    return userInt;
-                } else {
-                    System.out.printf(errorMessage, min, max);
-                }
-            } catch (NumberFormatException e) {
-                System.out.printf(errorMessage, min, max);
-            }
+        try {
+            return source.readInt(message, min, max, errorMessage, InputSource.NO_DEADLINE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
@@ -100,24 +103,20 @@ public class UserInput {
      *
      * @param message The message to display.
      * @return A trimmed string entered by the user.
+     * @throws UncheckedIOException If the input ends or fails before any text is entered.
      */
     public String getString(String message) {
-        String input;
-        while (true) {
-            System.out.print(message);
-            input = sc.nextLine().trim();
-    
-            if (!input.isEmpty()) {
-                return input;
-            }
-            System.out.println("Name cannot be empty. Please enter a valid name.");
+        try {
+            return source.readString(message, "Name cannot be empty. Please enter a valid name.\n", InputSource.NO_DEADLINE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
     /**
-     * Closes the scanner used for input.
+     * Closes the source used for input.
      */
     public static void close(){
-        sc.close();
+        source.close();
     }
-}
\ No newline at end of file
+}